@@ -2,8 +2,10 @@ package com.tata.cliente_persona;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ClientePersonaApplication {
 
 	public static void main(String[] args) {
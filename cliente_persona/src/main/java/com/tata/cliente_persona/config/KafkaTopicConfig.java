@@ -0,0 +1,28 @@
+package com.tata.cliente_persona.config;
+
+import com.tata.cliente_persona.service.ClienteKafkaProducer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Declaración del tópico de clientes como tópico compactado: Kafka conserva el
+ * último evento de cada id de cliente y descarta los clientes eliminados
+ * (tombstones), de modo que un consumidor nuevo reconstruye el directorio leyendo
+ * el tópico desde el inicio.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    @Bean
+    public NewTopic clientesTopic(@Value("${clientes.topic.particiones:3}") int particiones,
+                                  @Value("${clientes.topic.replicas:1}") short replicas) {
+        return TopicBuilder.name(ClienteKafkaProducer.TOPIC)
+                .partitions(particiones)
+                .replicas(replicas)
+                .compact()
+                .build();
+    }
+}
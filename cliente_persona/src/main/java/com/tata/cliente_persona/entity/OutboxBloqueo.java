@@ -0,0 +1,28 @@
+package com.tata.cliente_persona.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de bloqueo que serializa el relay del outbox entre instancias.
+ *
+ * <p>La tabla lleva el sufijo {@code _clientes} porque la base {@code prueba_tecnica}
+ * es compartida con cuenta_movimiento, cuya migración crea su propia
+ * {@code outbox_bloqueos}.</p>
+ */
+@Entity
+@Table(name = "outbox_bloqueos_clientes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxBloqueo {
+
+    @Id
+    @Column(name = "nombre", length = 50)
+    private String nombre;
+}
@@ -0,0 +1,51 @@
+package com.tata.cliente_persona.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cliente pendiente de publicar en Kafka (outbox transaccional).
+ *
+ * <p>Se inserta en la misma transacción que el cambio del cliente. Un
+ * {@code payload} nulo representa la eliminación (tombstone). Mientras
+ * {@code reclamadoHasta} está vigente, el evento pertenece al relay que lo reclamó.</p>
+ */
+@Entity
+@Table(name = "outbox_clientes")
+@Data
+@NoArgsConstructor
+public class OutboxCliente {
+
+    public enum TipoEvento { CREADO, ACTUALIZADO, ELIMINADO }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_evento", nullable = false, length = 20)
+    private TipoEvento tipoEvento;
+
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "reclamado_hasta")
+    private LocalDateTime reclamadoHasta;
+
+    public OutboxCliente(Long clienteId, TipoEvento tipoEvento, String payload) {
+        this.clienteId = clienteId;
+        this.tipoEvento = tipoEvento;
+        this.payload = payload;
+        this.fechaCreacion = LocalDateTime.now();
+    }
+}
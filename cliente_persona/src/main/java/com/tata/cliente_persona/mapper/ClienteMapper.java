@@ -0,0 +1,41 @@
+package com.tata.cliente_persona.mapper;
+
+import com.tata.cliente_persona.dto.ClienteDTO;
+import com.tata.cliente_persona.entity.Cliente;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Conversión entre {@link Cliente} y {@link ClienteDTO}.
+ *
+ * <p>La implementación la genera MapStruct al compilar, con llamadas directas a
+ * getters y setters (sin reflexión). Cualquier propiedad nueva del destino que no
+ * esté mapeada hace fallar la compilación.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ClienteMapper {
+
+    /**
+     * Convierte una entidad Cliente a su DTO.
+     *
+     * @param cliente Entidad a convertir
+     * @return DTO con los datos de la entidad
+     */
+    ClienteDTO toDTO(Cliente cliente);
+
+    /**
+     * Convierte un DTO en una entidad Cliente nueva; las fechas de auditoría las
+     * asigna JPA al persistir.
+     *
+     * @param dto DTO a convertir
+     * @return Entidad con los datos del DTO
+     */
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    Cliente toEntity(ClienteDTO dto);
+}
@@ -0,0 +1,25 @@
+package com.tata.cliente_persona.mapper;
+
+import com.tata.cliente_persona.dto.PersonaDTO;
+import com.tata.cliente_persona.entity.Persona;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Conversión entre {@link Persona} y {@link PersonaDTO}, generada por MapStruct al
+ * compilar.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface PersonaMapper {
+
+    PersonaDTO toDTO(Persona persona);
+
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    Persona toEntity(PersonaDTO dto);
+}
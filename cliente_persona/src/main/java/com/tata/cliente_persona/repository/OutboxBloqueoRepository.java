@@ -0,0 +1,23 @@
+package com.tata.cliente_persona.repository;
+
+import com.tata.cliente_persona.entity.OutboxBloqueo;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxBloqueoRepository extends JpaRepository<OutboxBloqueo, String> {
+
+    /**
+     * Lee la fila de bloqueo con {@code SELECT ... FOR UPDATE}; se mantiene hasta el
+     * fin de la transacción.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM OutboxBloqueo b WHERE b.nombre = :nombre")
+    Optional<OutboxBloqueo> bloquear(@Param("nombre") String nombre);
+}
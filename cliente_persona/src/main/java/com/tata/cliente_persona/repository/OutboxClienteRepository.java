@@ -0,0 +1,48 @@
+package com.tata.cliente_persona.repository;
+
+import com.tata.cliente_persona.entity.OutboxCliente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxClienteRepository extends JpaRepository<OutboxCliente, Long> {
+
+    /**
+     * Eventos pendientes más antiguos, en orden de inserción.
+     */
+    List<OutboxCliente> findByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Eventos que se pueden reclamar, en orden de inserción. Se omiten los eventos con
+     * un reclamo vigente y los de clientes que tienen un evento anterior reclamado,
+     * que deben publicarse primero.
+     */
+    @Query("SELECT o FROM OutboxCliente o " +
+           "WHERE (o.reclamadoHasta IS NULL OR o.reclamadoHasta <= :ahora) " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxCliente r " +
+           "WHERE r.clienteId = o.clienteId AND r.id < o.id AND r.reclamadoHasta > :ahora) " +
+           "ORDER BY o.id")
+    List<OutboxCliente> buscarDisponibles(@Param("ahora") LocalDateTime ahora, Pageable pageable);
+
+    /**
+     * Marca los eventos como reclamados hasta {@code hasta}.
+     */
+    @Modifying
+    @Query("UPDATE OutboxCliente o SET o.reclamadoHasta = :hasta WHERE o.id IN :ids")
+    int reclamar(@Param("ids") Collection<Long> ids, @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Libera el reclamo de eventos no publicados para que se reintenten.
+     */
+    @Modifying
+    @Query("UPDATE OutboxCliente o SET o.reclamadoHasta = NULL WHERE o.id IN :ids")
+    int liberar(@Param("ids") Collection<Long> ids);
+}
@@ -1,27 +1,34 @@
 package com.tata.cliente_persona.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tata.cliente_persona.dto.ClienteKafkaDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Productor de eventos de clientes en {@value #TOPIC}.
+ *
+ * <p>Los mensajes usan el id del cliente como clave para que el tópico pueda
+ * compactarse y conserve el último estado de cada cliente; un valor nulo
+ * (tombstone) indica que el cliente fue eliminado.</p>
+ */
 @Service
 public class ClienteKafkaProducer {
-    private static final String TOPIC = "clientes-topic";
+    public static final String TOPIC = "clientes-topic";
 
     @Autowired
     private KafkaTemplate<String, String> kafkaTemplate;
 
-    public void enviarCliente(ClienteKafkaDTO cliente) {
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            String mensaje = mapper.writeValueAsString(cliente);
-            kafkaTemplate.send(TOPIC, mensaje);
-        } catch (JsonProcessingException e) {
-            // Manejo de error (puedes loguear o lanzar una excepción personalizada)
-            e.printStackTrace();
-        }
+    public CompletableFuture<SendResult<String, String>> enviar(Long clienteId, String mensaje) {
+        return kafkaTemplate.send(TOPIC, String.valueOf(clienteId), mensaje);
+    }
+
+    /**
+     * Fuerza el envío de los mensajes acumulados en el lote del productor.
+     */
+    public void vaciar() {
+        kafkaTemplate.flush();
     }
-} 
\ No newline at end of file
+}
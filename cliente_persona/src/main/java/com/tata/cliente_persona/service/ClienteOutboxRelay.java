@@ -0,0 +1,176 @@
+package com.tata.cliente_persona.service;
+
+import com.tata.cliente_persona.entity.OutboxBloqueo;
+import com.tata.cliente_persona.entity.OutboxCliente;
+import com.tata.cliente_persona.repository.OutboxBloqueoRepository;
+import com.tata.cliente_persona.repository.OutboxClienteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relay del outbox de clientes hacia {@value ClienteKafkaProducer#TOPIC}.
+ *
+ * <p>Cada ejecución toma la fila de bloqueo del relay solo para reclamar, en orden de
+ * id, un lote de eventos pendientes ({@code clientes.outbox.duracion-reclamo}); la
+ * libera antes de enviar, de modo que la espera a Kafka no retiene el bloqueo ni una
+ * conexión a la base de datos. Los eventos se envían con el id del cliente como clave
+ * y al final se eliminan, en una transacción corta, solo los que Kafka confirmó.</p>
+ *
+ * <p>Si un envío falla, ese evento y los siguientes del mismo cliente se liberan y se
+ * reintentan en la próxima ejecución; los de los demás clientes se eliminan
+ * normalmente. Otro relay no toma eventos de un cliente que tenga uno anterior
+ * reclamado (entrega al menos una vez, en orden por cliente).</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Service
+public class ClienteOutboxRelay {
+
+    static final String NOMBRE_BLOQUEO = "clientes";
+
+    private final OutboxClienteRepository outboxClienteRepository;
+    private final OutboxBloqueoRepository outboxBloqueoRepository;
+    private final ClienteKafkaProducer clienteKafkaProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanoLote;
+    private final Duration timeoutEnvio;
+    private final Duration duracionReclamo;
+
+    public ClienteOutboxRelay(OutboxClienteRepository outboxClienteRepository,
+                              OutboxBloqueoRepository outboxBloqueoRepository,
+                              ClienteKafkaProducer clienteKafkaProducer,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${clientes.outbox.relay.habilitado:true}") boolean habilitado,
+                              @Value("${clientes.outbox.tamano-lote:500}") int tamanoLote,
+                              @Value("${clientes.outbox.timeout-envio:30s}") Duration timeoutEnvio,
+                              @Value("${clientes.outbox.duracion-reclamo:5m}") Duration duracionReclamo) {
+        this.outboxClienteRepository = outboxClienteRepository;
+        this.outboxBloqueoRepository = outboxBloqueoRepository;
+        this.clienteKafkaProducer = clienteKafkaProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.tamanoLote = tamanoLote;
+        this.timeoutEnvio = timeoutEnvio;
+        this.duracionReclamo = duracionReclamo;
+    }
+
+    /**
+     * Publica los eventos pendientes en lotes hasta vaciar el outbox o encontrar un
+     * error de envío.
+     */
+    @Scheduled(initialDelayString = "${clientes.outbox.intervalo:500ms}",
+               fixedDelayString = "${clientes.outbox.intervalo:500ms}")
+    public void publicarPendientes() {
+        if (!habilitado) {
+            return;
+        }
+        crearBloqueoSiFalta();
+        int publicados;
+        do {
+            publicados = publicarLote();
+        } while (publicados == tamanoLote);
+    }
+
+    /**
+     * Reclama, publica y elimina un lote de eventos.
+     *
+     * @return Número de eventos publicados, o 0 si hubo un error de envío
+     */
+    private int publicarLote() {
+        List<OutboxCliente> eventos = transactionTemplate.execute(estado -> reclamarLote());
+        if (eventos == null || eventos.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<SendResult<String, String>>> envios = new ArrayList<>(eventos.size());
+        for (OutboxCliente evento : eventos) {
+            envios.add(clienteKafkaProducer.enviar(evento.getClienteId(), evento.getPayload()));
+        }
+        clienteKafkaProducer.vaciar();
+
+        List<Long> confirmados = new ArrayList<>(eventos.size());
+        List<Long> pendientes = new ArrayList<>();
+        Set<Long> clientesConError = new HashSet<>();
+        long limite = System.nanoTime() + timeoutEnvio.toNanos();
+        for (int i = 0; i < envios.size(); i++) {
+            OutboxCliente evento = eventos.get(i);
+            if (clientesConError.contains(evento.getClienteId())) {
+                // Un evento anterior del cliente falló: este no se da por publicado
+                pendientes.add(evento.getId());
+                continue;
+            }
+            try {
+                envios.get(i).get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                confirmados.add(evento.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("No se pudo publicar el evento {} del outbox de clientes, se reintentará: {}",
+                        evento.getId(), e.getMessage());
+                clientesConError.add(evento.getClienteId());
+                pendientes.add(evento.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                eventos.subList(i, eventos.size()).forEach(restante -> pendientes.add(restante.getId()));
+                break;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            if (!confirmados.isEmpty()) {
+                outboxClienteRepository.deleteAllByIdInBatch(confirmados);
+            }
+            if (!pendientes.isEmpty()) {
+                outboxClienteRepository.liberar(pendientes);
+            }
+        });
+        return pendientes.isEmpty() ? confirmados.size() : 0;
+    }
+
+    /**
+     * Reclama un lote de eventos bajo el bloqueo del relay, dentro de la transacción
+     * en curso.
+     *
+     * @return Eventos reclamados, en orden de id
+     */
+    private List<OutboxCliente> reclamarLote() {
+        outboxBloqueoRepository.bloquear(NOMBRE_BLOQUEO);
+        LocalDateTime ahora = LocalDateTime.now();
+        List<OutboxCliente> eventos = outboxClienteRepository.buscarDisponibles(ahora, PageRequest.of(0, tamanoLote));
+        if (!eventos.isEmpty()) {
+            outboxClienteRepository.reclamar(eventos.stream().map(OutboxCliente::getId).toList(),
+                    ahora.plus(duracionReclamo));
+        }
+        return eventos;
+    }
+
+    private void crearBloqueoSiFalta() {
+        if (outboxBloqueoRepository.existsById(NOMBRE_BLOQUEO)) {
+            return;
+        }
+        try {
+            outboxBloqueoRepository.saveAndFlush(new OutboxBloqueo(NOMBRE_BLOQUEO));
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia la creó al mismo tiempo
+        }
+    }
+}
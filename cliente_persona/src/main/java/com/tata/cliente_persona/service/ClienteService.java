@@ -1,15 +1,16 @@
 package com.tata.cliente_persona.service;
 
 import com.tata.cliente_persona.dto.ClienteDTO;
-import com.tata.cliente_persona.dto.ClienteKafkaDTO;
 import com.tata.cliente_persona.entity.Cliente;
+import com.tata.cliente_persona.entity.OutboxCliente;
 import com.tata.cliente_persona.exception.DuplicateResourceException;
 import com.tata.cliente_persona.exception.ResourceNotFoundException;
+import com.tata.cliente_persona.mapper.ClienteMapper;
 import com.tata.cliente_persona.repository.ClienteRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -48,8 +49,13 @@ public class ClienteService {
      */
     private final ClienteRepository clienteRepository;
     
+    /**
+     * Conversión entre entidades y DTOs generada en tiempo de compilación.
+     */
+    private final ClienteMapper clienteMapper;
+    
     @Autowired
-    private ClienteKafkaProducer clienteKafkaProducer;
+    private OutboxClienteService outboxClienteService;
     
     /**
      * Obtiene todos los clientes registrados en el sistema.
@@ -100,7 +106,8 @@ public class ClienteService {
      * Crea un nuevo cliente en el sistema.
      * 
      * <p>Este método valida que no existan duplicados en clienteId e identificación,
-     * convierte el DTO a entidad, persiste los datos y retorna el cliente creado.</p>
+     * convierte el DTO a entidad, persiste los datos y retorna el cliente creado.
+     * El evento {@code CREADO} se registra en el outbox en la misma transacción.</p>
      * 
      * <p>Validaciones realizadas:</p>
      * <ul>
@@ -120,6 +127,7 @@ public class ClienteService {
      * // Retorna: ClienteDTO{id=1, nombre="Juan", clienteId="CLI001", ...}
      * </pre>
      */
+    @Transactional
     public ClienteDTO createCliente(ClienteDTO clienteDTO) {
         if (clienteRepository.existsByIdentificacion(clienteDTO.getIdentificacion())) {
             throw new DuplicateResourceException("Cliente", "identificación", clienteDTO.getIdentificacion());
@@ -131,9 +139,7 @@ public class ClienteService {
         
         Cliente cliente = convertToEntity(clienteDTO);
         Cliente savedCliente = clienteRepository.save(cliente);
-        // Enviar mensaje a Kafka
-        ClienteKafkaDTO kafkaDTO = new ClienteKafkaDTO(savedCliente.getId().intValue(), savedCliente.getNombre(), savedCliente.getIdentificacion());
-        clienteKafkaProducer.enviarCliente(kafkaDTO);
+        outboxClienteService.registrarCambio(savedCliente, OutboxCliente.TipoEvento.CREADO);
         return convertToDTO(savedCliente);
     }
     
@@ -142,7 +148,8 @@ public class ClienteService {
      * 
      * <p>Este método permite modificar todos los campos de un cliente,
      * incluyendo datos personales y específicos de cliente. Valida que
-     * no se dupliquen clienteId e identificación con otros clientes.</p>
+     * no se dupliquen clienteId e identificación con otros clientes. El evento
+     * {@code ACTUALIZADO} se registra en el outbox en la misma transacción.</p>
      * 
      * <p>Validaciones realizadas:</p>
      * <ul>
@@ -163,6 +170,7 @@ public class ClienteService {
      * ClienteDTO actualizado = clienteService.updateCliente(1L, datosActualizados);
      * </pre>
      */
+    @Transactional
     public ClienteDTO updateCliente(Long id, ClienteDTO clienteDTO) {
         Cliente existingCliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente", "id", id));
@@ -189,6 +197,7 @@ public class ClienteService {
         existingCliente.setEstado(clienteDTO.getEstado());
         
         Cliente updatedCliente = clienteRepository.save(existingCliente);
+        outboxClienteService.registrarCambio(updatedCliente, OutboxCliente.TipoEvento.ACTUALIZADO);
         return convertToDTO(updatedCliente);
     }
     
@@ -199,7 +208,8 @@ public class ClienteService {
      * 
      * <p>Este método elimina completamente un cliente de la base de datos.
      * La operación es irreversible y elimina tanto los datos personales
-     * como los específicos del cliente.</p>
+     * como los específicos del cliente. La eliminación se registra en el outbox
+     * como tombstone para que los consumidores descarten al cliente.</p>
      * 
      * @param id ID interno del cliente a eliminar
      * @throws ResourceNotFoundException si el cliente no existe
@@ -210,18 +220,20 @@ public class ClienteService {
      * // El cliente con ID 1 ha sido eliminado permanentemente
      * </pre>
      */
+    @Transactional
     public void deleteCliente(Long id) {
         if (!clienteRepository.existsById(id)) {
             throw new ResourceNotFoundException("Cliente", "id", id);
         }
         clienteRepository.deleteById(id);
+        outboxClienteService.registrarEliminacion(id);
     }
     
     /**
      * Convierte una entidad Cliente a su correspondiente DTO.
      * 
-     * <p>Este método privado utiliza BeanUtils para copiar las propiedades
-     * de la entidad al DTO, facilitando la separación entre la capa de
+     * <p>Este método privado delega en {@link ClienteMapper}, cuya implementación
+     * genera MapStruct al compilar, facilitando la separación entre la capa de
      * persistencia y la capa de presentación.</p>
      * 
      * @param cliente Entidad Cliente a convertir
@@ -229,16 +241,14 @@ public class ClienteService {
      * @apiNote Método privado utilizado internamente para conversiones
      */
     private ClienteDTO convertToDTO(Cliente cliente) {
-        ClienteDTO dto = new ClienteDTO();
-        BeanUtils.copyProperties(cliente, dto);
-        return dto;
+        return clienteMapper.toDTO(cliente);
     }
     
     /**
      * Convierte un DTO Cliente a su correspondiente entidad.
      * 
-     * <p>Este método privado utiliza BeanUtils para copiar las propiedades
-     * del DTO a la entidad, facilitando la separación entre la capa de
+     * <p>Este método privado delega en {@link ClienteMapper}, cuya implementación
+     * genera MapStruct al compilar, facilitando la separación entre la capa de
      * presentación y la capa de persistencia.</p>
      * 
      * @param dto DTO Cliente a convertir
@@ -246,8 +256,6 @@ public class ClienteService {
      * @apiNote Método privado utilizado internamente para conversiones
      */
     private Cliente convertToEntity(ClienteDTO dto) {
-        Cliente cliente = new Cliente();
-        BeanUtils.copyProperties(dto, cliente);
-        return cliente;
+        return clienteMapper.toEntity(dto);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.tata.cliente_persona.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tata.cliente_persona.dto.ClienteKafkaDTO;
+import com.tata.cliente_persona.entity.Cliente;
+import com.tata.cliente_persona.entity.OutboxCliente;
+import com.tata.cliente_persona.repository.OutboxClienteRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registro de eventos de clientes en el outbox transaccional.
+ *
+ * <p>Los métodos exigen una transacción en curso: el evento se confirma o se
+ * descarta junto con el cambio del cliente. {@link ClienteOutboxRelay} publica
+ * después los eventos en Kafka.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Service
+public class OutboxClienteService {
+
+    private final OutboxClienteRepository outboxClienteRepository;
+    private final ObjectWriter escritorCliente;
+
+    public OutboxClienteService(OutboxClienteRepository outboxClienteRepository, ObjectMapper objectMapper) {
+        this.outboxClienteRepository = outboxClienteRepository;
+        this.escritorCliente = objectMapper.writerFor(ClienteKafkaDTO.class);
+    }
+
+    /**
+     * Registra el estado actual de un cliente creado o actualizado.
+     *
+     * @param cliente Cliente ya persistido (con id)
+     * @param tipoEvento {@code CREADO} o {@code ACTUALIZADO}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCambio(Cliente cliente, OutboxCliente.TipoEvento tipoEvento) {
+        ClienteKafkaDTO evento = new ClienteKafkaDTO(cliente.getId().intValue(), cliente.getNombre(),
+                cliente.getIdentificacion());
+        try {
+            outboxClienteRepository.save(new OutboxCliente(cliente.getId(), tipoEvento,
+                    escritorCliente.writeValueAsString(evento)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento del cliente " + cliente.getId(), e);
+        }
+    }
+
+    /**
+     * Registra la eliminación de un cliente como tombstone (payload nulo).
+     *
+     * @param clienteId ID del cliente eliminado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarEliminacion(Long clienteId) {
+        outboxClienteRepository.save(new OutboxCliente(clienteId, OutboxCliente.TipoEvento.ELIMINADO, null));
+    }
+}
@@ -1,13 +1,16 @@
 package com.tata.cliente_persona.service;
 
 import com.tata.cliente_persona.dto.PersonaDTO;
+import com.tata.cliente_persona.entity.Cliente;
+import com.tata.cliente_persona.entity.OutboxCliente;
 import com.tata.cliente_persona.entity.Persona;
 import com.tata.cliente_persona.exception.DuplicateResourceException;
 import com.tata.cliente_persona.exception.ResourceNotFoundException;
+import com.tata.cliente_persona.mapper.PersonaMapper;
 import com.tata.cliente_persona.repository.PersonaRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,6 +20,8 @@ import java.util.stream.Collectors;
 public class PersonaService {
     
     private final PersonaRepository personaRepository;
+    private final PersonaMapper personaMapper;
+    private final OutboxClienteService outboxClienteService;
     
     public List<PersonaDTO> getAllPersonas() {
         List<Persona> personas = personaRepository.findAll();
@@ -41,6 +46,12 @@ public class PersonaService {
         return convertToDTO(savedPersona);
     }
     
+    /**
+     * Actualiza una persona. Si la persona es un cliente, el cambio se registra en
+     * el outbox de clientes en la misma transacción, igual que en
+     * {@link ClienteService#updateCliente}.
+     */
+    @Transactional
     public PersonaDTO updatePersona(Long id, PersonaDTO personaDTO) {
         Persona existingPersona = personaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Persona", "id", id));
@@ -58,25 +69,31 @@ public class PersonaService {
         existingPersona.setTelefono(personaDTO.getTelefono());
         
         Persona updatedPersona = personaRepository.save(existingPersona);
+        if (updatedPersona instanceof Cliente cliente) {
+            outboxClienteService.registrarCambio(cliente, OutboxCliente.TipoEvento.ACTUALIZADO);
+        }
         return convertToDTO(updatedPersona);
     }
     
+    /**
+     * Elimina una persona. Si la persona es un cliente, la eliminación se registra
+     * en el outbox de clientes en la misma transacción.
+     */
+    @Transactional
     public void deletePersona(Long id) {
-        if (!personaRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Persona", "id", id);
+        Persona persona = personaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Persona", "id", id));
+        personaRepository.delete(persona);
+        if (persona instanceof Cliente) {
+            outboxClienteService.registrarEliminacion(id);
         }
-        personaRepository.deleteById(id);
     }
     
     private PersonaDTO convertToDTO(Persona persona) {
-        PersonaDTO dto = new PersonaDTO();
-        BeanUtils.copyProperties(persona, dto);
-        return dto;
+        return personaMapper.toDTO(persona);
     }
     
     private Persona convertToEntity(PersonaDTO dto) {
-        Persona persona = new Persona();
-        BeanUtils.copyProperties(dto, persona);
-        return persona;
+        return personaMapper.toEntity(dto);
     }
 } 
\ No newline at end of file
@@ -34,7 +34,8 @@ import static org.junit.jupiter.api.Assertions.*;
     "spring.datasource.password=",
     "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
     "spring.jpa.hibernate.ddl-auto=create-drop",
-    "spring.jpa.show-sql=true"
+    "spring.jpa.show-sql=true",
+    "clientes.outbox.relay.habilitado=false"
 })
 @ActiveProfiles("test")
 class ClienteCuentaIntegrationTest {
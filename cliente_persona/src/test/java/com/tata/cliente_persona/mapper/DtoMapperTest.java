@@ -0,0 +1,80 @@
+package com.tata.cliente_persona.mapper;
+
+import com.tata.cliente_persona.dto.ClienteDTO;
+import com.tata.cliente_persona.dto.PersonaDTO;
+import com.tata.cliente_persona.entity.Cliente;
+import com.tata.cliente_persona.entity.Persona;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que los mappers generados producen lo mismo que la copia con
+ * {@link BeanUtils} que reemplazan.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class DtoMapperTest {
+
+    private final ClienteMapper clienteMapper = new ClienteMapperImpl();
+    private final PersonaMapper personaMapper = new PersonaMapperImpl();
+
+    @Test
+    void testClienteADtoIgualQueBeanUtils() {
+        Cliente cliente = cliente();
+        ClienteDTO esperado = new ClienteDTO();
+        BeanUtils.copyProperties(cliente, esperado);
+
+        ClienteDTO dto = clienteMapper.toDTO(cliente);
+
+        assertEquals(esperado, dto);
+        assertEquals(5L, dto.getId());
+        assertEquals("clave123", dto.getContraseña());
+    }
+
+    @Test
+    void testDtoAClienteIgualQueBeanUtils() {
+        ClienteDTO dto = new ClienteDTO("Marianela Montalvo", "FEMENINO", 28, "1710000002",
+                "Amazonas y NNUU, Quito", "097548965", "mmontalvo", "5678", false);
+        dto.setId(9L);
+        Cliente esperado = new Cliente();
+        BeanUtils.copyProperties(dto, esperado);
+
+        Cliente cliente = clienteMapper.toEntity(dto);
+
+        assertEquals(esperado, cliente);
+        assertNull(cliente.getFechaCreacion());
+        assertNull(cliente.getFechaActualizacion());
+    }
+
+    @Test
+    void testPersonaIdaYVueltaIgualQueBeanUtils() {
+        Persona persona = new Persona("Jose Lema", "MASCULINO", 35, "1710000001",
+                "Otavalo sn y principal", "098254785");
+        persona.setId(4L);
+        persona.setFechaCreacion(LocalDateTime.of(2025, 6, 1, 8, 30));
+        PersonaDTO esperado = new PersonaDTO();
+        BeanUtils.copyProperties(persona, esperado);
+
+        PersonaDTO dto = personaMapper.toDTO(persona);
+        assertEquals(esperado, dto);
+
+        Persona esperada = new Persona();
+        BeanUtils.copyProperties(dto, esperada);
+        assertEquals(esperada, personaMapper.toEntity(dto));
+    }
+
+    private Cliente cliente() {
+        Cliente cliente = new Cliente("Jose Lema", "MASCULINO", 35, "1710000001",
+                "Otavalo sn y principal", "098254785", "jlema", "clave123", true);
+        cliente.setId(5L);
+        cliente.setFechaCreacion(LocalDateTime.of(2025, 6, 1, 8, 30));
+        cliente.setFechaActualizacion(LocalDateTime.of(2025, 6, 2, 9, 15));
+        return cliente;
+    }
+}
@@ -0,0 +1,174 @@
+package com.tata.cliente_persona.service;
+
+import com.tata.cliente_persona.dto.ClienteDTO;
+import com.tata.cliente_persona.dto.PersonaDTO;
+import com.tata.cliente_persona.entity.OutboxCliente;
+import com.tata.cliente_persona.exception.DuplicateResourceException;
+import com.tata.cliente_persona.repository.OutboxBloqueoRepository;
+import com.tata.cliente_persona.repository.OutboxClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del outbox de clientes y de su relay hacia Kafka.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outboxclientes;DB_CLOSE_DELAY=-1;MODE=MySQL",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.kafka.admin.auto-create=false",
+    "clientes.outbox.intervalo=1h"
+})
+class ClienteOutboxRelayTest {
+
+    @MockitoBean
+    private ClienteKafkaProducer clienteKafkaProducer;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private PersonaService personaService;
+
+    @Autowired
+    private ClienteOutboxRelay relay;
+
+    @Autowired
+    private OutboxClienteRepository outboxClienteRepository;
+
+    @Autowired
+    private OutboxBloqueoRepository outboxBloqueoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void limpiarOutbox() {
+        outboxClienteRepository.deleteAll();
+    }
+
+    @Test
+    void testCicloDeVidaCompletoSePublicaEnOrdenConTombstone() {
+        when(clienteKafkaProducer.enviar(anyLong(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        ClienteDTO creado = clienteService.createCliente(nuevoCliente("CLI_OUT_1", "1112223334"));
+        creado.setNombre("María Actualizada");
+        clienteService.updateCliente(creado.getId(), creado);
+        clienteService.deleteCliente(creado.getId());
+
+        List<OutboxCliente> eventos = outboxClienteRepository.findByOrderByIdAsc(Pageable.unpaged());
+        assertEquals(List.of(OutboxCliente.TipoEvento.CREADO, OutboxCliente.TipoEvento.ACTUALIZADO,
+                OutboxCliente.TipoEvento.ELIMINADO), eventos.stream().map(OutboxCliente::getTipoEvento).toList());
+        assertNull(eventos.get(2).getPayload());
+
+        relay.publicarPendientes();
+
+        InOrder orden = inOrder(clienteKafkaProducer);
+        orden.verify(clienteKafkaProducer).enviar(eq(creado.getId()), contains("\"nombre\":\"María\""));
+        orden.verify(clienteKafkaProducer).enviar(eq(creado.getId()), contains("\"nombre\":\"María Actualizada\""));
+        orden.verify(clienteKafkaProducer).enviar(eq(creado.getId()), isNull());
+        assertEquals(0, outboxClienteRepository.count());
+    }
+
+    @Test
+    void testCambiosDeClienteDesdePersonaSeRegistranEnOutbox() {
+        ClienteDTO creado = clienteService.createCliente(nuevoCliente("CLI_OUT_6", "4445556667"));
+        PersonaDTO persona = personaService.getPersonaById(creado.getId());
+        persona.setNombre("María desde Persona");
+        personaService.updatePersona(creado.getId(), persona);
+        personaService.deletePersona(creado.getId());
+
+        List<OutboxCliente> eventos = outboxClienteRepository.findByOrderByIdAsc(Pageable.unpaged());
+        assertEquals(List.of(OutboxCliente.TipoEvento.CREADO, OutboxCliente.TipoEvento.ACTUALIZADO,
+                OutboxCliente.TipoEvento.ELIMINADO), eventos.stream().map(OutboxCliente::getTipoEvento).toList());
+        assertTrue(eventos.get(1).getPayload().contains("\"nombre\":\"María desde Persona\""));
+        assertNull(eventos.get(2).getPayload());
+    }
+
+    @Test
+    void testOperacionRechazadaNoRegistraEvento() {
+        clienteService.createCliente(nuevoCliente("CLI_OUT_2", "5556667778"));
+        assertThrows(DuplicateResourceException.class,
+                () -> clienteService.createCliente(nuevoCliente("CLI_OUT_3", "5556667778")));
+        assertEquals(1, outboxClienteRepository.count());
+    }
+
+    @Test
+    void testEventoNoConfirmadoSeConservaParaReintentoSoloEnSuCliente() {
+        ClienteDTO fallido = clienteService.createCliente(nuevoCliente("CLI_OUT_4", "9990001112"));
+        ClienteDTO publicado = clienteService.createCliente(nuevoCliente("CLI_OUT_5", "9990001113"));
+        fallido.setNombre("María Actualizada");
+        clienteService.updateCliente(fallido.getId(), fallido);
+        when(clienteKafkaProducer.enviar(anyLong(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker no disponible")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.publicarPendientes();
+
+        // El fallo detiene solo al cliente afectado; su actualización espera al evento anterior
+        List<OutboxCliente> restantes = outboxClienteRepository.findByOrderByIdAsc(Pageable.unpaged());
+        assertEquals(List.of(fallido.getId(), fallido.getId()),
+                restantes.stream().map(OutboxCliente::getClienteId).toList());
+        assertTrue(restantes.stream().allMatch(evento -> evento.getReclamadoHasta() == null));
+        verify(clienteKafkaProducer).enviar(eq(publicado.getId()), any());
+    }
+
+    @Test
+    void testEsperaAKafkaNoRetieneElBloqueoDelRelay() {
+        clienteService.createCliente(nuevoCliente("CLI_OUT_7", "7778889990"));
+        // La confirmación solo llega si otra transacción puede tomar el bloqueo del relay
+        when(clienteKafkaProducer.enviar(anyLong(), any())).thenAnswer(invocacion ->
+                CompletableFuture.supplyAsync(() -> {
+                    new TransactionTemplate(transactionManager).executeWithoutResult(
+                            estado -> outboxBloqueoRepository.bloquear(ClienteOutboxRelay.NOMBRE_BLOQUEO));
+                    return mock(SendResult.class);
+                }));
+
+        relay.publicarPendientes();
+
+        assertEquals(0, outboxClienteRepository.count());
+    }
+
+    private ClienteDTO nuevoCliente(String clienteId, String identificacion) {
+        ClienteDTO cliente = new ClienteDTO();
+        cliente.setNombre("María");
+        cliente.setGenero("FEMENINO");
+        cliente.setEdad(35);
+        cliente.setIdentificacion(identificacion);
+        cliente.setDireccion("Av. Principal 123, Quito");
+        cliente.setTelefono("0991234567");
+        cliente.setClienteId(clienteId);
+        cliente.setContraseña("clave1234");
+        cliente.setEstado(true);
+        return cliente;
+    }
+}
@@ -2,6 +2,7 @@ package com.tata.cuenta_movimiento;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal de la aplicación CuentaMovimiento.
@@ -25,6 +26,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2025-06-25
  */
 @SpringBootApplication
+@EnableScheduling
 public class CuentaMovimientoApplication {
 
 	public static void main(String[] args) {
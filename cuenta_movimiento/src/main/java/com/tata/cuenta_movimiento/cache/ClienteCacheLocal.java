@@ -0,0 +1,144 @@
+package com.tata.cuenta_movimiento.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria (primer nivel) para los clientes del directorio en Redis.
+ *
+ * <p>Usa Caffeine, cuya política de expulsión W-TinyLFU considera la frecuencia
+ * de acceso y no solo la recencia, por lo que los clientes con más cuentas se
+ * mantienen en memoria aunque se recorran listados grandes. El tamaño está
+ * acotado y cada entrada expira tras un tiempo configurable.</p>
+ *
+ * <p>Cuando una instancia escribe clientes en Redis publica sus ids (separados por
+ * comas) en el canal {@value #CANAL_INVALIDACION}, precedidos del identificador de la
+ * instancia ({@code instancia:id1,id2}). Las demás instancias descartan su copia local,
+ * de modo que la siguiente lectura obtiene el registro más reciente; la instancia que
+ * publicó ignora su propio mensaje, ya que acaba de actualizar su copia.</p>
+ *
+ * <p>Las estadísticas (aciertos, fallos, expulsiones) se publican en Micrometer
+ * con el nombre {@code cache.*} y la etiqueta {@code cache=clientes.directorio}.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Component
+public class ClienteCacheLocal implements MessageListener {
+
+    public static final String CANAL_INVALIDACION = "clientes:invalidacion";
+
+    private static final char SEPARADOR_INSTANCIA = ':';
+
+    private final String instanciaId = UUID.randomUUID().toString();
+    private final Cache<Integer, ClienteKafkaDTO> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public ClienteCacheLocal(StringRedisTemplate stringRedisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${clientes.cache.tamano-maximo:100000}") long tamanoMaximo,
+                             @Value("${clientes.cache.expiracion:10m}") Duration expiracion) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(expiracion)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "clientes.directorio");
+    }
+
+    /**
+     * Obtiene el cliente desde memoria o, si no está, lo carga con la función indicada.
+     * Los clientes inexistentes no se almacenan.
+     *
+     * @param id ID del cliente
+     * @param cargador Función que lee el cliente desde Redis
+     * @return Cliente encontrado o null
+     */
+    public ClienteKafkaDTO obtener(Integer id, Function<Integer, ClienteKafkaDTO> cargador) {
+        if (id == null) {
+            return null;
+        }
+        return cache.get(id, cargador);
+    }
+
+    /**
+     * Obtiene varios clientes a la vez. Los que no están en memoria se cargan en una
+     * sola llamada a la función indicada y quedan almacenados para lecturas posteriores.
+     *
+     * @param ids IDs de los clientes
+     * @param cargador Función que lee en bloque desde Redis los clientes que faltan
+     * @return Mapa id → cliente con los clientes encontrados
+     */
+    public Map<Integer, ClienteKafkaDTO> obtenerVarios(Collection<Integer> ids,
+            Function<Set<? extends Integer>, Map<Integer, ClienteKafkaDTO>> cargador) {
+        return cache.getAll(ids, cargador);
+    }
+
+    /**
+     * Actualiza la copia local con los registros recién escritos (descartando los
+     * clientes eliminados) y avisa al resto de instancias con un único mensaje que
+     * contiene todos los ids, separados por comas.
+     *
+     * @param clientes Mapa id → cliente, con valor nulo para los clientes eliminados
+     */
+    public void actualizarVarios(Map<Integer, ClienteKafkaDTO> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        StringJoiner ids = new StringJoiner(",", instanciaId + SEPARADOR_INSTANCIA, "");
+        clientes.forEach((id, cliente) -> {
+            if (cliente != null) {
+                cache.put(id, cliente);
+            } else {
+                cache.invalidate(id);
+            }
+            ids.add(String.valueOf(id));
+        });
+        try {
+            stringRedisTemplate.convertAndSend(CANAL_INVALIDACION, ids.toString());
+        } catch (RuntimeException e) {
+            log.warn("No se pudo publicar la invalidación de {} clientes: {}", clientes.size(), e.getMessage());
+        }
+    }
+
+    public void invalidar(Integer id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String cuerpo = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (cuerpo.startsWith(instanciaId + SEPARADOR_INSTANCIA)) {
+            // Mensaje publicado por esta misma instancia: la copia local ya está al día
+            return;
+        }
+        for (String id : cuerpo.substring(cuerpo.indexOf(SEPARADOR_INSTANCIA) + 1).split(",")) {
+            try {
+                invalidar(Integer.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Mensaje de invalidación de cliente inválido: {}", cuerpo);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.tata.cuenta_movimiento.config;
+
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializador de valores de Redis con formato binario compacto para los clientes
+ * del directorio ({@link ClienteKafkaDTO}).
+ *
+ * <p>Formato versión 1:</p>
+ * <pre>
+ * [0xB1][versión][campos presentes] [id: varint zigzag] [nombre: varint largo + UTF-8] [identificacion: ídem]
+ * </pre>
+ * <p>El byte de campos presentes tiene un bit por campo (id, nombre,
+ * identificacion, en ese orden); los campos nulos no ocupan espacio. Los campos
+ * nuevos se agregan al final con el siguiente bit, de modo que un lector de la misma
+ * versión que no los conoce los ignora. Un cambio incompatible requiere subir la
+ * versión.</p>
+ *
+ * <p>El primer byte {@code 0xB1} no puede iniciar un documento JSON en UTF-8, así
+ * que cualquier otro valor se lee con el serializador JSON anterior: las entradas
+ * escritas antes de la migración siguen siendo legibles. Los valores que no son
+ * clientes (marcas, ids de los índices) también se delegan a JSON.</p>
+ *
+ * <p>Con {@code escribirBinario=false} solo se escribe JSON pero se leen ambos
+ * formatos, lo que permite desplegar primero la lectura en todas las instancias y
+ * activar la escritura después.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public class ClienteBinarioRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MARCA = (byte) 0xB1;
+    static final byte VERSION = 1;
+
+    private static final int CAMPO_ID = 1;
+    private static final int CAMPO_NOMBRE = 1 << 1;
+    private static final int CAMPO_IDENTIFICACION = 1 << 2;
+
+    private final RedisSerializer<Object> json;
+    private final boolean escribirBinario;
+
+    public ClienteBinarioRedisSerializer(RedisSerializer<Object> json, boolean escribirBinario) {
+        this.json = json;
+        this.escribirBinario = escribirBinario;
+    }
+
+    @Override
+    public byte[] serialize(Object valor) throws SerializationException {
+        if (escribirBinario && valor instanceof ClienteKafkaDTO cliente) {
+            return codificar(cliente);
+        }
+        return json.serialize(valor);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == MARCA) {
+            return decodificar(bytes);
+        }
+        return json.deserialize(bytes);
+    }
+
+    static byte[] codificar(ClienteKafkaDTO cliente) {
+        byte[] nombre = cliente.getNombre() != null ? cliente.getNombre().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] identificacion = cliente.getIdentificacion() != null
+                ? cliente.getIdentificacion().getBytes(StandardCharsets.UTF_8) : null;
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(
+                8 + (nombre != null ? nombre.length + 2 : 0) + (identificacion != null ? identificacion.length + 2 : 0));
+        int campos = (cliente.getId() != null ? CAMPO_ID : 0)
+                | (nombre != null ? CAMPO_NOMBRE : 0)
+                | (identificacion != null ? CAMPO_IDENTIFICACION : 0);
+        salida.write(MARCA);
+        salida.write(VERSION);
+        salida.write(campos);
+        if (cliente.getId() != null) {
+            escribirVarint(salida, (cliente.getId() << 1) ^ (cliente.getId() >> 31));
+        }
+        escribirTexto(salida, nombre);
+        escribirTexto(salida, identificacion);
+        return salida.toByteArray();
+    }
+
+    static ClienteKafkaDTO decodificar(byte[] bytes) {
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            throw new SerializationException("Versión de cliente binario no soportada: "
+                    + (bytes.length > 1 ? bytes[1] : "ninguna"));
+        }
+        Lector lector = new Lector(bytes, 3);
+        int campos = bytes[2];
+        try {
+            ClienteKafkaDTO cliente = new ClienteKafkaDTO();
+            if ((campos & CAMPO_ID) != 0) {
+                int zigzag = lector.varint();
+                cliente.setId((zigzag >>> 1) ^ -(zigzag & 1));
+            }
+            if ((campos & CAMPO_NOMBRE) != 0) {
+                cliente.setNombre(lector.texto());
+            }
+            if ((campos & CAMPO_IDENTIFICACION) != 0) {
+                cliente.setIdentificacion(lector.texto());
+            }
+            return cliente;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Cliente binario truncado", e);
+        }
+    }
+
+    private static void escribirTexto(ByteArrayOutputStream salida, byte[] texto) {
+        if (texto != null) {
+            escribirVarint(salida, texto.length);
+            salida.write(texto, 0, texto.length);
+        }
+    }
+
+    private static void escribirVarint(ByteArrayOutputStream salida, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            salida.write((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        salida.write(valor);
+    }
+
+    private static final class Lector {
+
+        private final byte[] bytes;
+        private int posicion;
+
+        Lector(byte[] bytes, int posicion) {
+            this.bytes = bytes;
+            this.posicion = posicion;
+        }
+
+        int varint() {
+            int valor = 0;
+            for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+                byte b = bytes[posicion++];
+                valor |= (b & 0x7F) << desplazamiento;
+                if ((b & 0x80) == 0) {
+                    return valor;
+                }
+            }
+            throw new SerializationException("Varint inválido en cliente binario");
+        }
+
+        String texto() {
+            int largo = varint();
+            if (largo < 0 || posicion + largo > bytes.length) {
+                throw new SerializationException("Cliente binario truncado");
+            }
+            String texto = new String(bytes, posicion, largo, StandardCharsets.UTF_8);
+            posicion += largo;
+            return texto;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tata.cuenta_movimiento.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+/**
+ * Configuración de los listeners de Kafka.
+ *
+ * <p>La fábrica {@value #FABRICA_LOTES_CLIENTES} entrega al listener cada poll
+ * completo como una lista, con confirmación manual del offset, y toma el resto de
+ * opciones de {@code spring.kafka.*}. La concurrencia ({@code clientes.kafka.concurrencia})
+ * conviene igualarla al número de particiones del tópico: cada hebra atiende una o
+ * más particiones y las hebras sobrantes quedan ociosas.</p>
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String FABRICA_LOTES_CLIENTES = "clientesLoteListenerFactory";
+
+    @Bean(FABRICA_LOTES_CLIENTES)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> clientesLoteListenerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${clientes.kafka.concurrencia:3}") int concurrencia) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrencia);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        return factory;
+    }
+}
@@ -4,10 +4,15 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tata.cuenta_movimiento.cache.ClienteCacheLocal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
@@ -16,7 +21,8 @@ import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       @Value("${clientes.redis.codec-binario:true}") boolean codecBinario) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -24,7 +30,17 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        // Configurar serialización para valores (JSON)
+        // Serialización JSON para valores que no son clientes y para leer entradas anteriores
+        GenericJackson2JsonRedisSerializer jsonSerializer = serializadorJson();
+        // Clientes del directorio en formato binario compacto
+        template.setValueSerializer(new ClienteBinarioRedisSerializer(jsonSerializer, codecBinario));
+        template.setHashValueSerializer(jsonSerializer);
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    static GenericJackson2JsonRedisSerializer serializadorJson() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.activateDefaultTyping(
@@ -32,12 +48,17 @@ public class RedisConfig {
             DefaultTyping.NON_FINAL,
             JsonTypeInfo.As.PROPERTY
         );
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
 
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(mapper);
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
-
-        template.afterPropertiesSet();
-        return template;
+    @Bean
+    @ConditionalOnProperty(name = "clientes.cache.invalidacion.habilitada", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       ClienteCacheLocal clienteCacheLocal) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // Invalidación de la caché local de clientes entre instancias
+        container.addMessageListener(clienteCacheLocal, new ChannelTopic(ClienteCacheLocal.CANAL_INVALIDACION));
+        return container;
     }
-} 
\ No newline at end of file
+}
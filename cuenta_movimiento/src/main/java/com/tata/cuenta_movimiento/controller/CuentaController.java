@@ -2,14 +2,26 @@ package com.tata.cuenta_movimiento.controller;
 
 import com.tata.cuenta_movimiento.dto.ApiResponse;
 import com.tata.cuenta_movimiento.dto.CuentaDTO;
+import com.tata.cuenta_movimiento.dto.PaginaDTO;
+import com.tata.cuenta_movimiento.dto.ReconstruccionSaldosDTO;
+import com.tata.cuenta_movimiento.dto.SaldoDiarioDTO;
+import com.tata.cuenta_movimiento.dto.SaldoHistoricoDTO;
+import com.tata.cuenta_movimiento.dto.SaldoHistoricoLoteDTO;
 import com.tata.cuenta_movimiento.service.CuentaService;
+import com.tata.cuenta_movimiento.service.SaldoDiarioService;
+import com.tata.cuenta_movimiento.service.SaldoHistoricoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -30,15 +42,25 @@ import java.util.List;
 public class CuentaController {
     
     private final CuentaService cuentaService;
+    private final SaldoDiarioService saldoDiarioService;
+    private final SaldoHistoricoService saldoHistoricoService;
     
     /**
-     * Obtiene todas las cuentas registradas en el sistema.
+     * Obtiene las cuentas registradas en el sistema, paginadas por cursor.
      * 
-     * @return ResponseEntity con la lista de cuentas y mensaje de éxito
+     * @param tipoCuenta Filtro por tipo de cuenta (opcional)
+     * @param clienteId Filtro por cliente (opcional)
+     * @param cursor Cursor de la página siguiente devuelto por la llamada anterior (opcional)
+     * @param tamano Tamaño de página (por defecto 50, máximo 500)
+     * @return ResponseEntity con la página de cuentas y mensaje de éxito
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CuentaDTO>>> getAllCuentas() {
-        List<CuentaDTO> cuentas = cuentaService.getAllCuentas();
+    public ResponseEntity<ApiResponse<PaginaDTO<CuentaDTO>>> getAllCuentas(
+            @RequestParam(required = false) String tipoCuenta,
+            @RequestParam(required = false) Integer clienteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        PaginaDTO<CuentaDTO> cuentas = cuentaService.getCuentasPaginadas(tipoCuenta, clienteId, cursor, tamano);
         return ResponseEntity.ok(ApiResponse.success(cuentas, "Cuentas obtenidas exitosamente"));
     }
     
@@ -54,6 +76,81 @@ public class CuentaController {
         return ResponseEntity.ok(ApiResponse.success(cuenta, "Cuenta obtenida exitosamente"));
     }
     
+    /**
+     * Obtiene el saldo de una cuenta al cierre de un día, desde los saldos diarios.
+     * 
+     * @param id ID de la cuenta
+     * @param fecha Día consultado (por defecto, hoy)
+     * @return ResponseEntity con los saldos de apertura y cierre y los totales del día
+     */
+    @GetMapping("/{id}/saldo")
+    public ResponseEntity<ApiResponse<SaldoDiarioDTO>> getSaldo(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        SaldoDiarioDTO saldo = saldoDiarioService.obtenerSaldo(id, fecha != null ? fecha : LocalDate.now());
+        return ResponseEntity.ok(ApiResponse.success(saldo, "Saldo obtenido exitosamente"));
+    }
+    
+    /**
+     * Obtiene el saldo de una cuenta en un instante, tomado del último movimiento
+     * registrado hasta ese instante.
+     * 
+     * @param id ID de la cuenta
+     * @param instante Instante consultado (ISO-8601, por ejemplo 2025-06-30T23:59:59)
+     * @return ResponseEntity con el saldo y el movimiento del que se tomó
+     */
+    @GetMapping("/{id}/saldo-historico")
+    public ResponseEntity<ApiResponse<SaldoHistoricoDTO>> getSaldoHistorico(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime instante) {
+        SaldoHistoricoDTO saldo = saldoHistoricoService.obtenerSaldo(id, instante);
+        return ResponseEntity.ok(ApiResponse.success(saldo, "Saldo histórico obtenido exitosamente"));
+    }
+    
+    /**
+     * Obtiene el saldo de varias cuentas en uno o más instantes.
+     * 
+     * @param lote Cuentas e instantes; se consulta cada cuenta en cada instante
+     * @return ResponseEntity con un saldo por cada par (cuenta, instante)
+     */
+    @PostMapping("/saldo-historico")
+    public ResponseEntity<ApiResponse<List<SaldoHistoricoDTO>>> getSaldosHistoricos(
+            @Valid @RequestBody SaldoHistoricoLoteDTO lote) {
+        List<SaldoHistoricoDTO> saldos = saldoHistoricoService.obtenerSaldos(lote);
+        return ResponseEntity.ok(ApiResponse.success(saldos, "Saldos históricos obtenidos exitosamente"));
+    }
+    
+    /**
+     * Inicia en segundo plano la reconstrucción de los saldos diarios de todas las
+     * cuentas desde sus movimientos.
+     * 
+     * <p>El avance se consulta en {@code GET /cuentas/saldos-diarios/reconstruccion}.
+     * Si ya hay una reconstrucción en curso se responde 503.</p>
+     * 
+     * @return ResponseEntity con el estado inicial y código 202
+     */
+    @PostMapping("/saldos-diarios/reconstruccion")
+    public ResponseEntity<ApiResponse<ReconstruccionSaldosDTO>> reconstruirSaldosDiarios() {
+        ReconstruccionSaldosDTO reconstruccion = saldoDiarioService.iniciarReconstruccion();
+        URI estado = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/cuentas/saldos-diarios/reconstruccion")
+                .build()
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(estado)
+                .body(ApiResponse.success(reconstruccion, "Reconstrucción de saldos diarios iniciada"));
+    }
+    
+    /**
+     * Obtiene el estado de la última reconstrucción de los saldos diarios.
+     * 
+     * @return ResponseEntity con el estado, las cuentas procesadas y las fechas
+     */
+    @GetMapping("/saldos-diarios/reconstruccion")
+    public ResponseEntity<ApiResponse<ReconstruccionSaldosDTO>> getReconstruccionSaldosDiarios() {
+        ReconstruccionSaldosDTO reconstruccion = saldoDiarioService.obtenerReconstruccion();
+        return ResponseEntity.ok(ApiResponse.success(reconstruccion, "Estado de la reconstrucción obtenido exitosamente"));
+    }
     
     /**
      * Crea una nueva cuenta en el sistema.
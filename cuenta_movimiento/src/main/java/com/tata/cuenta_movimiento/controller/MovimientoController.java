@@ -3,7 +3,14 @@ package com.tata.cuenta_movimiento.controller;
 import com.tata.cuenta_movimiento.dto.ApiResponse;
 import com.tata.cuenta_movimiento.dto.MovimientoDTO;
 import com.tata.cuenta_movimiento.dto.MovimientoOperacionDTO;
+import com.tata.cuenta_movimiento.dto.PaginaDTO;
 import com.tata.cuenta_movimiento.dto.ReporteMovimientoDTO;
+import com.tata.cuenta_movimiento.dto.ResultadoCargaDTO;
+import com.tata.cuenta_movimiento.dto.TransferenciaDTO;
+import com.tata.cuenta_movimiento.dto.TransferenciaResultadoDTO;
+import com.tata.cuenta_movimiento.service.CargaMovimientosService;
+import com.tata.cuenta_movimiento.service.IdempotenciaService;
+import com.tata.cuenta_movimiento.service.MotorMovimientos;
 import com.tata.cuenta_movimiento.service.MovimientoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -33,15 +42,32 @@ import java.util.List;
 public class MovimientoController {
     
     private final MovimientoService movimientoService;
+    private final MotorMovimientos motorMovimientos;
+    private final CargaMovimientosService cargaMovimientosService;
+    private final IdempotenciaService idempotenciaService;
     
     /**
-     * Obtiene todos los movimientos registrados en el sistema.
+     * Obtiene los movimientos registrados en el sistema, del más reciente al más
+     * antiguo, paginados por cursor.
      * 
-     * @return ResponseEntity con la lista de movimientos y mensaje de éxito
+     * @param cuentaId Filtro por cuenta (opcional)
+     * @param tipoMovimiento Filtro por tipo de movimiento (opcional)
+     * @param fechaInicio Fecha mínima (opcional)
+     * @param fechaFin Fecha máxima (opcional)
+     * @param cursor Cursor de la página siguiente devuelto por la llamada anterior (opcional)
+     * @param tamano Tamaño de página (por defecto 50, máximo 500)
+     * @return ResponseEntity con la página de movimientos y mensaje de éxito
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<MovimientoDTO>>> getAllMovimientos() {
-        List<MovimientoDTO> movimientos = movimientoService.getAllMovimientos();
+    public ResponseEntity<ApiResponse<PaginaDTO<MovimientoDTO>>> getAllMovimientos(
+            @RequestParam(required = false) Long cuentaId,
+            @RequestParam(required = false) String tipoMovimiento,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        PaginaDTO<MovimientoDTO> movimientos = movimientoService.getMovimientosPaginados(
+                cuentaId, tipoMovimiento, fechaInicio, fechaFin, cursor, tamano);
         return ResponseEntity.ok(ApiResponse.success(movimientos, "Movimientos obtenidos exitosamente"));
     }
     
@@ -61,16 +87,60 @@ public class MovimientoController {
     /**
      * Crea un nuevo movimiento en el sistema y actualiza el saldo de la cuenta.
      * 
+     * <p>El movimiento se envía al motor de contabilización y la petición espera a
+     * que su lote se confirme. Con la cabecera {@code Idempotency-Key}, los
+     * reintentos devuelven el movimiento de la primera ejecución en lugar de crear
+     * otro.</p>
+     * 
+     * @param claveIdempotencia Clave de idempotencia (opcional)
      * @param movimientoDTO Datos del movimiento a crear
      * @return ResponseEntity con el movimiento creado y código 201
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<MovimientoDTO>> createMovimiento(@Valid @RequestBody MovimientoDTO movimientoDTO) {
-        MovimientoDTO createdMovimiento = movimientoService.createMovimiento(movimientoDTO);
+    public ResponseEntity<ApiResponse<MovimientoDTO>> createMovimiento(
+            @RequestHeader(value = IdempotenciaService.CABECERA, required = false) String claveIdempotencia,
+            @Valid @RequestBody MovimientoDTO movimientoDTO) {
+        MovimientoDTO createdMovimiento = contabilizar(claveIdempotencia, movimientoDTO);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(createdMovimiento, "Movimiento creado exitosamente"));
     }
     
+    /**
+     * Transfiere fondos entre dos cuentas: debita el origen y acredita el destino
+     * en una sola transacción.
+     * 
+     * @param transferenciaDTO Datos de la transferencia
+     * @return ResponseEntity con los movimientos de débito y crédito y código 201
+     */
+    @PostMapping("/transferencias")
+    public ResponseEntity<ApiResponse<TransferenciaResultadoDTO>> transferir(
+            @Valid @RequestBody TransferenciaDTO transferenciaDTO) {
+        TransferenciaResultadoDTO resultado = movimientoService.transferir(transferenciaDTO);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(resultado, "Transferencia realizada exitosamente"));
+    }
+    
+    /**
+     * Carga masiva de movimientos desde un archivo NDJSON o CSV.
+     * 
+     * <p>El cuerpo se procesa en streaming; el formato se elige según el
+     * {@code Content-Type} ({@code application/x-ndjson} o {@code text/csv}).</p>
+     * 
+     * @param contentType Tipo de contenido de la petición
+     * @param cuerpo Contenido del archivo
+     * @return ResponseEntity con el resumen y el resultado de cada fila
+     */
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ApiResponse<ResultadoCargaDTO>> cargarMovimientos(
+            @RequestHeader("Content-Type") String contentType,
+            InputStream cuerpo) throws IOException {
+        CargaMovimientosService.Formato formato = contentType.startsWith("text/csv")
+                ? CargaMovimientosService.Formato.CSV
+                : CargaMovimientosService.Formato.NDJSON;
+        ResultadoCargaDTO resultado = cargaMovimientosService.cargar(cuerpo, formato);
+        return ResponseEntity.ok(ApiResponse.success(resultado, "Carga de movimientos procesada"));
+    }
+    
     /**
      * Actualiza completamente los datos de un movimiento existente.
      * 
@@ -100,16 +170,26 @@ public class MovimientoController {
     /**
      * Crea un nuevo movimiento a partir de la estructura especial de operación.
      * 
+     * @param claveIdempotencia Clave de idempotencia (opcional)
      * @param operacionDTO Datos de la operación
      * @return ResponseEntity con el movimiento creado y código 201
      */
     @PostMapping("/operacion")
-    public ResponseEntity<ApiResponse<MovimientoDTO>> createMovimientoOperacion(@RequestBody MovimientoOperacionDTO operacionDTO) {
+    public ResponseEntity<ApiResponse<MovimientoDTO>> createMovimientoOperacion(
+            @RequestHeader(value = IdempotenciaService.CABECERA, required = false) String claveIdempotencia,
+            @RequestBody MovimientoOperacionDTO operacionDTO) {
         MovimientoDTO movimientoDTO = movimientoService.convertirOperacionAMovimiento(operacionDTO);
-        MovimientoDTO createdMovimiento = movimientoService.createMovimiento(movimientoDTO);
+        MovimientoDTO createdMovimiento = contabilizar(claveIdempotencia, movimientoDTO);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(createdMovimiento, "Movimiento creado exitosamente"));
     }
+    
+    private MovimientoDTO contabilizar(String claveIdempotencia, MovimientoDTO movimientoDTO) {
+        if (claveIdempotencia == null) {
+            return motorMovimientos.contabilizar(movimientoDTO);
+        }
+        return idempotenciaService.contabilizar(claveIdempotencia, movimientoDTO);
+    }
 
     /**
      * Reporte de movimientos por rango de fechas y clienteId.
@@ -1,20 +1,37 @@
 package com.tata.cuenta_movimiento.controller;
 
 import com.tata.cuenta_movimiento.dto.ApiResponse;
+import com.tata.cuenta_movimiento.dto.ReporteJobDTO;
 import com.tata.cuenta_movimiento.dto.ReporteMovimientoDTO;
+import com.tata.cuenta_movimiento.service.ExportacionReporteService;
 import com.tata.cuenta_movimiento.service.MovimientoService;
+import com.tata.cuenta_movimiento.service.ReporteJobService;
 import com.tata.cuenta_movimiento.kafka.ClienteKafkaConsumer;
 import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/reportes")
@@ -22,6 +39,8 @@ import java.util.List;
 public class ReporteController {
     private final MovimientoService movimientoService;
     private final ClienteKafkaConsumer clienteKafkaConsumer;
+    private final ExportacionReporteService exportacionReporteService;
+    private final ReporteJobService reporteJobService;
 
     /**
      * Reporte de movimientos por rango de fechas y clienteId.
@@ -41,13 +60,110 @@ public class ReporteController {
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fechaInicio,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fechaFin) {
         
+        Integer clienteId = buscarClienteId(identificacion);
+        List<ReporteMovimientoDTO> reporte = movimientoService.obtenerReporteMovimientos(fechaInicio, fechaFin, clienteId);
+        return ApiResponse.success(reporte, "Reporte generado exitosamente");
+    }
+
+    /**
+     * Exporta el reporte en streaming como NDJSON o CSV según la cabecera {@code Accept}.
+     * 
+     * <p>Las filas se escriben a medida que se leen de la base de datos, con memoria
+     * constante. Si el cliente envía {@code Accept-Encoding: gzip}, la respuesta se
+     * comprime. Para rangos pequeños se sigue usando el JSON con {@link ApiResponse}.</p>
+     */
+    @GetMapping(produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportarReporte(
+            @RequestParam String identificacion,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fechaInicio,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fechaFin,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        Integer clienteId = buscarClienteId(identificacion);
+        String nombreCliente = clienteKafkaConsumer.obtenerNombreCliente(clienteId);
+        boolean csv = accept.contains("text/csv");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ExportacionReporteService.Formato formato = csv
+                ? ExportacionReporteService.Formato.CSV
+                : ExportacionReporteService.Formato.NDJSON;
+        
+        StreamingResponseBody cuerpo = salida -> {
+            if (gzip) {
+                try (GZIPOutputStream comprimida = new GZIPOutputStream(salida, 8192)) {
+                    exportacionReporteService.exportar(clienteId, nombreCliente, fechaInicio, fechaFin, formato, comprimida);
+                }
+            } else {
+                exportacionReporteService.exportar(clienteId, nombreCliente, fechaInicio, fechaFin, formato, salida);
+            }
+        };
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                                 : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return respuesta.body(cuerpo);
+    }
+
+    /**
+     * Encola la generación del reporte para rangos de fechas grandes y devuelve el ID
+     * del trabajo, sin ocupar la solicitud mientras se genera.
+     * 
+     * <p>El estado se consulta en {@code GET /reportes/jobs/{id}} y, al completarse,
+     * el archivo se descarga de {@code GET /reportes/jobs/{id}/archivo}. Si la cola de
+     * reportes está llena se responde 503.</p>
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<ReporteJobDTO>> crearReporteJob(
+            @RequestParam String identificacion,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fechaInicio,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate fechaFin,
+            @RequestParam(defaultValue = "CSV") ExportacionReporteService.Formato formato) {
+        
+        Integer clienteId = buscarClienteId(identificacion);
+        String nombreCliente = clienteKafkaConsumer.obtenerNombreCliente(clienteId);
+        ReporteJobDTO trabajo = reporteJobService.crear(clienteId, nombreCliente, fechaInicio, fechaFin, formato);
+        URI estado = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/reportes/jobs/{id}")
+                .buildAndExpand(trabajo.getId())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(estado)
+                .body(ApiResponse.success(trabajo, "Reporte en cola"));
+    }
+
+    /**
+     * Estado de un trabajo de reporte.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ApiResponse<ReporteJobDTO>> obtenerReporteJob(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.success(reporteJobService.obtener(id), "Estado del reporte obtenido"));
+    }
+
+    /**
+     * Descarga el archivo gzip de un trabajo completado. Admite solicitudes parciales
+     * con la cabecera {@code Range} para reanudar descargas interrumpidas. Mientras el
+     * trabajo está pendiente o en proceso responde 409 con {@code Retry-After}; si el
+     * trabajo falló responde 410 con el error.
+     */
+    @GetMapping("/jobs/{id}/archivo")
+    public ResponseEntity<Resource> descargarReporteJob(@PathVariable String id) {
+        Path archivo = reporteJobService.obtenerArchivo(id);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("application", "gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("reporte-" + archivo.getFileName()).build().toString())
+                .body(new FileSystemResource(archivo));
+    }
+
+    private Integer buscarClienteId(String identificacion) {
         // Buscar el id del cliente en Redis usando la identificación
         Integer clienteId = clienteKafkaConsumer.obtenerIdClientePorIdentificacion(identificacion);
         if (clienteId == null) {
             throw new ResourceNotFoundException("Cliente con identificación " + identificacion + " no encontrado en Redis");
         }
-        
-        List<ReporteMovimientoDTO> reporte = movimientoService.obtenerReporteMovimientos(fechaInicio, fechaFin, clienteId);
-        return ApiResponse.success(reporte, "Reporte generado exitosamente");
+        return clienteId;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.tata.cuenta_movimiento.directorio;
+
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Directorio de clientes alimentado por el tópico {@code clientes-topic}.
+ *
+ * <p>Hay dos implementaciones, seleccionables con {@code clientes.directorio.tipo}:
+ * {@code redis} (por defecto, compartido entre instancias) y {@code off-heap}
+ * (en memoria fuera del heap de cada nodo, sin saltos de red).</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public interface ClienteDirectorio {
+
+    /**
+     * Aplica en bloque altas, cambios y eliminaciones de clientes.
+     *
+     * @param eventos Mapa id → cliente, con valor nulo para los clientes eliminados
+     */
+    void aplicarEventos(Map<Integer, ClienteKafkaDTO> eventos);
+
+    ClienteKafkaDTO obtenerCliente(Integer id);
+
+    /**
+     * Obtiene varios clientes a la vez.
+     *
+     * @param ids IDs de los clientes (sin nulos)
+     * @return Mapa id → cliente con los clientes encontrados
+     */
+    Map<Integer, ClienteKafkaDTO> obtenerClientes(Set<Integer> ids);
+
+    Integer obtenerIdPorNombre(String nombre);
+
+    Integer obtenerIdPorIdentificacion(String identificacion);
+
+    /**
+     * Indica si hay que cargar el directorio desde el inicio del tópico antes de
+     * atender tráfico.
+     */
+    boolean requiereCargaInicial();
+
+    /**
+     * Registra que la carga inicial terminó.
+     */
+    void marcarCargaCompleta();
+
+    /**
+     * Grupo de consumidores del listener de clientes. Un directorio local necesita
+     * un grupo propio por instancia para recibir todas las particiones.
+     */
+    String grupoConsumidor();
+}
@@ -0,0 +1,338 @@
+package com.tata.cuenta_movimiento.directorio;
+
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Directorio de clientes local de cada nodo, guardado fuera del heap.
+ *
+ * <p>Los registros se escriben uno tras otro en un buffer directo
+ * ({@code [id][largo][nombre][largo][identificacion]}, textos en UTF-8) y se
+ * localizan con tres tablas hash de enteros, también fuera del heap: id → posición
+ * del registro, y hash del nombre / de la identificación → id. Las búsquedas por
+ * texto comparan los bytes guardados, sin decodificarlos. Un cambio escribe un
+ * registro nuevo y deja el anterior como espacio libre, que se recupera compactando
+ * el buffer cuando supera la mitad de su uso.</p>
+ *
+ * <p>Así el directorio completo no genera objetos en el heap ni trabajo para el GC,
+ * y las consultas se resuelven en memoria sin saltos de red. Como cada nodo guarda
+ * su propia copia, el listener usa un grupo de consumidores único por instancia y
+ * la copia se reconstruye desde el tópico compactado en cada arranque.</p>
+ *
+ * <p>Se activa con {@code clientes.directorio.tipo=off-heap}. El tamaño se publica
+ * en {@code clientes.directorio.offheap.clientes} y
+ * {@code clientes.directorio.offheap.bytes}.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "clientes.directorio.tipo", havingValue = "off-heap")
+public class OffHeapClienteDirectorio implements ClienteDirectorio {
+
+    private static final IntPredicate CUALQUIERA = valor -> true;
+    private static final int BYTES_MINIMOS_COMPACTACION = 64 * 1024;
+    private static final int BYTES_POR_CLIENTE_ESTIMADOS = 64;
+
+    private final StampedLock cerrojo = new StampedLock();
+    private final TablaEnterosOffHeap porId;
+    private final TablaEnterosOffHeap porNombre;
+    private final TablaEnterosOffHeap porIdentificacion;
+    private final String grupoConsumidor;
+    private ByteBuffer datos;
+    private int fin;
+    private int libres;
+
+    public OffHeapClienteDirectorio(MeterRegistry meterRegistry,
+                                    @Value("${spring.kafka.consumer.group-id:grupo-cuentas}") String grupo,
+                                    @Value("${clientes.directorio.capacidad-inicial:100000}") int capacidadInicial) {
+        this.porId = new TablaEnterosOffHeap(capacidadInicial * 2);
+        this.porNombre = new TablaEnterosOffHeap(capacidadInicial * 2);
+        this.porIdentificacion = new TablaEnterosOffHeap(capacidadInicial * 2);
+        this.datos = ByteBuffer.allocateDirect(Math.max(BYTES_MINIMOS_COMPACTACION,
+                capacidadInicial * BYTES_POR_CLIENTE_ESTIMADOS));
+        this.grupoConsumidor = grupo + "-" + UUID.randomUUID();
+        Gauge.builder("clientes.directorio.offheap.clientes", this, OffHeapClienteDirectorio::tamano)
+                .description("Clientes en el directorio fuera del heap")
+                .register(meterRegistry);
+        Gauge.builder("clientes.directorio.offheap.bytes", this, OffHeapClienteDirectorio::bytesReservados)
+                .description("Memoria directa reservada por el directorio de clientes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void aplicarEventos(Map<Integer, ClienteKafkaDTO> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        long sello = cerrojo.writeLock();
+        try {
+            eventos.forEach(this::aplicar);
+            if (libres > BYTES_MINIMOS_COMPACTACION && libres > fin / 2) {
+                compactar();
+            }
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    private void aplicar(Integer id, ClienteKafkaDTO cliente) {
+        int ranura = porId.buscar(id, CUALQUIERA);
+        if (ranura >= 0) {
+            int anterior = porId.valor(ranura);
+            desindexar(porNombre, posicionNombre(anterior), id);
+            desindexar(porIdentificacion, posicionIdentificacion(anterior), id);
+            libres += largoRegistro(anterior);
+        }
+        if (cliente == null) {
+            if (ranura >= 0) {
+                porId.borrar(ranura);
+            }
+            return;
+        }
+        byte[] nombre = bytes(cliente.getNombre());
+        byte[] identificacion = bytes(cliente.getIdentificacion());
+        int posicion = escribir(id, nombre, identificacion);
+        if (ranura >= 0) {
+            porId.fijarValor(ranura, posicion);
+        } else {
+            porId.insertar(id, posicion);
+        }
+        indexar(porNombre, nombre, id, false);
+        indexar(porIdentificacion, identificacion, id, true);
+    }
+
+    /**
+     * Hace que el valor apunte al cliente indicado; si ya apuntaba a otro cliente, el
+     * último en escribirse prevalece.
+     */
+    private void indexar(TablaEnterosOffHeap indice, byte[] valor, int id, boolean esIdentificacion) {
+        if (valor == null) {
+            return;
+        }
+        int ranura = indice.buscar(Arrays.hashCode(valor), candidato -> campoIgual(candidato, esIdentificacion, valor));
+        if (ranura >= 0) {
+            indice.fijarValor(ranura, id);
+        } else {
+            indice.insertar(Arrays.hashCode(valor), id);
+        }
+    }
+
+    /**
+     * Elimina la entrada del valor anterior solo si todavía apunta a este cliente.
+     */
+    private void desindexar(TablaEnterosOffHeap indice, int posicionCampo, int id) {
+        int largo = datos.getInt(posicionCampo);
+        if (largo < 0) {
+            return;
+        }
+        int hash = 1;
+        for (int i = 0; i < largo; i++) {
+            hash = 31 * hash + datos.get(posicionCampo + 4 + i);
+        }
+        int ranura = indice.buscar(hash, candidato -> candidato == id);
+        if (ranura >= 0) {
+            indice.borrar(ranura);
+        }
+    }
+
+    private int escribir(int id, byte[] nombre, byte[] identificacion) {
+        int largo = 12 + largo(nombre) + largo(identificacion);
+        if (fin + largo > datos.capacity()) {
+            ByteBuffer ampliado = ByteBuffer.allocateDirect(Math.max(datos.capacity() * 2, fin + largo));
+            ampliado.put(0, datos, 0, fin);
+            datos = ampliado;
+        }
+        int posicion = fin;
+        datos.putInt(fin, id);
+        fin += 4;
+        fin = escribirCampo(fin, nombre);
+        fin = escribirCampo(fin, identificacion);
+        return posicion;
+    }
+
+    private int escribirCampo(int posicion, byte[] valor) {
+        if (valor == null) {
+            datos.putInt(posicion, -1);
+            return posicion + 4;
+        }
+        datos.putInt(posicion, valor.length);
+        datos.put(posicion + 4, valor);
+        return posicion + 4 + valor.length;
+    }
+
+    /**
+     * Copia los registros vigentes a un buffer nuevo, sin huecos. Los índices por
+     * texto guardan ids y no posiciones, por lo que solo cambia la tabla por id.
+     */
+    private void compactar() {
+        int usados = fin - libres;
+        ByteBuffer compacto = ByteBuffer.allocateDirect(Math.max(BYTES_MINIMOS_COMPACTACION, usados * 2));
+        int nuevoFin = 0;
+        for (int ranura = 0; ranura < porId.capacidad(); ranura++) {
+            if (porId.ocupada(ranura)) {
+                int posicion = porId.valor(ranura);
+                int largo = largoRegistro(posicion);
+                compacto.put(nuevoFin, datos, posicion, largo);
+                porId.fijarValor(ranura, nuevoFin);
+                nuevoFin += largo;
+            }
+        }
+        log.debug("Directorio de clientes compactado: {} → {} bytes", fin, nuevoFin);
+        datos = compacto;
+        fin = nuevoFin;
+        libres = 0;
+    }
+
+    @Override
+    public ClienteKafkaDTO obtenerCliente(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        long sello = cerrojo.readLock();
+        try {
+            int ranura = porId.buscar(id, CUALQUIERA);
+            return ranura >= 0 ? leer(porId.valor(ranura)) : null;
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+    }
+
+    @Override
+    public Map<Integer, ClienteKafkaDTO> obtenerClientes(Set<Integer> ids) {
+        Map<Integer, ClienteKafkaDTO> clientes = new HashMap<>();
+        long sello = cerrojo.readLock();
+        try {
+            for (Integer id : ids) {
+                int ranura = porId.buscar(id, CUALQUIERA);
+                if (ranura >= 0) {
+                    clientes.put(id, leer(porId.valor(ranura)));
+                }
+            }
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+        return clientes;
+    }
+
+    @Override
+    public Integer obtenerIdPorNombre(String nombre) {
+        return obtenerIdIndexado(porNombre, nombre, false);
+    }
+
+    @Override
+    public Integer obtenerIdPorIdentificacion(String identificacion) {
+        return obtenerIdIndexado(porIdentificacion, identificacion, true);
+    }
+
+    private Integer obtenerIdIndexado(TablaEnterosOffHeap indice, String texto, boolean esIdentificacion) {
+        if (texto == null) {
+            return null;
+        }
+        byte[] valor = bytes(texto);
+        long sello = cerrojo.readLock();
+        try {
+            int ranura = indice.buscar(Arrays.hashCode(valor), candidato -> campoIgual(candidato, esIdentificacion, valor));
+            return ranura >= 0 ? indice.valor(ranura) : null;
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+    }
+
+    /**
+     * La memoria está vacía al arrancar, así que siempre se carga el tópico.
+     */
+    @Override
+    public boolean requiereCargaInicial() {
+        return true;
+    }
+
+    @Override
+    public void marcarCargaCompleta() {
+        log.info("Directorio de clientes fuera del heap cargado: {} clientes, {} bytes", tamano(), bytesReservados());
+    }
+
+    @Override
+    public String grupoConsumidor() {
+        return grupoConsumidor;
+    }
+
+    private boolean campoIgual(int id, boolean esIdentificacion, byte[] valor) {
+        int ranura = porId.buscar(id, CUALQUIERA);
+        if (ranura < 0) {
+            return false;
+        }
+        int posicion = porId.valor(ranura);
+        int campo = esIdentificacion ? posicionIdentificacion(posicion) : posicionNombre(posicion);
+        if (datos.getInt(campo) != valor.length) {
+            return false;
+        }
+        for (int i = 0; i < valor.length; i++) {
+            if (datos.get(campo + 4 + i) != valor[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ClienteKafkaDTO leer(int posicion) {
+        return new ClienteKafkaDTO(datos.getInt(posicion), leerCampo(posicionNombre(posicion)),
+                leerCampo(posicionIdentificacion(posicion)));
+    }
+
+    private String leerCampo(int posicion) {
+        int largo = datos.getInt(posicion);
+        if (largo < 0) {
+            return null;
+        }
+        byte[] valor = new byte[largo];
+        datos.get(posicion + 4, valor);
+        return new String(valor, StandardCharsets.UTF_8);
+    }
+
+    private static int posicionNombre(int posicion) {
+        return posicion + 4;
+    }
+
+    private int posicionIdentificacion(int posicion) {
+        return posicion + 8 + Math.max(0, datos.getInt(posicionNombre(posicion)));
+    }
+
+    private int largoRegistro(int posicion) {
+        int identificacion = posicionIdentificacion(posicion);
+        return identificacion + 4 + Math.max(0, datos.getInt(identificacion)) - posicion;
+    }
+
+    private static int largo(byte[] valor) {
+        return valor != null ? valor.length : 0;
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private double tamano() {
+        return porId.tamano();
+    }
+
+    private double bytesReservados() {
+        return datos.capacity() + porId.bytes() + porNombre.bytes() + porIdentificacion.bytes();
+    }
+}
@@ -0,0 +1,367 @@
+package com.tata.cuenta_movimiento.directorio;
+
+import com.tata.cuenta_movimiento.cache.ClienteCacheLocal;
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Directorio de clientes en Redis, compartido por todas las instancias.
+ *
+ * <p>Cada cliente se guarda con la clave {@code cliente:{id}} y hay dos índices
+ * secundarios (hashes) por nombre e identificación, de modo que las búsquedas por
+ * esos campos se resuelven con un único {@code HGET} en lugar de recorrer todas las
+ * claves con {@code KEYS}. Las lecturas por id pasan primero por
+ * {@link ClienteCacheLocal}, que se actualiza e invalida con cada escritura.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "clientes.directorio.tipo", havingValue = "redis", matchIfMissing = true)
+public class RedisClienteDirectorio implements ClienteDirectorio {
+
+    static final String CARGA_COMPLETA_KEY = "clientes:bootstrap:completo";
+
+    private static final String CLIENTES_KEY_PREFIX = "cliente:";
+    private static final String INDICE_NOMBRE_KEY = "clientes:idx:nombre";
+    private static final String INDICE_IDENTIFICACION_KEY = "clientes:idx:identificacion";
+    private static final String BACKFILL_MARCA_KEY = "clientes:idx:backfill";
+    private static final int TAMANO_LOTE_BACKFILL = 500;
+    private static final int MAXIMO_INTENTOS = 10;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private ClienteCacheLocal clienteCacheLocal;
+
+    @Value("${clientes.indices.backfill.habilitado:true}")
+    private boolean backfillHabilitado;
+
+    @Value("${spring.kafka.consumer.group-id:grupo-cuentas}")
+    private String grupoConsumidor;
+
+    /**
+     * Escribe un conjunto de altas, cambios y eliminaciones de clientes en Redis.
+     *
+     * <p>El bloque se aplica como una transacción optimista de Redis: se hace
+     * {@code WATCH} de los registros y de los dos índices, los valores anteriores se
+     * leen con un {@code MGET} y las entradas de índice que cambian con un
+     * {@code HMGET} por índice, y todas las escrituras (registros, entradas de índice
+     * obsoletas y nuevas, eliminaciones) se envían entre {@code MULTI} y {@code EXEC}.
+     * Una entrada de índice antigua solo se elimina si todavía apunta a este cliente;
+     * si otro consumidor modifica alguna de las claves vigiladas entre la lectura y el
+     * {@code EXEC}, la transacción se descarta y el bloque se vuelve a leer y aplicar.
+     * Finalmente se actualiza la caché local y se publica una sola invalidación para
+     * todo el bloque.</p>
+     *
+     * @param eventos Mapa id → cliente, con valor nulo para los clientes eliminados
+     * @throws OptimisticLockingFailureException si el bloque no se pudo aplicar tras
+     *         {@value #MAXIMO_INTENTOS} intentos por escrituras concurrentes
+     */
+    @Override
+    public void aplicarEventos(Map<Integer, ClienteKafkaDTO> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        for (int intento = 1; ; intento++) {
+            Boolean aplicado = redisTemplate.execute(new SessionCallback<Boolean>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Boolean execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    return aplicarEnTransaccion((RedisOperations<String, Object>) operations, eventos);
+                }
+            });
+            if (Boolean.TRUE.equals(aplicado)) {
+                break;
+            }
+            if (intento == MAXIMO_INTENTOS) {
+                throw new OptimisticLockingFailureException("No se pudo aplicar un bloque de "
+                        + eventos.size() + " clientes en Redis por escrituras concurrentes");
+            }
+            log.debug("Bloque de {} clientes modificado concurrentemente en Redis, reintento {}",
+                    eventos.size(), intento);
+        }
+        clienteCacheLocal.actualizarVarios(eventos);
+    }
+
+    /**
+     * Lee y escribe el bloque en una transacción {@code WATCH}/{@code MULTI}/{@code EXEC}
+     * sobre la conexión de la sesión.
+     *
+     * @return true si la transacción se confirmó, false si Redis la descartó
+     */
+    private boolean aplicarEnTransaccion(RedisOperations<String, Object> ops, Map<Integer, ClienteKafkaDTO> eventos) {
+        List<Integer> ids = new ArrayList<>(eventos.keySet());
+        List<String> keys = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            keys.add(CLIENTES_KEY_PREFIX + id);
+        }
+        List<String> vigiladas = new ArrayList<>(keys);
+        vigiladas.add(INDICE_NOMBRE_KEY);
+        vigiladas.add(INDICE_IDENTIFICACION_KEY);
+        ops.watch(vigiladas);
+        List<Object> valores = ops.opsForValue().multiGet(keys);
+
+        Map<String, Object> registros = new HashMap<>();
+        List<String> eliminados = new ArrayList<>();
+        Map<String, Object> nuevosPorNombre = new HashMap<>();
+        Map<String, Object> nuevosPorIdentificacion = new HashMap<>();
+        Map<String, Integer> antiguosPorNombre = new HashMap<>();
+        Map<String, Integer> antiguosPorIdentificacion = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            ClienteKafkaDTO cliente = eventos.get(id);
+            ClienteKafkaDTO anterior = valores != null && valores.get(i) instanceof ClienteKafkaDTO a ? a : null;
+            if (cliente == null) {
+                eliminados.add(keys.get(i));
+            } else {
+                registros.put(keys.get(i), cliente);
+                if (cliente.getNombre() != null) {
+                    nuevosPorNombre.put(cliente.getNombre(), id);
+                }
+                if (cliente.getIdentificacion() != null) {
+                    nuevosPorIdentificacion.put(cliente.getIdentificacion(), id);
+                }
+            }
+            if (anterior != null) {
+                String nombre = cliente != null ? cliente.getNombre() : null;
+                String identificacion = cliente != null ? cliente.getIdentificacion() : null;
+                if (anterior.getNombre() != null && !anterior.getNombre().equals(nombre)) {
+                    antiguosPorNombre.put(anterior.getNombre(), id);
+                }
+                if (anterior.getIdentificacion() != null && !anterior.getIdentificacion().equals(identificacion)) {
+                    antiguosPorIdentificacion.put(anterior.getIdentificacion(), id);
+                }
+            }
+        }
+        List<String> obsoletosPorNombre = entradasQueApuntanA(ops, INDICE_NOMBRE_KEY, antiguosPorNombre);
+        List<String> obsoletosPorIdentificacion =
+                entradasQueApuntanA(ops, INDICE_IDENTIFICACION_KEY, antiguosPorIdentificacion);
+
+        ops.multi();
+        if (!registros.isEmpty()) {
+            ops.opsForValue().multiSet(registros);
+        }
+        if (!eliminados.isEmpty()) {
+            ops.delete(eliminados);
+        }
+        // Primero se eliminan las entradas obsoletas: si otro cliente del mismo
+        // bloque toma ese valor, su entrada nueva prevalece
+        if (!obsoletosPorNombre.isEmpty()) {
+            ops.opsForHash().delete(INDICE_NOMBRE_KEY, obsoletosPorNombre.toArray());
+        }
+        if (!obsoletosPorIdentificacion.isEmpty()) {
+            ops.opsForHash().delete(INDICE_IDENTIFICACION_KEY, obsoletosPorIdentificacion.toArray());
+        }
+        if (!nuevosPorNombre.isEmpty()) {
+            ops.opsForHash().putAll(INDICE_NOMBRE_KEY, nuevosPorNombre);
+        }
+        if (!nuevosPorIdentificacion.isEmpty()) {
+            ops.opsForHash().putAll(INDICE_IDENTIFICACION_KEY, nuevosPorIdentificacion);
+        }
+        // Siempre hay al menos una escritura: una lista vacía indica que se descartó
+        List<Object> resultado = ops.exec();
+        return resultado != null && !resultado.isEmpty();
+    }
+
+    /**
+     * De los valores candidatos de un índice, devuelve los que todavía apuntan al
+     * cliente indicado para cada uno, leyéndolos con un solo {@code HMGET}.
+     */
+    private List<String> entradasQueApuntanA(RedisOperations<String, Object> ops, String indice,
+                                             Map<String, Integer> candidatos) {
+        if (candidatos.isEmpty()) {
+            return List.of();
+        }
+        List<Object> valores = new ArrayList<>(candidatos.keySet());
+        List<Object> indexados = ops.opsForHash().multiGet(indice, valores);
+        List<String> obsoletos = new ArrayList<>();
+        for (int i = 0; i < valores.size(); i++) {
+            Object idIndexado = indexados != null ? indexados.get(i) : null;
+            if (idIndexado instanceof Number numero && numero.intValue() == candidatos.get(valores.get(i))) {
+                obsoletos.add((String) valores.get(i));
+            }
+        }
+        return obsoletos;
+    }
+
+    @Override
+    public ClienteKafkaDTO obtenerCliente(Integer id) {
+        return clienteCacheLocal.obtener(id, this::leerCliente);
+    }
+
+    private ClienteKafkaDTO leerCliente(Integer id) {
+        String key = CLIENTES_KEY_PREFIX + id;
+        return (ClienteKafkaDTO) redisTemplate.opsForValue().get(key);
+    }
+
+    /**
+     * Los ids que no están en la caché local se leen de Redis con un único
+     * {@code MGET}.
+     */
+    @Override
+    public Map<Integer, ClienteKafkaDTO> obtenerClientes(Set<Integer> ids) {
+        return clienteCacheLocal.obtenerVarios(ids, this::leerClientes);
+    }
+
+    private Map<Integer, ClienteKafkaDTO> leerClientes(Set<? extends Integer> ids) {
+        List<Integer> orden = new ArrayList<>(ids);
+        List<String> keys = new ArrayList<>(orden.size());
+        for (Integer id : orden) {
+            keys.add(CLIENTES_KEY_PREFIX + id);
+        }
+        List<Object> valores = redisTemplate.opsForValue().multiGet(keys);
+        Map<Integer, ClienteKafkaDTO> clientes = new HashMap<>();
+        if (valores != null) {
+            for (int i = 0; i < orden.size(); i++) {
+                Object valor = valores.get(i);
+                if (valor instanceof ClienteKafkaDTO cliente) {
+                    clientes.put(orden.get(i), cliente);
+                }
+            }
+        }
+        return clientes;
+    }
+
+    @Override
+    public Integer obtenerIdPorNombre(String nombre) {
+        return obtenerIdIndexado(INDICE_NOMBRE_KEY, nombre);
+    }
+
+    @Override
+    public Integer obtenerIdPorIdentificacion(String identificacion) {
+        return obtenerIdIndexado(INDICE_IDENTIFICACION_KEY, identificacion);
+    }
+
+    private Integer obtenerIdIndexado(String indice, String valor) {
+        if (valor == null) {
+            return null;
+        }
+        Object id = redisTemplate.opsForHash().get(indice, valor);
+        return id != null ? ((Number) id).intValue() : null;
+    }
+
+    /**
+     * Solo hace falta cargar el tópico si Redis no tiene la marca de carga completa
+     * (Redis vacío o recién vaciado).
+     */
+    @Override
+    public boolean requiereCargaInicial() {
+        return !Boolean.TRUE.equals(redisTemplate.hasKey(CARGA_COMPLETA_KEY));
+    }
+
+    @Override
+    public void marcarCargaCompleta() {
+        redisTemplate.opsForValue().set(CARGA_COMPLETA_KEY, LocalDateTime.now().toString());
+    }
+
+    @Override
+    public String grupoConsumidor() {
+        return grupoConsumidor;
+    }
+
+    /**
+     * Ejecuta una única vez la reconstrucción de los índices a partir de las claves
+     * {@code cliente:*} existentes. La marca {@code clientes:idx:backfill} evita que
+     * otras instancias o reinicios posteriores repitan el proceso.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIndicesInicial() {
+        if (!backfillHabilitado) {
+            return;
+        }
+        try {
+            Boolean adquirido = redisTemplate.opsForValue()
+                    .setIfAbsent(BACKFILL_MARCA_KEY, LocalDateTime.now().toString());
+            if (!Boolean.TRUE.equals(adquirido)) {
+                return;
+            }
+            try {
+                int total = reconstruirIndices();
+                log.info("Índices de clientes reconstruidos: {} clientes", total);
+            } catch (RuntimeException e) {
+                redisTemplate.delete(BACKFILL_MARCA_KEY);
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo ejecutar el backfill de índices de clientes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recorre las claves {@code cliente:*} con {@code SCAN} (sin bloquear Redis) y
+     * carga los índices por nombre e identificación en lotes.
+     *
+     * @return Número de clientes indexados
+     */
+    public int reconstruirIndices() {
+        ScanOptions opciones = ScanOptions.scanOptions()
+                .match(CLIENTES_KEY_PREFIX + "*")
+                .count(TAMANO_LOTE_BACKFILL)
+                .build();
+        int total = 0;
+        List<String> lote = new ArrayList<>(TAMANO_LOTE_BACKFILL);
+        try (Cursor<String> cursor = redisTemplate.scan(opciones)) {
+            while (cursor.hasNext()) {
+                lote.add(cursor.next());
+                if (lote.size() == TAMANO_LOTE_BACKFILL) {
+                    total += indexarLote(lote);
+                    lote.clear();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            total += indexarLote(lote);
+        }
+        return total;
+    }
+
+    private int indexarLote(List<String> keys) {
+        List<Object> valores = redisTemplate.opsForValue().multiGet(keys);
+        if (valores == null) {
+            return 0;
+        }
+        Map<String, Object> porNombre = new HashMap<>();
+        Map<String, Object> porIdentificacion = new HashMap<>();
+        for (Object valor : valores) {
+            if (valor instanceof ClienteKafkaDTO cliente && cliente.getId() != null) {
+                if (cliente.getNombre() != null) {
+                    porNombre.put(cliente.getNombre(), cliente.getId());
+                }
+                if (cliente.getIdentificacion() != null) {
+                    porIdentificacion.put(cliente.getIdentificacion(), cliente.getId());
+                }
+            }
+        }
+        if (!porNombre.isEmpty()) {
+            redisTemplate.opsForHash().putAll(INDICE_NOMBRE_KEY, porNombre);
+        }
+        if (!porIdentificacion.isEmpty()) {
+            redisTemplate.opsForHash().putAll(INDICE_IDENTIFICACION_KEY, porIdentificacion);
+        }
+        return porIdentificacion.size();
+    }
+}
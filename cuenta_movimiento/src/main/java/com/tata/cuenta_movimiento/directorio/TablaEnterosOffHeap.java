@@ -0,0 +1,155 @@
+package com.tata.cuenta_movimiento.directorio;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntPredicate;
+
+/**
+ * Tabla hash de pares (clave, valor) de enteros guardada en un buffer directo,
+ * fuera del heap, con direccionamiento abierto y sondeo lineal.
+ *
+ * <p>Cada ranura ocupa 12 bytes (estado, clave, valor). Una misma clave puede
+ * aparecer en varias ranuras: quien busca decide cuál acepta según el valor, lo que
+ * permite usar la tabla tanto como índice único por id como índice por hash de un
+ * texto (con colisiones). Las ranuras borradas se marcan y se limpian al
+ * redimensionar. No es thread-safe: el directorio la protege con su cerrojo.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+final class TablaEnterosOffHeap {
+
+    private static final int TAMANO_RANURA = 12;
+    private static final int LIBRE = 0;
+    private static final int OCUPADA = 1;
+    private static final int BORRADA = 2;
+
+    private ByteBuffer ranuras;
+    private int mascara;
+    private int ocupadas;
+    private int borradas;
+
+    TablaEnterosOffHeap(int capacidadInicial) {
+        int capacidad = 16;
+        while (capacidad < capacidadInicial) {
+            capacidad <<= 1;
+        }
+        crear(capacidad);
+    }
+
+    /**
+     * Busca la primera ranura ocupada con la clave indicada cuyo valor acepta el
+     * predicado.
+     *
+     * @return Índice de la ranura o -1 si no hay ninguna
+     */
+    int buscar(int clave, IntPredicate acepta) {
+        int ranura = mezclar(clave) & mascara;
+        while (true) {
+            int base = ranura * TAMANO_RANURA;
+            int estado = ranuras.getInt(base);
+            if (estado == LIBRE) {
+                return -1;
+            }
+            if (estado == OCUPADA && ranuras.getInt(base + 4) == clave && acepta.test(ranuras.getInt(base + 8))) {
+                return ranura;
+            }
+            ranura = (ranura + 1) & mascara;
+        }
+    }
+
+    /**
+     * Agrega un par nuevo. No comprueba si la clave ya existe.
+     */
+    void insertar(int clave, int valor) {
+        if ((ocupadas + borradas + 1) * 4L > capacidad() * 3L) {
+            redimensionar();
+        }
+        int ranura = mezclar(clave) & mascara;
+        while (ranuras.getInt(ranura * TAMANO_RANURA) == OCUPADA) {
+            ranura = (ranura + 1) & mascara;
+        }
+        if (ranuras.getInt(ranura * TAMANO_RANURA) == BORRADA) {
+            borradas--;
+        }
+        escribir(ranuras, ranura, clave, valor);
+        ocupadas++;
+    }
+
+    void borrar(int ranura) {
+        ranuras.putInt(ranura * TAMANO_RANURA, BORRADA);
+        ocupadas--;
+        borradas++;
+    }
+
+    boolean ocupada(int ranura) {
+        return ranuras.getInt(ranura * TAMANO_RANURA) == OCUPADA;
+    }
+
+    int valor(int ranura) {
+        return ranuras.getInt(ranura * TAMANO_RANURA + 8);
+    }
+
+    void fijarValor(int ranura, int valor) {
+        ranuras.putInt(ranura * TAMANO_RANURA + 8, valor);
+    }
+
+    int capacidad() {
+        return mascara + 1;
+    }
+
+    int tamano() {
+        return ocupadas;
+    }
+
+    long bytes() {
+        return (long) capacidad() * TAMANO_RANURA;
+    }
+
+    /**
+     * Duplica la capacidad si más de la mitad de las ranuras están ocupadas; si no,
+     * solo limpia las ranuras borradas.
+     */
+    private void redimensionar() {
+        ByteBuffer anteriores = ranuras;
+        int capacidadAnterior = capacidad();
+        crear((ocupadas + 1) * 2 > capacidadAnterior ? capacidadAnterior << 1 : capacidadAnterior);
+        for (int ranura = 0; ranura < capacidadAnterior; ranura++) {
+            int base = ranura * TAMANO_RANURA;
+            if (anteriores.getInt(base) == OCUPADA) {
+                int clave = anteriores.getInt(base + 4);
+                int destino = mezclar(clave) & mascara;
+                while (ranuras.getInt(destino * TAMANO_RANURA) == OCUPADA) {
+                    destino = (destino + 1) & mascara;
+                }
+                escribir(ranuras, destino, clave, anteriores.getInt(base + 8));
+                ocupadas++;
+            }
+        }
+    }
+
+    private void crear(int capacidad) {
+        ranuras = ByteBuffer.allocateDirect(capacidad * TAMANO_RANURA);
+        mascara = capacidad - 1;
+        ocupadas = 0;
+        borradas = 0;
+    }
+
+    private static void escribir(ByteBuffer destino, int ranura, int clave, int valor) {
+        int base = ranura * TAMANO_RANURA;
+        destino.putInt(base, OCUPADA);
+        destino.putInt(base + 4, clave);
+        destino.putInt(base + 8, valor);
+    }
+
+    /** Mezcla final de MurmurHash3, para repartir claves consecutivas. */
+    private static int mezclar(int clave) {
+        int h = clave;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -2,6 +2,8 @@ package com.tata.cuenta_movimiento.dto;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
+
 /**
  * DTO para recibir la estructura especial de movimiento desde el frontend.
  */
@@ -9,7 +11,7 @@ import lombok.Data;
 public class MovimientoOperacionDTO {
     private String numeroCuenta;
     private String tipo;
-    private Double saldoInicial;
+    private BigDecimal saldoInicial;
     private Boolean estado;
     private String movimiento;
 } 
\ No newline at end of file
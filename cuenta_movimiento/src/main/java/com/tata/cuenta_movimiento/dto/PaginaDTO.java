@@ -0,0 +1,32 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados con paginación por cursor (keyset).
+ * 
+ * <p>{@code siguienteCursor} es un valor opaco que se envía en el parámetro
+ * {@code cursor} para obtener la página siguiente; es {@code null} en la última
+ * página.</p>
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    
+    private List<T> elementos;
+    private int tamano;
+    private String siguienteCursor;
+    
+    public boolean isHayMas() {
+        return siguienteCursor != null;
+    }
+}
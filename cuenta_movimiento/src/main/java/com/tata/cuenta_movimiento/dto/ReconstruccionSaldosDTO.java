@@ -0,0 +1,29 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de la última reconstrucción de los saldos diarios.
+ *
+ * <p>{@code estado} es {@code EN_PROCESO}, {@code COMPLETADO} o {@code FALLIDO};
+ * {@code cuentasProcesadas} avanza hasta {@code cuentasTotales} mientras se ejecuta.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconstruccionSaldosDTO {
+    private String estado;
+    private Integer cuentasTotales;
+    private Integer cuentasProcesadas;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFinalizacion;
+    private String error;
+}
@@ -0,0 +1,37 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Estado de un trabajo asíncrono de generación del reporte de movimientos.
+ *
+ * <p>{@code estado} es {@code PENDIENTE}, {@code EN_PROCESO}, {@code COMPLETADO} o
+ * {@code FALLIDO}. {@code filas} y {@code tamanoBytes} se informan al completar; el
+ * archivo se puede descargar hasta {@code fechaExpiracion}.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteJobDTO {
+    private String id;
+    private String estado;
+    private Integer clienteId;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+    private String formato;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaFinalizacion;
+    private LocalDateTime fechaExpiracion;
+    private Long filas;
+    private Long tamanoBytes;
+    private String error;
+}
@@ -0,0 +1,37 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumen de una carga masiva de movimientos con el resultado de cada fila.
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoCargaDTO {
+    
+    private long totalFilas;
+    private long aceptadas;
+    private long rechazadas;
+    private long duracionMs;
+    private List<ResultadoFilaCargaDTO> filas = new ArrayList<>();
+    
+    public void agregar(ResultadoFilaCargaDTO fila) {
+        filas.add(fila);
+        totalFilas++;
+        if (fila.isExito()) {
+            aceptadas++;
+        } else {
+            rechazadas++;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de una fila de la carga masiva de movimientos.
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoFilaCargaDTO {
+    
+    /** Número de línea en el archivo recibido (empezando en 1). */
+    private long fila;
+    private boolean exito;
+    private Long movimientoId;
+    private Long cuentaId;
+    private BigDecimal saldo;
+    private String error;
+    
+    public static ResultadoFilaCargaDTO exito(long fila, MovimientoDTO movimiento) {
+        return new ResultadoFilaCargaDTO(fila, true, movimiento.getId(), movimiento.getCuentaId(),
+                movimiento.getSaldo(), null);
+    }
+    
+    public static ResultadoFilaCargaDTO error(long fila, Long cuentaId, String error) {
+        return new ResultadoFilaCargaDTO(fila, false, null, cuentaId, null, error);
+    }
+}
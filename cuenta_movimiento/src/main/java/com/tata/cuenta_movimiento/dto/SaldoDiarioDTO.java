@@ -0,0 +1,29 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Saldo de una cuenta en un día: apertura, cierre y totales de los movimientos
+ * del día. Los débitos y créditos se expresan en valor absoluto.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoDiarioDTO {
+    private Long cuentaId;
+    private LocalDate fecha;
+    private BigDecimal saldoApertura;
+    private BigDecimal saldoCierre;
+    private BigDecimal totalDebitos;
+    private BigDecimal totalCreditos;
+    private Integer cantidadMovimientos;
+}
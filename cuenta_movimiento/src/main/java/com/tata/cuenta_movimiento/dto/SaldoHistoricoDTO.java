@@ -0,0 +1,29 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de una cuenta en un instante, tomado del último movimiento registrado hasta
+ * ese instante. Si no hay movimientos anteriores, {@code movimientoId} es nulo y el
+ * saldo es el previo al primer movimiento de la cuenta (o el actual, si no tiene
+ * ninguno). En las consultas por lote, {@code saldo} es nulo si la cuenta no existe.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoHistoricoDTO {
+    private Long cuentaId;
+    private LocalDateTime instante;
+    private BigDecimal saldo;
+    private Long movimientoId;
+    private LocalDateTime fechaMovimiento;
+}
@@ -0,0 +1,30 @@
+package com.tata.cuenta_movimiento.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para consultar saldos históricos por lote: se obtiene el saldo de cada cuenta
+ * en cada instante indicado.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoHistoricoLoteDTO {
+
+    @NotEmpty(message = "Debe indicar al menos una cuenta")
+    private List<@NotNull(message = "El ID de cuenta no puede ser nulo") Long> cuentaIds;
+
+    @NotEmpty(message = "Debe indicar al menos un instante")
+    private List<@NotNull(message = "El instante no puede ser nulo") LocalDateTime> instantes;
+}
@@ -0,0 +1,34 @@
+package com.tata.cuenta_movimiento.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para solicitar una transferencia entre dos cuentas.
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferenciaDTO {
+    
+    @NotNull(message = "La cuenta de origen es obligatoria")
+    private Long cuentaOrigenId;
+    
+    @NotNull(message = "La cuenta de destino es obligatoria")
+    private Long cuentaDestinoId;
+    
+    @NotNull(message = "El valor es obligatorio")
+    @DecimalMin(value = "0.01", inclusive = true, message = "El valor debe ser mayor a 0")
+    private BigDecimal valor;
+    
+    @Size(max = 200, message = "La descripción no puede exceder 200 caracteres")
+    private String descripcion;
+}
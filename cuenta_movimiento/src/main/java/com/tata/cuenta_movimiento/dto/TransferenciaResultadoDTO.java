@@ -0,0 +1,22 @@
+package com.tata.cuenta_movimiento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una transferencia: el débito en la cuenta de origen y el crédito
+ * en la cuenta de destino.
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferenciaResultadoDTO {
+    
+    private MovimientoDTO debito;
+    private MovimientoDTO credito;
+}
@@ -1,6 +1,7 @@
 package com.tata.cuenta_movimiento.exception;
 
 import com.tata.cuenta_movimiento.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,6 +12,7 @@ import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Manejador global de excepciones para el microservicio.
@@ -41,6 +43,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
     
+    @ExceptionHandler(ResourceNotReadyException.class)
+    public ResponseEntity<ApiResponse<String>> handleResourceNotReadyException(
+            ResourceNotReadyException ex, WebRequest request) {
+        
+        ApiResponse<String> response = ApiResponse.error(ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getReintentarEn().toSeconds())))
+                .body(response);
+    }
+    
+    @ExceptionHandler(ResourceFailedException.class)
+    public ResponseEntity<ApiResponse<String>> handleResourceFailedException(
+            ResourceFailedException ex, WebRequest request) {
+        
+        ApiResponse<String> response = ApiResponse.error(ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(response, HttpStatus.GONE);
+    }
+    
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<ApiResponse<String>> handleInsufficientFundsException(
             InsufficientFundsException ex, WebRequest request) {
@@ -49,6 +69,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<String>> handleIllegalArgumentException(
+            IllegalArgumentException ex, WebRequest request) {
+        
+        ApiResponse<String> response = ApiResponse.error(ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+    
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponse<String>> handleRejectedExecutionException(
+            RejectedExecutionException ex, WebRequest request) {
+        
+        ApiResponse<String> response = ApiResponse.error(ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
             MethodArgumentNotValidException ex, WebRequest request) {
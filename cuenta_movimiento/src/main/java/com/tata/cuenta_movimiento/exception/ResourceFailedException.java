@@ -0,0 +1,21 @@
+package com.tata.cuenta_movimiento.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando se solicita un recurso cuya generación falló y que no
+ * estará disponible (por ejemplo, el archivo de un reporte fallido). El cliente
+ * debe solicitarlo de nuevo en lugar de seguir consultando.
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class ResourceFailedException extends RuntimeException {
+    
+    public ResourceFailedException(String message) {
+        super(message);
+    }
+}
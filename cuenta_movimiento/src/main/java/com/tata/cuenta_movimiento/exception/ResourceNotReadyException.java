@@ -0,0 +1,31 @@
+package com.tata.cuenta_movimiento.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando se solicita un recurso que existe pero todavía no está
+ * disponible (por ejemplo, el archivo de un reporte que se sigue generando).
+ * {@link #getReintentarEn()} indica cuándo conviene volver a consultar y se envía
+ * en la cabecera {@code Retry-After}.
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ResourceNotReadyException extends RuntimeException {
+    
+    private final Duration reintentarEn;
+    
+    public ResourceNotReadyException(String message, Duration reintentarEn) {
+        super(message);
+        this.reintentarEn = reintentarEn;
+    }
+    
+    public Duration getReintentarEn() {
+        return reintentarEn;
+    }
+}
@@ -0,0 +1,279 @@
+package com.tata.cuenta_movimiento.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga inicial del directorio de clientes desde el tópico compactado
+ * {@value #TOPIC}.
+ *
+ * <p>Al arrancar, si el directorio lo requiere (Redis sin la marca de carga
+ * completa, o el directorio fuera del heap, que empieza vacío), se leen todas las particiones del tópico desde el
+ * inicio hasta su high-water mark, en paralelo ({@code clientes.bootstrap.hilos}
+ * consumidores sin grupo, cada uno con su parte de las particiones), y cada poll
+ * se aplica al directorio en bloque con {@link ClienteKafkaConsumer#aplicarEventos}.
+ * Al terminar se marca la carga como completa y se arranca el listener en línea, que descarta
+ * los offsets ya cargados.</p>
+ *
+ * <p>Mientras dura la carga el indicador de salud está en {@code OUT_OF_SERVICE},
+ * por lo que la sonda de readiness (grupo {@code readiness}) no deja pasar tráfico.
+ * El avance se publica en {@code clientes.bootstrap.registros},
+ * {@code clientes.bootstrap.pendientes} (offsets por leer) y
+ * {@code clientes.bootstrap.progreso} (0 a 1).</p>
+ *
+ * <p>Si {@code spring.kafka.listener.auto-startup} es {@code false}, no se arranca
+ * nada.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Component
+public class ClienteDirectorioBootstrap implements HealthIndicator {
+
+    static final String TOPIC = "clientes-topic";
+    private static final Duration ESPERA_POLL = Duration.ofSeconds(1);
+
+    enum Estado { PENDIENTE, CARGANDO, COMPLETO, OMITIDO }
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final ClienteKafkaConsumer clienteKafkaConsumer;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final boolean listenersAutoStartup;
+    private final boolean habilitado;
+    private final int hilos;
+    private final Duration reintento;
+
+    private volatile Estado estado = Estado.PENDIENTE;
+    private volatile boolean activo = true;
+    private volatile Map<TopicPartition, Long> finales = Map.of();
+    private final Map<TopicPartition, Long> posiciones = new ConcurrentHashMap<>();
+    private final AtomicLong registrosCargados = new AtomicLong();
+    private final AtomicLong offsetsTotales = new AtomicLong();
+    private ExecutorService ejecutor;
+
+    public ClienteDirectorioBootstrap(ConsumerFactory<Object, Object> consumerFactory,
+                                      ClienteKafkaConsumer clienteKafkaConsumer,
+                                      KafkaListenerEndpointRegistry listenerRegistry,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${spring.kafka.listener.auto-startup:true}") boolean listenersAutoStartup,
+                                      @Value("${clientes.bootstrap.habilitado:true}") boolean habilitado,
+                                      @Value("${clientes.bootstrap.hilos:3}") int hilos,
+                                      @Value("${clientes.bootstrap.reintento:10s}") Duration reintento) {
+        this.consumerFactory = consumerFactory;
+        this.clienteKafkaConsumer = clienteKafkaConsumer;
+        this.listenerRegistry = listenerRegistry;
+        this.listenersAutoStartup = listenersAutoStartup;
+        this.habilitado = habilitado;
+        this.hilos = Math.max(1, hilos);
+        this.reintento = reintento;
+        Gauge.builder("clientes.bootstrap.registros", registrosCargados, AtomicLong::get)
+                .description("Eventos de clientes cargados durante el arranque")
+                .register(meterRegistry);
+        Gauge.builder("clientes.bootstrap.pendientes", this, ClienteDirectorioBootstrap::offsetsPendientes)
+                .description("Offsets del tópico de clientes pendientes de cargar")
+                .register(meterRegistry);
+        Gauge.builder("clientes.bootstrap.progreso", this, ClienteDirectorioBootstrap::progreso)
+                .description("Avance de la carga inicial del directorio de clientes (0 a 1)")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!listenersAutoStartup) {
+            estado = Estado.OMITIDO;
+            return;
+        }
+        if (!habilitado || !clienteKafkaConsumer.requiereCargaInicial()) {
+            finalizar();
+            return;
+        }
+        ejecutor = Executors.newFixedThreadPool(hilos + 1, r -> {
+            Thread hilo = new Thread(r, "clientes-bootstrap");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ejecutor.submit(this::cargarConReintentos);
+    }
+
+    @PreDestroy
+    void detener() {
+        activo = false;
+        if (ejecutor != null) {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private void cargarConReintentos() {
+        while (activo) {
+            try {
+                cargar();
+                clienteKafkaConsumer.marcarCargaCompleta();
+                finalizar();
+                return;
+            } catch (Exception e) {
+                log.warn("Falló la carga inicial del directorio de clientes, se reintentará en {}: {}",
+                        reintento, e.getMessage());
+                try {
+                    Thread.sleep(reintento.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lee todas las particiones hasta el high-water mark tomado al inicio.
+     */
+    void cargar() throws Exception {
+        estado = Estado.CARGANDO;
+        long inicio = System.currentTimeMillis();
+        List<TopicPartition> particiones = new ArrayList<>();
+        try (Consumer<Object, Object> consumidor = crearConsumidor("meta")) {
+            for (PartitionInfo info : consumidor.partitionsFor(TOPIC)) {
+                particiones.add(new TopicPartition(TOPIC, info.partition()));
+            }
+            Map<TopicPartition, Long> iniciales = consumidor.beginningOffsets(particiones);
+            finales = Map.copyOf(consumidor.endOffsets(particiones));
+            posiciones.clear();
+            posiciones.putAll(iniciales);
+        }
+        long total = 0;
+        for (TopicPartition particion : particiones) {
+            total += finales.get(particion) - posiciones.get(particion);
+        }
+        offsetsTotales.set(total);
+        registrosCargados.set(0);
+
+        List<List<TopicPartition>> grupos = new ArrayList<>();
+        for (int i = 0; i < Math.min(hilos, particiones.size()); i++) {
+            grupos.add(new ArrayList<>());
+        }
+        for (int i = 0; i < particiones.size(); i++) {
+            grupos.get(i % grupos.size()).add(particiones.get(i));
+        }
+        List<Future<?>> cargas = new ArrayList<>();
+        for (int i = 0; i < grupos.size(); i++) {
+            List<TopicPartition> grupo = grupos.get(i);
+            String sufijo = String.valueOf(i);
+            cargas.add(ejecutor.submit(() -> {
+                cargarParticiones(grupo, sufijo);
+                return null;
+            }));
+        }
+        for (Future<?> carga : cargas) {
+            carga.get();
+        }
+        log.info("Directorio de clientes cargado desde {}: {} eventos de {} particiones en {} ms",
+                TOPIC, registrosCargados.get(), particiones.size(), System.currentTimeMillis() - inicio);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cargarParticiones(List<TopicPartition> grupo, String sufijo) {
+        try (Consumer<Object, Object> consumidor = crearConsumidor(sufijo)) {
+            consumidor.assign(grupo);
+            consumidor.seekToBeginning(grupo);
+            List<TopicPartition> restantes = new ArrayList<>();
+            for (TopicPartition particion : grupo) {
+                if (posiciones.get(particion) < finales.get(particion)) {
+                    restantes.add(particion);
+                }
+            }
+            while (activo && !restantes.isEmpty()) {
+                ConsumerRecords<Object, Object> registros = consumidor.poll(ESPERA_POLL);
+                List<ConsumerRecord<String, String>> lote = new ArrayList<>(registros.count());
+                for (ConsumerRecord<Object, Object> registro : registros) {
+                    TopicPartition particion = new TopicPartition(registro.topic(), registro.partition());
+                    if (registro.offset() < finales.get(particion)) {
+                        lote.add((ConsumerRecord<String, String>) (ConsumerRecord<?, ?>) registro);
+                    }
+                }
+                clienteKafkaConsumer.aplicarEventos(ClienteKafkaConsumer.consolidar(lote));
+                registrosCargados.addAndGet(lote.size());
+                restantes.removeIf(particion -> {
+                    long posicion = consumidor.position(particion);
+                    posiciones.put(particion, posicion);
+                    return posicion >= finales.get(particion);
+                });
+            }
+        }
+    }
+
+    private Consumer<Object, Object> crearConsumidor(String sufijo) {
+        Properties propiedades = new Properties();
+        propiedades.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        propiedades.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 2000);
+        return consumerFactory.createConsumer(null, "clientes-bootstrap-", sufijo, propiedades);
+    }
+
+    private void finalizar() {
+        clienteKafkaConsumer.registrarCargaInicial(finales);
+        MessageListenerContainer contenedor = listenerRegistry.getListenerContainer(ClienteKafkaConsumer.LISTENER_ID);
+        if (contenedor != null && !contenedor.isRunning()) {
+            contenedor.start();
+        }
+        estado = Estado.COMPLETO;
+    }
+
+    Estado getEstado() {
+        return estado;
+    }
+
+    private double offsetsPendientes() {
+        long pendientes = 0;
+        for (Map.Entry<TopicPartition, Long> fin : finales.entrySet()) {
+            pendientes += Math.max(0, fin.getValue() - posiciones.getOrDefault(fin.getKey(), 0L));
+        }
+        return pendientes;
+    }
+
+    private double progreso() {
+        if (estado == Estado.COMPLETO || estado == Estado.OMITIDO) {
+            return 1;
+        }
+        long total = offsetsTotales.get();
+        return total == 0 ? 0 : 1 - offsetsPendientes() / total;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder salud = estado == Estado.COMPLETO || estado == Estado.OMITIDO
+                ? Health.up() : Health.outOfService();
+        return salud.withDetail("estado", estado)
+                .withDetail("registrosCargados", registrosCargados.get())
+                .withDetail("offsetsPendientes", (long) offsetsPendientes())
+                .withDetail("progreso", progreso())
+                .build();
+    }
+}
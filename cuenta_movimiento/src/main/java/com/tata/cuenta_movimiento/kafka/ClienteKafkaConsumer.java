@@ -1,45 +1,181 @@
 package com.tata.cuenta_movimiento.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tata.cuenta_movimiento.config.KafkaConsumerConfig;
+import com.tata.cuenta_movimiento.directorio.ClienteDirectorio;
 import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Consumidor de eventos de clientes publicados por el microservicio cliente_persona.
+ *
+ * <p>Mantiene el {@link ClienteDirectorio} configurado ({@code clientes.directorio.tipo}:
+ * Redis o memoria fuera del heap) y es el punto de consulta de clientes para el
+ * resto del servicio.</p>
+ *
+ * <p>Los eventos se consumen en lotes (un poll completo por llamada) y cada lote se
+ * aplica al directorio en bloque; el offset se confirma manualmente cuando el
+ * directorio ha terminado de escribir. La concurrencia del listener se configura con
+ * {@code clientes.kafka.concurrencia} (como máximo, una hebra por partición). El
+ * listener no arranca solo: lo inicia {@link ClienteDirectorioBootstrap} tras la
+ * carga inicial del directorio, y al recibir sus particiones salta los offsets que
+ * esa carga ya aplicó.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
 @Component
-public class ClienteKafkaConsumer {
-    
-    private static final String CLIENTES_KEY_PREFIX = "cliente:";
-    
+public class ClienteKafkaConsumer implements ConsumerSeekAware {
+
+    /** Id del contenedor del listener; lo arranca {@link ClienteDirectorioBootstrap}. */
+    public static final String LISTENER_ID = "clientesDirectorio";
+
+    /** Lector compartido (thread-safe) que tolera campos nuevos en los eventos. */
+    private static final ObjectReader LECTOR_CLIENTE = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(ClienteKafkaDTO.class);
+
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
-
-    @KafkaListener(topics = "clientes-topic", groupId = "grupo-cuentas")
-    public void escucharCliente(String mensaje) {
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            ClienteKafkaDTO cliente = mapper.readValue(mensaje, ClienteKafkaDTO.class);
-            // Almacenar en Redis con clave "cliente:{id}"
-            String key = CLIENTES_KEY_PREFIX + cliente.getId();
-            redisTemplate.opsForValue().set(key, cliente);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+    private ClienteDirectorio clienteDirectorio;
+
+    private volatile Map<TopicPartition, Long> cargaInicial = Map.of();
+
+    /**
+     * Aplica en bloque cada lote de eventos recibido del tópico de clientes.
+     *
+     * <p>El lote se consolida (solo cuenta el último evento de cada cliente) y se
+     * aplica al directorio con {@link #aplicarEventos}. El offset se confirma
+     * manualmente después de que el directorio termina; si la escritura falla, el
+     * lote se vuelve a entregar. Aplicar un lote repetido es idempotente.</p>
+     *
+     * @param registros Eventos del poll; un valor nulo (tombstone) indica que el
+     *                  cliente con esa clave fue eliminado
+     * @param acknowledgment Confirmación manual del offset
+     */
+    @KafkaListener(id = LISTENER_ID, topics = "clientes-topic", groupId = "#{__listener.grupoConsumidor}",
+                   containerFactory = KafkaConsumerConfig.FABRICA_LOTES_CLIENTES, autoStartup = "false")
+    public void escucharClientes(List<ConsumerRecord<String, String>> registros, Acknowledgment acknowledgment) {
+        aplicarEventos(consolidar(descartarCargados(registros)));
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Registra hasta qué offset de cada partición llegó la carga inicial, para que el
+     * listener no vuelva a aplicar (y pise con estados antiguos) lo ya cargado.
+     *
+     * @param finales Offset final (exclusivo) cargado por partición
+     */
+    public void registrarCargaInicial(Map<TopicPartition, Long> finales) {
+        this.cargaInicial = Map.copyOf(finales);
+    }
+
+    /**
+     * Al recibir particiones, avanza hasta el final de la carga inicial las que
+     * todavía estén por detrás, para no volver a leer lo ya aplicado. Nunca retrocede.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> asignaciones, ConsumerSeekCallback callback) {
+        Map<TopicPartition, Long> cargados = cargaInicial;
+        asignaciones.forEach((particion, posicion) -> {
+            Long fin = cargados.get(particion);
+            if (fin != null && posicion < fin) {
+                callback.seek(particion.topic(), particion.partition(), fin);
+            }
+        });
+    }
+
+    public String getGrupoConsumidor() {
+        return clienteDirectorio.grupoConsumidor();
+    }
+
+    private List<ConsumerRecord<String, String>> descartarCargados(List<ConsumerRecord<String, String>> registros) {
+        Map<TopicPartition, Long> cargados = cargaInicial;
+        if (cargados.isEmpty()) {
+            return registros;
         }
+        List<ConsumerRecord<String, String>> nuevos = new ArrayList<>(registros.size());
+        for (ConsumerRecord<String, String> registro : registros) {
+            Long fin = cargados.get(new TopicPartition(registro.topic(), registro.partition()));
+            if (fin == null || registro.offset() >= fin) {
+                nuevos.add(registro);
+            }
+        }
+        return nuevos;
+    }
+
+    /**
+     * Deserializa los eventos con el lector compartido y se queda con el último de
+     * cada cliente. Los mensajes inválidos se registran en el log y se descartan.
+     *
+     * @param registros Eventos en orden de partición
+     * @return Mapa id → cliente, con valor nulo para los clientes eliminados
+     */
+    static Map<Integer, ClienteKafkaDTO> consolidar(List<ConsumerRecord<String, String>> registros) {
+        Map<Integer, ClienteKafkaDTO> eventos = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> registro : registros) {
+            try {
+                if (registro.value() == null) {
+                    if (registro.key() != null) {
+                        eventos.put(Integer.valueOf(registro.key()), null);
+                    }
+                    continue;
+                }
+                ClienteKafkaDTO cliente = LECTOR_CLIENTE.readValue(registro.value());
+                if (cliente.getId() != null) {
+                    eventos.put(cliente.getId(), cliente);
+                }
+            } catch (IOException | NumberFormatException e) {
+                log.warn("Evento de cliente inválido en {}-{}@{}: {}", registro.topic(), registro.partition(),
+                        registro.offset(), e.getMessage());
+            }
+        }
+        return eventos;
+    }
+
+    /**
+     * Aplica un conjunto de altas, cambios y eliminaciones al directorio.
+     *
+     * @param eventos Mapa id → cliente, con valor nulo para los clientes eliminados
+     */
+    public void aplicarEventos(Map<Integer, ClienteKafkaDTO> eventos) {
+        clienteDirectorio.aplicarEventos(eventos);
+    }
+
+    public boolean requiereCargaInicial() {
+        return clienteDirectorio.requiereCargaInicial();
+    }
+
+    public void marcarCargaCompleta() {
+        clienteDirectorio.marcarCargaCompleta();
     }
 
     public boolean existeCliente(Integer id) {
-        String key = CLIENTES_KEY_PREFIX + id;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        return obtenerCliente(id) != null;
     }
 
     public ClienteKafkaDTO obtenerCliente(Integer id) {
-        String key = CLIENTES_KEY_PREFIX + id;
-        return (ClienteKafkaDTO) redisTemplate.opsForValue().get(key);
+        return clienteDirectorio.obtenerCliente(id);
     }
 
     public String obtenerNombreCliente(Integer id) {
@@ -47,18 +183,32 @@ public class ClienteKafkaConsumer {
         return cliente != null ? cliente.getNombre() : null;
     }
 
-    public Integer obtenerIdClientePorNombre(String nombre) {
-        // Buscar en Redis por nombre del cliente
-        Set<String> keys = redisTemplate.keys(CLIENTES_KEY_PREFIX + "*");
-        if (keys != null) {
-            for (String key : keys) {
-                ClienteKafkaDTO cliente = (ClienteKafkaDTO) redisTemplate.opsForValue().get(key);
-                if (cliente != null && nombre.equals(cliente.getNombre())) {
-                    return cliente.getId();
-                }
+    /**
+     * Resuelve los nombres de varios clientes a la vez, con una sola consulta al
+     * directorio, por lo que el coste depende del número de clientes distintos y no
+     * del número de filas a convertir.
+     *
+     * @param ids IDs de clientes (se ignoran repetidos y nulos)
+     * @return Mapa id → nombre con los clientes encontrados
+     */
+    public Map<Integer, String> obtenerNombresClientes(Collection<Integer> ids) {
+        Set<Integer> distintos = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id != null) {
+                distintos.add(id);
             }
         }
-        return null;
+        if (distintos.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, String> nombres = new HashMap<>();
+        clienteDirectorio.obtenerClientes(distintos)
+                .forEach((id, cliente) -> nombres.put(id, cliente.getNombre()));
+        return nombres;
+    }
+
+    public Integer obtenerIdClientePorNombre(String nombre) {
+        return clienteDirectorio.obtenerIdPorNombre(nombre);
     }
 
     public boolean existeClientePorNombre(String nombre) {
@@ -66,15 +216,6 @@ public class ClienteKafkaConsumer {
     }
 
     public Integer obtenerIdClientePorIdentificacion(String identificacion) {
-        Set<String> keys = redisTemplate.keys(CLIENTES_KEY_PREFIX + "*");
-        if (keys != null) {
-            for (String key : keys) {
-                ClienteKafkaDTO cliente = (ClienteKafkaDTO) redisTemplate.opsForValue().get(key);
-                if (cliente != null && identificacion.equals(cliente.getIdentificacion())) {
-                    return cliente.getId();
-                }
-            }
-        }
-        return null;
+        return clienteDirectorio.obtenerIdPorIdentificacion(identificacion);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+package com.tata.cuenta_movimiento.kafka;
+
+import com.tata.cuenta_movimiento.repository.OutboxMovimientoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Relay del outbox de movimientos hacia el tópico {@value #TOPIC}.
+ *
+ * <p>Cada ejecución toma el bloqueo del relay solo para reclamar, en orden de id, un
+ * lote de eventos pendientes ({@code movimientos.outbox.duracion-reclamo}); lo libera
+ * antes de enviar, de modo que la espera a Kafka no retiene el bloqueo ni una
+ * conexión a la base de datos. Los eventos se envían con el id de la cuenta como clave
+ * (misma partición, y por tanto mismo orden, para todos los movimientos de una cuenta)
+ * y al final se eliminan, en una transacción corta, solo los que Kafka confirmó.</p>
+ *
+ * <p>Las confirmaciones se revisan por cuenta en orden de id: si un envío falla, ese
+ * evento y los siguientes de la misma cuenta se liberan y se reintentan en la próxima
+ * ejecución, mientras que los de las demás cuentas se eliminan normalmente. Otro relay
+ * no toma eventos de una cuenta que tenga uno anterior reclamado. La entrega es al
+ * menos una vez, por lo que los consumidores deben descartar duplicados por id de
+ * movimiento.</p>
+ *
+ * <p>La compresión, el agrupamiento y la idempotencia del productor se configuran en
+ * {@code spring.kafka.producer.*}.</p>
+ *
+ * <p>Métricas: {@code movimientos.outbox.lag} (antigüedad del evento pendiente más
+ * antiguo), {@code movimientos.outbox.lote} (eventos por lote publicado) y
+ * {@code movimientos.outbox.publicados}.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Component
+public class MovimientoOutboxRelay {
+
+    public static final String TOPIC = "movimientos-topic";
+
+    private final OutboxMovimientoRepository outboxMovimientoRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanoLote;
+    private final Duration timeoutEnvio;
+    private final Duration duracionReclamo;
+    private final DistributionSummary tamanoLotePublicado;
+    private final Counter publicados;
+    /** Fecha de creación del evento pendiente más antiguo visto, o null si no hay pendientes. */
+    private final AtomicReference<LocalDateTime> pendienteMasAntiguo = new AtomicReference<>();
+
+    public MovimientoOutboxRelay(OutboxMovimientoRepository outboxMovimientoRepository,
+                                 KafkaTemplate<String, String> kafkaTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${movimientos.outbox.relay.habilitado:true}") boolean habilitado,
+                                 @Value("${movimientos.outbox.tamano-lote:500}") int tamanoLote,
+                                 @Value("${movimientos.outbox.timeout-envio:30s}") Duration timeoutEnvio,
+                                 @Value("${movimientos.outbox.duracion-reclamo:5m}") Duration duracionReclamo) {
+        this.outboxMovimientoRepository = outboxMovimientoRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.tamanoLote = tamanoLote;
+        this.timeoutEnvio = timeoutEnvio;
+        this.duracionReclamo = duracionReclamo;
+        this.tamanoLotePublicado = DistributionSummary.builder("movimientos.outbox.lote")
+                .description("Eventos de movimientos publicados por lote")
+                .register(meterRegistry);
+        this.publicados = Counter.builder("movimientos.outbox.publicados")
+                .description("Eventos de movimientos publicados en Kafka")
+                .register(meterRegistry);
+        TimeGauge.builder("movimientos.outbox.lag", pendienteMasAntiguo, TimeUnit.MILLISECONDS, this::lagMs)
+                .description("Antigüedad del evento de movimiento pendiente más antiguo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publica los eventos pendientes en lotes hasta vaciar el outbox o encontrar un
+     * error de envío.
+     */
+    @Scheduled(initialDelayString = "${movimientos.outbox.intervalo:500ms}",
+               fixedDelayString = "${movimientos.outbox.intervalo:500ms}")
+    public void publicarPendientes() {
+        if (!habilitado) {
+            return;
+        }
+        int publicadosLote;
+        do {
+            publicadosLote = publicarLote();
+        } while (publicadosLote == tamanoLote);
+    }
+
+    /**
+     * Reclama, publica y elimina un lote de eventos.
+     *
+     * @return Número de eventos publicados, o 0 si hubo un error de envío
+     */
+    private int publicarLote() {
+        List<OutboxMovimientoRepository.Evento> eventos = transactionTemplate.execute(estado -> reclamarLote());
+        if (eventos == null || eventos.isEmpty()) {
+            pendienteMasAntiguo.set(null);
+            return 0;
+        }
+        pendienteMasAntiguo.set(eventos.get(0).fechaCreacion());
+        List<CompletableFuture<SendResult<String, String>>> envios = new ArrayList<>(eventos.size());
+        for (OutboxMovimientoRepository.Evento evento : eventos) {
+            envios.add(kafkaTemplate.send(TOPIC, String.valueOf(evento.cuentaId()), evento.payload()));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> confirmados = new ArrayList<>(eventos.size());
+        List<OutboxMovimientoRepository.Evento> pendientes = new ArrayList<>();
+        Set<Long> cuentasConError = new HashSet<>();
+        long limite = System.nanoTime() + timeoutEnvio.toNanos();
+        for (int i = 0; i < envios.size(); i++) {
+            OutboxMovimientoRepository.Evento evento = eventos.get(i);
+            if (cuentasConError.contains(evento.cuentaId())) {
+                // Un evento anterior de la cuenta falló: este no se da por publicado
+                pendientes.add(evento);
+                continue;
+            }
+            try {
+                envios.get(i).get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                confirmados.add(evento.id());
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("No se pudo publicar el evento {} del outbox, se reintentará: {}",
+                        evento.id(), e.getMessage());
+                cuentasConError.add(evento.cuentaId());
+                pendientes.add(evento);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendientes.addAll(eventos.subList(i, eventos.size()));
+                break;
+            }
+        }
+
+        List<Long> liberados = pendientes.stream().map(OutboxMovimientoRepository.Evento::id).toList();
+        transactionTemplate.executeWithoutResult(estado -> {
+            outboxMovimientoRepository.eliminar(confirmados);
+            outboxMovimientoRepository.liberar(liberados);
+        });
+        if (!confirmados.isEmpty()) {
+            tamanoLotePublicado.record(confirmados.size());
+            publicados.increment(confirmados.size());
+        }
+        if (!pendientes.isEmpty()) {
+            pendienteMasAntiguo.set(pendientes.get(0).fechaCreacion());
+            return 0;
+        }
+        if (eventos.size() < tamanoLote) {
+            pendienteMasAntiguo.set(null);
+        }
+        return confirmados.size();
+    }
+
+    /**
+     * Reclama un lote de eventos bajo el bloqueo del relay, dentro de la transacción
+     * en curso.
+     *
+     * @return Eventos reclamados, en orden de id
+     */
+    private List<OutboxMovimientoRepository.Evento> reclamarLote() {
+        outboxMovimientoRepository.bloquearRelay();
+        LocalDateTime ahora = LocalDateTime.now();
+        List<OutboxMovimientoRepository.Evento> eventos = outboxMovimientoRepository.buscarDisponibles(tamanoLote, ahora);
+        outboxMovimientoRepository.reclamar(
+                eventos.stream().map(OutboxMovimientoRepository.Evento::id).toList(), ahora.plus(duracionReclamo));
+        return eventos;
+    }
+
+    private double lagMs(AtomicReference<LocalDateTime> referencia) {
+        LocalDateTime fecha = referencia.get();
+        return fecha == null ? 0 : Math.max(0, Duration.between(fecha, LocalDateTime.now()).toMillis());
+    }
+}
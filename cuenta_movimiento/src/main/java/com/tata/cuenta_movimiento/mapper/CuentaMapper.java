@@ -0,0 +1,42 @@
+package com.tata.cuenta_movimiento.mapper;
+
+import com.tata.cuenta_movimiento.dto.CuentaDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Conversión entre {@link Cuenta} y {@link CuentaDTO}.
+ *
+ * <p>La implementación la genera MapStruct al compilar, con llamadas directas a
+ * getters y setters (sin reflexión). Cualquier propiedad nueva del destino que no
+ * esté mapeada hace fallar la compilación.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CuentaMapper {
+
+    String CLIENTE_NO_ENCONTRADO = "Cliente no encontrado";
+
+    /**
+     * Convierte una cuenta; {@code Cuenta.clienteId} no se copia, en su lugar el
+     * campo {@code cliente} recibe el nombre del cliente.
+     *
+     * @param cuenta Entidad a convertir
+     * @param nombreCliente Nombre del cliente, o null si no está en el directorio
+     * @return DTO de la cuenta
+     */
+    @Mapping(target = "cliente", source = "nombreCliente", defaultValue = CLIENTE_NO_ENCONTRADO)
+    CuentaDTO toDTO(Cuenta cuenta, String nombreCliente);
+
+    /**
+     * Convierte un DTO en una cuenta nueva; el cliente se asigna aparte.
+     */
+    @Mapping(target = "clienteId", ignore = true)
+    @Mapping(target = "movimientos", ignore = true)
+    Cuenta toEntity(CuentaDTO dto);
+}
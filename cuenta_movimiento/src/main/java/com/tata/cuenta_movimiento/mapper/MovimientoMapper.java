@@ -0,0 +1,32 @@
+package com.tata.cuenta_movimiento.mapper;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Conversión entre {@link Movimiento} y {@link MovimientoDTO}, generada por
+ * MapStruct al compilar.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MovimientoMapper {
+
+    /**
+     * Convierte un movimiento; {@code cuentaId} es el id de su cuenta, o null si no
+     * tiene cuenta asignada.
+     */
+    @Mapping(target = "cuentaId", source = "cuenta.id")
+    MovimientoDTO toDTO(Movimiento movimiento);
+
+    /**
+     * Convierte un DTO en un movimiento nuevo; la cuenta se asigna aparte.
+     */
+    @Mapping(target = "cuenta", ignore = true)
+    Movimiento toEntity(MovimientoDTO dto);
+}
@@ -0,0 +1,149 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén de claves de idempotencia de movimientos (tabla {@code claves_idempotencia}).
+ *
+ * <p>Cada clave guarda la huella de la solicitud original y la respuesta devuelta
+ * en JSON. Las claves se escriben en la transacción del lote que contabiliza el
+ * movimiento, de modo que movimiento y clave se confirman o descartan juntos, y
+ * vencen tras {@code movimientos.idempotencia.ttl}.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Repository
+public class ClaveIdempotenciaRepository {
+
+    private static final String BUSCAR_VIGENTES =
+            "SELECT clave, huella, respuesta FROM claves_idempotencia " +
+            "WHERE clave IN (:claves) AND fecha_expiracion > :ahora";
+
+    private static final String INSERTAR_CLAVE =
+            "INSERT INTO claves_idempotencia (clave, huella, movimiento_id, respuesta, fecha_creacion, fecha_expiracion) " +
+            "VALUES (:clave, :huella, :movimientoId, :respuesta, :fechaCreacion, :fechaExpiracion)";
+
+    private static final String ELIMINAR_VENCIDAS =
+            "DELETE FROM claves_idempotencia WHERE fecha_expiracion <= :ahora";
+
+    private static final String ELIMINAR_VENCIDAS_DE_CLAVES =
+            "DELETE FROM claves_idempotencia WHERE clave IN (:claves) AND fecha_expiracion <= :ahora";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectReader lectorRespuesta;
+    private final ObjectWriter escritorRespuesta;
+    private final Duration ttl;
+
+    public ClaveIdempotenciaRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                       ObjectMapper objectMapper,
+                                       @Value("${movimientos.idempotencia.ttl:24h}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lectorRespuesta = objectMapper.readerFor(MovimientoDTO.class);
+        this.escritorRespuesta = objectMapper.writerFor(MovimientoDTO.class);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Clave registrada con la huella de la solicitud y la respuesta devuelta.
+     */
+    public record Registro(String clave, String huella, MovimientoDTO respuesta) {
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Busca en una sola consulta las claves indicadas que aún no han vencido.
+     *
+     * @param claves Claves a buscar
+     * @return Mapa clave → registro con las claves encontradas
+     */
+    public Map<String, Registro> buscarVigentes(Collection<String> claves) {
+        Map<String, Registro> registros = new HashMap<>();
+        if (claves.isEmpty()) {
+            return registros;
+        }
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("claves", claves)
+                .addValue("ahora", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.query(BUSCAR_VIGENTES, parametros, rs -> {
+            String clave = rs.getString("clave");
+            try {
+                registros.put(clave, new Registro(clave, rs.getString("huella"),
+                        lectorRespuesta.readValue(rs.getString("respuesta"))));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return registros;
+    }
+
+    /**
+     * Inserta las claves en un único lote JDBC, en la transacción en curso.
+     *
+     * <p>Una clave vencida que la purga aún no eliminó se puede reutilizar: su fila
+     * anterior se borra en la misma transacción antes de insertar la nueva, para no
+     * chocar con la clave primaria.</p>
+     *
+     * @param registros Claves nuevas con la respuesta del movimiento creado
+     */
+    public void registrar(List<Registro> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        List<String> claves = new ArrayList<>(registros.size());
+        SqlParameterSource[] lote = new SqlParameterSource[registros.size()];
+        for (int i = 0; i < registros.size(); i++) {
+            Registro registro = registros.get(i);
+            claves.add(registro.clave());
+            try {
+                lote[i] = new MapSqlParameterSource()
+                        .addValue("clave", registro.clave())
+                        .addValue("huella", registro.huella())
+                        .addValue("movimientoId", registro.respuesta().getId())
+                        .addValue("respuesta", escritorRespuesta.writeValueAsString(registro.respuesta()))
+                        .addValue("fechaCreacion", Timestamp.valueOf(ahora))
+                        .addValue("fechaExpiracion", Timestamp.valueOf(ahora.plus(ttl)));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        jdbcTemplate.update(ELIMINAR_VENCIDAS_DE_CLAVES, new MapSqlParameterSource()
+                .addValue("claves", claves)
+                .addValue("ahora", Timestamp.valueOf(ahora)));
+        jdbcTemplate.batchUpdate(INSERTAR_CLAVE, lote);
+    }
+
+    /**
+     * Elimina las claves vencidas.
+     *
+     * @return Número de claves eliminadas
+     */
+    public int eliminarVencidas() {
+        return jdbcTemplate.update(ELIMINAR_VENCIDAS,
+                new MapSqlParameterSource("ahora", Timestamp.valueOf(LocalDateTime.now())));
+    }
+}
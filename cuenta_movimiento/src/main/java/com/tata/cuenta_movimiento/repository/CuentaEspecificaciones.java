@@ -0,0 +1,35 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros y posición de keyset para la consulta paginada de cuentas.
+ * 
+ * <p>Las cuentas se recorren por id ascendente; cada página continúa después del
+ * último id devuelto.</p>
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public final class CuentaEspecificaciones {
+    
+    public static final Sort ORDEN = Sort.by(Sort.Order.asc("id"));
+    
+    private CuentaEspecificaciones() {
+    }
+    
+    public static Specification<Cuenta> deTipo(String tipoCuenta) {
+        return (root, query, cb) -> tipoCuenta == null ? null : cb.equal(root.get("tipoCuenta"), tipoCuenta);
+    }
+    
+    public static Specification<Cuenta> deCliente(Integer clienteId) {
+        return (root, query, cb) -> clienteId == null ? null : cb.equal(root.get("clienteId"), clienteId);
+    }
+    
+    public static Specification<Cuenta> despuesDe(Long id) {
+        return (root, query, cb) -> id == null ? null : cb.greaterThan(root.get("id"), id);
+    }
+}
@@ -1,9 +1,17 @@
 package com.tata.cuenta_movimiento.repository;
 
 import com.tata.cuenta_movimiento.entity.Cuenta;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +23,7 @@ import java.util.Optional;
  * @since 2025-06-25
  */
 @Repository
-public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
+public interface CuentaRepository extends JpaRepository<Cuenta, Long>, JpaSpecificationExecutor<Cuenta> {
     
     /**
      * Busca una cuenta por su número de cuenta.
@@ -57,4 +65,41 @@ public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
      * @return true si existe, false en caso contrario
      */
     boolean existsByNumeroCuentaAndIdNot(String numeroCuenta, Long id);
-} 
\ No newline at end of file
+    
+    /**
+     * Aplica un movimiento al saldo de la cuenta con una única sentencia condicional.
+     * 
+     * <p>La actualización solo se realiza si el saldo resultante no queda negativo.
+     * La fila queda bloqueada hasta el final de la transacción, por lo que dos
+     * retiros concurrentes sobre la misma cuenta no pueden superar el saldo.</p>
+     * 
+     * @param id ID de la cuenta
+     * @param delta Variación del saldo (positiva para créditos, negativa para débitos)
+     * @param fecha Fecha de actualización de la cuenta
+     * @return 1 si se aplicó el movimiento, 0 si la cuenta no existe o no hay fondos
+     */
+    @Modifying
+    @Query("UPDATE Cuenta c SET c.saldo = c.saldo + :delta, c.fechaActualizacion = :fecha " +
+           "WHERE c.id = :id AND c.saldo + :delta >= 0")
+    int aplicarMovimiento(@Param("id") Long id, @Param("delta") BigDecimal delta, @Param("fecha") LocalDateTime fecha);
+    
+    /**
+     * Obtiene únicamente el saldo de una cuenta.
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con el saldo actual
+     */
+    @Query("SELECT c.saldo FROM Cuenta c WHERE c.id = :id")
+    Optional<BigDecimal> findSaldoById(@Param("id") Long id);
+    
+    /**
+     * Obtiene una cuenta bloqueando su fila hasta el final de la transacción
+     * ({@code SELECT ... FOR UPDATE}).
+     * 
+     * @param id ID de la cuenta
+     * @return Optional con la cuenta bloqueada
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cuenta c WHERE c.id = :id")
+    Optional<Cuenta> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,60 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros y posición de keyset para la consulta paginada de movimientos.
+ * 
+ * <p>Los movimientos se recorren del más reciente al más antiguo por
+ * {@code (fecha, id)}; cada página continúa estrictamente después de la última
+ * fila devuelta, de modo que el coste no depende de la profundidad.</p>
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public final class MovimientoEspecificaciones {
+    
+    public static final Sort ORDEN = Sort.by(Sort.Order.desc("fecha"), Sort.Order.desc("id"));
+    
+    private MovimientoEspecificaciones() {
+    }
+    
+    public static Specification<Movimiento> deCuenta(Long cuentaId) {
+        return (root, query, cb) -> cuentaId == null ? null : cb.equal(root.get("cuenta").get("id"), cuentaId);
+    }
+    
+    public static Specification<Movimiento> deTipo(String tipoMovimiento) {
+        return (root, query, cb) -> tipoMovimiento == null ? null : cb.equal(root.get("tipoMovimiento"), tipoMovimiento);
+    }
+    
+    public static Specification<Movimiento> desde(LocalDateTime fechaInicio) {
+        return (root, query, cb) -> fechaInicio == null ? null : cb.greaterThanOrEqualTo(root.get("fecha"), fechaInicio);
+    }
+    
+    public static Specification<Movimiento> hasta(LocalDateTime fechaFin) {
+        return (root, query, cb) -> fechaFin == null ? null : cb.lessThanOrEqualTo(root.get("fecha"), fechaFin);
+    }
+    
+    /**
+     * Movimientos posteriores (en el orden de {@link #ORDEN}) a la posición indicada.
+     * 
+     * @param fecha Fecha del último movimiento devuelto
+     * @param id ID del último movimiento devuelto
+     * @return Especificación, o sin restricción si no hay posición
+     */
+    public static Specification<Movimiento> despuesDe(LocalDateTime fecha, Long id) {
+        return (root, query, cb) -> {
+            if (fecha == null || id == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.lessThan(root.get("fecha"), fecha),
+                    cb.and(cb.equal(root.get("fecha"), fecha), cb.lessThan(root.get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserción de movimientos en lotes JDBC.
+ *
+ * <p>Hibernate desactiva el agrupamiento de INSERT para entidades con ids
+ * {@code IDENTITY}, porque necesita el id de cada fila justo después de insertarla.
+ * Este repositorio envía todas las filas en un único lote JDBC (que el driver de
+ * MySQL reescribe como un INSERT multi-fila con {@code rewriteBatchedStatements})
+ * y recupera los ids generados en el mismo orden.</p>
+ *
+ * <p>Participa en la transacción JPA en curso, ya que usa la misma conexión.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Repository
+@RequiredArgsConstructor
+public class MovimientoLoteRepository {
+
+    private static final String INSERTAR_MOVIMIENTO =
+            "INSERT INTO movimientos (fecha, tipo_movimiento, valor, saldo, cuenta_id, descripcion) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta los movimientos en un único lote y asigna a cada uno su id generado.
+     *
+     * @param movimientos Movimientos nuevos (con la cuenta asignada)
+     */
+    public void insertarLote(List<Movimiento> movimientos) {
+        if (movimientos.isEmpty()) {
+            return;
+        }
+        KeyHolder ids = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                conexion -> conexion.prepareStatement(INSERTAR_MOVIMIENTO, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Movimiento movimiento = movimientos.get(i);
+                        ps.setTimestamp(1, Timestamp.valueOf(movimiento.getFecha()));
+                        ps.setString(2, movimiento.getTipoMovimiento());
+                        ps.setBigDecimal(3, movimiento.getValor());
+                        ps.setBigDecimal(4, movimiento.getSaldo());
+                        ps.setLong(5, movimiento.getCuenta().getId());
+                        ps.setString(6, movimiento.getDescripcion());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return movimientos.size();
+                    }
+                },
+                ids);
+        List<Map<String, Object>> claves = ids.getKeyList();
+        for (int i = 0; i < movimientos.size(); i++) {
+            movimientos.get(i).setId(((Number) claves.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
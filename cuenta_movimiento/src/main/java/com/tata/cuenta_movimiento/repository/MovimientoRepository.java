@@ -2,6 +2,7 @@ package com.tata.cuenta_movimiento.repository;
 
 import com.tata.cuenta_movimiento.entity.Movimiento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -15,7 +16,7 @@ import java.util.List;
  * @since 2025-06-25
  */
 @Repository
-public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
+public interface MovimientoRepository extends JpaRepository<Movimiento, Long>, JpaSpecificationExecutor<Movimiento> {
     
     /**
      * Busca todos los movimientos de una cuenta específica.
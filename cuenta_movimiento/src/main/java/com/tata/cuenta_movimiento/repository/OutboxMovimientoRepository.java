@@ -0,0 +1,160 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox de eventos de movimientos (tabla {@code outbox_movimientos}).
+ *
+ * <p>Los servicios registran aquí cada movimiento contabilizado, dentro de la misma
+ * transacción que lo crea, de modo que un evento existe si y solo si el movimiento
+ * se confirmó. {@code MovimientoOutboxRelay} reclama las filas pendientes en orden
+ * de id, las publica en Kafka y las elimina.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Repository
+public class OutboxMovimientoRepository {
+
+    private static final String INSERTAR_EVENTO =
+            "INSERT INTO outbox_movimientos (cuenta_id, movimiento_id, payload, fecha_creacion) " +
+            "VALUES (:cuentaId, :movimientoId, :payload, :fechaCreacion)";
+
+    // Eventos sin reclamo vigente y sin otro anterior de la misma cuenta reclamado
+    private static final String BUSCAR_DISPONIBLES =
+            "SELECT o.id, o.cuenta_id, o.payload, o.fecha_creacion FROM outbox_movimientos o " +
+            "WHERE (o.reclamado_hasta IS NULL OR o.reclamado_hasta <= :ahora) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_movimientos r " +
+            "WHERE r.cuenta_id = o.cuenta_id AND r.id < o.id AND r.reclamado_hasta > :ahora) " +
+            "ORDER BY o.id LIMIT :limite";
+
+    private static final String RECLAMAR_EVENTOS =
+            "UPDATE outbox_movimientos SET reclamado_hasta = :hasta WHERE id IN (:ids)";
+
+    private static final String LIBERAR_EVENTOS =
+            "UPDATE outbox_movimientos SET reclamado_hasta = NULL WHERE id IN (:ids)";
+
+    private static final String ELIMINAR_EVENTOS = "DELETE FROM outbox_movimientos WHERE id IN (:ids)";
+
+    private static final String BLOQUEAR_RELAY =
+            "SELECT nombre FROM outbox_bloqueos WHERE nombre = 'movimientos' FOR UPDATE";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectWriter escritorEvento;
+
+    public OutboxMovimientoRepository(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.escritorEvento = objectMapper.writerFor(MovimientoDTO.class);
+    }
+
+    /**
+     * Evento pendiente de publicar.
+     */
+    public record Evento(long id, Long cuentaId, String payload, LocalDateTime fechaCreacion) {
+    }
+
+    /**
+     * Registra los movimientos en el outbox con un único lote JDBC, en la
+     * transacción en curso.
+     *
+     * @param movimientos Movimientos recién creados (con id)
+     */
+    public void registrar(List<MovimientoDTO> movimientos) {
+        if (movimientos.isEmpty()) {
+            return;
+        }
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] lote = new SqlParameterSource[movimientos.size()];
+        for (int i = 0; i < movimientos.size(); i++) {
+            MovimientoDTO movimiento = movimientos.get(i);
+            try {
+                lote[i] = new MapSqlParameterSource()
+                        .addValue("cuentaId", movimiento.getCuentaId())
+                        .addValue("movimientoId", movimiento.getId())
+                        .addValue("payload", escritorEvento.writeValueAsString(movimiento))
+                        .addValue("fechaCreacion", ahora);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERTAR_EVENTO, lote);
+    }
+
+    /**
+     * Toma el bloqueo del relay hasta el fin de la transacción en curso. Mientras
+     * una instancia reclama eventos, las demás esperan, con lo que dos relays nunca
+     * reclaman el mismo evento.
+     */
+    public void bloquearRelay() {
+        jdbcTemplate.queryForList(BLOQUEAR_RELAY, new MapSqlParameterSource(), String.class);
+    }
+
+    /**
+     * Obtiene los eventos más antiguos que se pueden reclamar, en orden de inserción.
+     * Se omiten los eventos con un reclamo vigente y los de cuentas que tienen un
+     * evento anterior reclamado, que deben publicarse primero.
+     *
+     * @param limite Número máximo de eventos
+     * @param ahora Instante de referencia para los reclamos vigentes
+     * @return Eventos disponibles
+     */
+    public List<Evento> buscarDisponibles(int limite, LocalDateTime ahora) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("limite", limite)
+                .addValue("ahora", Timestamp.valueOf(ahora));
+        return jdbcTemplate.query(BUSCAR_DISPONIBLES, parametros,
+                (rs, fila) -> new Evento(rs.getLong("id"), rs.getLong("cuenta_id"), rs.getString("payload"),
+                        rs.getTimestamp("fecha_creacion").toLocalDateTime()));
+    }
+
+    /**
+     * Reclama los eventos hasta el instante indicado; otros relays no los toman
+     * mientras el reclamo esté vigente.
+     *
+     * @param ids IDs de los eventos
+     * @param hasta Vencimiento del reclamo
+     */
+    public void reclamar(Collection<Long> ids, LocalDateTime hasta) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update(RECLAMAR_EVENTOS, new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("hasta", Timestamp.valueOf(hasta)));
+        }
+    }
+
+    /**
+     * Libera el reclamo de eventos no publicados para que se reintenten.
+     *
+     * @param ids IDs de los eventos
+     */
+    public void liberar(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update(LIBERAR_EVENTOS, new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    /**
+     * Elimina los eventos ya publicados.
+     *
+     * @param ids IDs de los eventos
+     */
+    public void eliminar(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update(ELIMINAR_EVENTOS, new MapSqlParameterSource("ids", ids));
+        }
+    }
+}
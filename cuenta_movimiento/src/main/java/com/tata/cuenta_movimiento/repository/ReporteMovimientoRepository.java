@@ -0,0 +1,121 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.dto.ReporteMovimientoDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Consulta del reporte de movimientos (estado de cuenta) de un cliente.
+ *
+ * <p>El reporte se obtiene con una sola consulta que une {@code cuentas} y
+ * {@code movimientos} para el cliente y el rango de fechas. El valor con signo de
+ * cada movimiento y los saldos inicial y final se calculan en SQL: el saldo inicial
+ * es el saldo del movimiento anterior de la misma cuenta ({@code LAG}) y, para el
+ * primer movimiento del rango, el saldo final menos el valor del movimiento, que es
+ * exacto por fila. No se consulta {@code saldos_diarios}: la instantánea podría estar
+ * desactualizada y no aporta nada que la propia fila no tenga. Ninguna parte de la
+ * consulta recorre movimientos fuera del rango.</p>
+ *
+ * <p>Para exportaciones grandes, {@link #recorrerReporte} entrega las filas una a
+ * una mientras se leen del cursor, sin acumularlas en memoria.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Repository
+public class ReporteMovimientoRepository {
+
+    private static final String CONSULTA_REPORTE =
+            "SELECT r.fecha, r.numero_cuenta, r.tipo_cuenta, r.estado, r.movimiento, r.saldo, " +
+            "       COALESCE(LAG(r.saldo) OVER (PARTITION BY r.cuenta_id ORDER BY r.fecha, r.id), " +
+            "                r.saldo - r.movimiento) AS saldo_inicial " +
+            "FROM (SELECT m.id, m.cuenta_id, m.fecha, m.saldo, c.numero_cuenta, c.tipo_cuenta, c.estado, " +
+            "             CASE WHEN m.tipo_movimiento IN ('RETIRO', 'PAGO', 'TRANSFERENCIA') " +
+            "                  THEN -m.valor ELSE m.valor END AS movimiento " +
+            "      FROM cuentas c " +
+            "      JOIN movimientos m ON m.cuenta_id = c.id " +
+            "      WHERE c.cliente_id = :clienteId " +
+            "        AND m.fecha >= :inicio AND m.fecha < :finExclusivo) r " +
+            "ORDER BY r.cuenta_id, r.fecha, r.id";
+
+    /** Filas que el driver trae por cada viaje al servidor al recorrer el cursor. */
+    private static final int FILAS_POR_LECTURA = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate cursorJdbcTemplate;
+
+    public ReporteMovimientoRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        cursor.setFetchSize(FILAS_POR_LECTURA);
+        this.cursorJdbcTemplate = new NamedParameterJdbcTemplate(cursor);
+    }
+
+    /**
+     * Obtiene los movimientos de todas las cuentas de un cliente entre dos fechas
+     * (ambas incluidas), ordenados por cuenta y fecha.
+     *
+     * @param clienteId ID del cliente
+     * @param fechaInicio Primer día del rango
+     * @param fechaFin Último día del rango
+     * @param nombreCliente Nombre a mostrar en cada fila
+     * @return Filas del reporte
+     */
+    public List<ReporteMovimientoDTO> obtenerReporte(Integer clienteId, LocalDate fechaInicio,
+                                                     LocalDate fechaFin, String nombreCliente) {
+        return jdbcTemplate.query(CONSULTA_REPORTE, parametros(clienteId, fechaInicio, fechaFin),
+                mapeador(nombreCliente));
+    }
+
+    /**
+     * Recorre el reporte con un cursor de base de datos y entrega cada fila al
+     * consumidor según se lee, con memoria constante independientemente del tamaño.
+     *
+     * <p>En MySQL requiere {@code useCursorFetch=true} en la URL de conexión para que
+     * el tamaño de lectura se respete en lugar de traer todo el resultado.</p>
+     *
+     * @param clienteId ID del cliente
+     * @param fechaInicio Primer día del rango
+     * @param fechaFin Último día del rango
+     * @param nombreCliente Nombre a mostrar en cada fila
+     * @param consumidor Receptor de cada fila
+     */
+    public void recorrerReporte(Integer clienteId, LocalDate fechaInicio, LocalDate fechaFin,
+                                String nombreCliente, Consumer<ReporteMovimientoDTO> consumidor) {
+        RowMapper<ReporteMovimientoDTO> mapeador = mapeador(nombreCliente);
+        RowCallbackHandler manejador = rs -> consumidor.accept(mapeador.mapRow(rs, rs.getRow()));
+        cursorJdbcTemplate.query(CONSULTA_REPORTE, parametros(clienteId, fechaInicio, fechaFin), manejador);
+    }
+
+    private MapSqlParameterSource parametros(Integer clienteId, LocalDate fechaInicio, LocalDate fechaFin) {
+        return new MapSqlParameterSource()
+                .addValue("clienteId", clienteId)
+                .addValue("inicio", Timestamp.valueOf(fechaInicio.atStartOfDay()))
+                .addValue("finExclusivo", Timestamp.valueOf(fechaFin.plusDays(1).atStartOfDay()));
+    }
+
+    RowMapper<ReporteMovimientoDTO> mapeador(String nombreCliente) {
+        return (rs, fila) -> {
+            ReporteMovimientoDTO dto = new ReporteMovimientoDTO();
+            dto.setFecha(rs.getTimestamp("fecha").toLocalDateTime());
+            dto.setCliente(nombreCliente);
+            dto.setNumeroCuenta(rs.getString("numero_cuenta"));
+            dto.setTipo(rs.getString("tipo_cuenta"));
+            dto.setEstado(rs.getBoolean("estado"));
+            dto.setSaldoInicial(rs.getBigDecimal("saldo_inicial"));
+            dto.setMovimiento(rs.getBigDecimal("movimiento"));
+            dto.setSaldoDisponible(rs.getBigDecimal("saldo"));
+            return dto;
+        };
+    }
+}
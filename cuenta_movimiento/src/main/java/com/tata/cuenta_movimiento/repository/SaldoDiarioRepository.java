@@ -0,0 +1,230 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.dto.SaldoDiarioDTO;
+import com.tata.cuenta_movimiento.service.Dinero;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Saldos diarios por cuenta (tabla {@code saldos_diarios}).
+ *
+ * <p>Cada movimiento contabilizado actualiza la fila de su cuenta y día dentro de la
+ * misma transacción, mientras la cuenta está bloqueada, por lo que el saldo de cierre
+ * siempre corresponde al último movimiento confirmado. Las consultas de saldo a una
+ * fecha leen una sola fila por la clave primaria {@code (cuenta_id, fecha)}, sin
+ * recorrer los movimientos de la cuenta.</p>
+ *
+ * <p>{@link #reconstruirCuenta(Long)} recalcula las filas de una cuenta desde sus
+ * movimientos, para corregir cambios hechos fuera de la contabilización (edición o
+ * eliminación de movimientos).</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Repository
+public class SaldoDiarioRepository {
+
+    private static final String ACUMULAR_DIA =
+            "INSERT INTO saldos_diarios (cuenta_id, fecha, saldo_apertura, saldo_cierre, total_debitos, " +
+            "                            total_creditos, cantidad_movimientos) " +
+            "VALUES (:cuentaId, :fecha, :apertura, :cierre, :debitos, :creditos, :cantidad) " +
+            "ON DUPLICATE KEY UPDATE saldo_cierre = VALUES(saldo_cierre), " +
+            "    total_debitos = total_debitos + VALUES(total_debitos), " +
+            "    total_creditos = total_creditos + VALUES(total_creditos), " +
+            "    cantidad_movimientos = cantidad_movimientos + VALUES(cantidad_movimientos)";
+
+    private static final String COLUMNAS =
+            "SELECT cuenta_id, fecha, saldo_apertura, saldo_cierre, total_debitos, total_creditos, " +
+            "cantidad_movimientos FROM saldos_diarios ";
+
+    private static final String BUSCAR_HASTA =
+            COLUMNAS + "WHERE cuenta_id = :cuentaId AND fecha <= :fecha ORDER BY fecha DESC LIMIT 1";
+
+    private static final String BUSCAR_DESPUES =
+            COLUMNAS + "WHERE cuenta_id = :cuentaId AND fecha > :fecha ORDER BY fecha LIMIT 1";
+
+    private static final String BUSCAR_RANGO =
+            COLUMNAS + "WHERE cuenta_id = :cuentaId AND fecha BETWEEN :inicio AND :fin ORDER BY fecha";
+
+    private static final String BLOQUEAR_CUENTA = "SELECT id FROM cuentas WHERE id = :cuentaId FOR UPDATE";
+
+    private static final String ELIMINAR_CUENTA = "DELETE FROM saldos_diarios WHERE cuenta_id = :cuentaId";
+
+    /** Misma agregación que la carga inicial de V5__saldos_diarios.sql, para una cuenta. */
+    private static final String RECONSTRUIR_CUENTA =
+            "INSERT INTO saldos_diarios (cuenta_id, fecha, saldo_apertura, saldo_cierre, total_debitos, " +
+            "                            total_creditos, cantidad_movimientos) " +
+            "SELECT d.cuenta_id, d.dia, " +
+            "       MAX(CASE WHEN d.primero = 1 THEN d.saldo - d.delta END), " +
+            "       MAX(CASE WHEN d.ultimo = 1 THEN d.saldo END), " +
+            "       SUM(CASE WHEN d.delta < 0 THEN -d.delta ELSE 0 END), " +
+            "       SUM(CASE WHEN d.delta > 0 THEN d.delta ELSE 0 END), " +
+            "       COUNT(*) " +
+            "FROM (SELECT m.cuenta_id, CAST(m.fecha AS DATE) AS dia, m.saldo, " +
+            "             CASE WHEN m.tipo_movimiento IN ('RETIRO', 'PAGO', 'TRANSFERENCIA') " +
+            "                  THEN -m.valor ELSE m.valor END AS delta, " +
+            "             ROW_NUMBER() OVER (PARTITION BY CAST(m.fecha AS DATE) ORDER BY m.fecha, m.id) AS primero, " +
+            "             ROW_NUMBER() OVER (PARTITION BY CAST(m.fecha AS DATE) " +
+            "                                ORDER BY m.fecha DESC, m.id DESC) AS ultimo " +
+            "      FROM movimientos m WHERE m.cuenta_id = :cuentaId) d " +
+            "GROUP BY d.cuenta_id, d.dia";
+
+    private static final String LISTAR_CUENTAS = "SELECT id FROM cuentas ORDER BY id";
+
+    private static final RowMapper<SaldoDiarioDTO> MAPEADOR = (rs, fila) -> new SaldoDiarioDTO(
+            rs.getLong("cuenta_id"),
+            rs.getDate("fecha").toLocalDate(),
+            rs.getBigDecimal("saldo_apertura"),
+            rs.getBigDecimal("saldo_cierre"),
+            rs.getBigDecimal("total_debitos"),
+            rs.getBigDecimal("total_creditos"),
+            rs.getInt("cantidad_movimientos"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SaldoDiarioRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Acumula los movimientos recién contabilizados en los saldos de su día, con un
+     * único lote JDBC y una fila por cuenta y día.
+     *
+     * @param movimientos Movimientos creados, en el orden en que se aplicaron
+     */
+    public void registrar(List<MovimientoDTO> movimientos) {
+        if (movimientos.isEmpty()) {
+            return;
+        }
+        Map<Dia, Acumulado> porDia = new LinkedHashMap<>();
+        for (MovimientoDTO movimiento : movimientos) {
+            Dia dia = new Dia(movimiento.getCuentaId(), movimiento.getFecha().toLocalDate());
+            long valor = Dinero.de(movimiento.getValor()).centavos();
+            long saldo = Dinero.de(movimiento.getSaldo()).centavos();
+            boolean debito = esDebito(movimiento.getTipoMovimiento());
+            Acumulado acumulado = porDia.computeIfAbsent(dia,
+                    d -> new Acumulado(debito ? saldo + valor : saldo - valor));
+            acumulado.cierre = saldo;
+            if (debito) {
+                acumulado.debitos += valor;
+            } else {
+                acumulado.creditos += valor;
+            }
+            acumulado.cantidad++;
+        }
+        SqlParameterSource[] lote = new SqlParameterSource[porDia.size()];
+        int i = 0;
+        for (Map.Entry<Dia, Acumulado> entrada : porDia.entrySet()) {
+            Acumulado acumulado = entrada.getValue();
+            lote[i++] = new MapSqlParameterSource()
+                    .addValue("cuentaId", entrada.getKey().cuentaId())
+                    .addValue("fecha", Date.valueOf(entrada.getKey().fecha()))
+                    .addValue("apertura", Dinero.aBigDecimal(acumulado.apertura))
+                    .addValue("cierre", Dinero.aBigDecimal(acumulado.cierre))
+                    .addValue("debitos", Dinero.aBigDecimal(acumulado.debitos))
+                    .addValue("creditos", Dinero.aBigDecimal(acumulado.creditos))
+                    .addValue("cantidad", acumulado.cantidad);
+        }
+        jdbcTemplate.batchUpdate(ACUMULAR_DIA, lote);
+    }
+
+    /**
+     * Obtiene el último día con movimientos de la cuenta hasta la fecha indicada,
+     * incluida.
+     *
+     * @param cuentaId ID de la cuenta
+     * @param fecha Fecha máxima
+     * @return Saldos de ese día, o vacío si la cuenta no tiene movimientos hasta la fecha
+     */
+    public Optional<SaldoDiarioDTO> buscarUltimoHasta(Long cuentaId, LocalDate fecha) {
+        return buscarUno(BUSCAR_HASTA, cuentaId, fecha);
+    }
+
+    /**
+     * Obtiene el primer día con movimientos de la cuenta posterior a la fecha
+     * indicada.
+     *
+     * @param cuentaId ID de la cuenta
+     * @param fecha Fecha excluida
+     * @return Saldos de ese día, o vacío si no hay movimientos posteriores
+     */
+    public Optional<SaldoDiarioDTO> buscarPrimeroDespues(Long cuentaId, LocalDate fecha) {
+        return buscarUno(BUSCAR_DESPUES, cuentaId, fecha);
+    }
+
+    /**
+     * Obtiene los días con movimientos de una cuenta en un rango de fechas.
+     *
+     * @param cuentaId ID de la cuenta
+     * @param inicio Primer día del rango
+     * @param fin Último día del rango
+     * @return Saldos de cada día con movimientos, en orden de fecha
+     */
+    public List<SaldoDiarioDTO> buscarRango(Long cuentaId, LocalDate inicio, LocalDate fin) {
+        return jdbcTemplate.query(BUSCAR_RANGO, new MapSqlParameterSource()
+                .addValue("cuentaId", cuentaId)
+                .addValue("inicio", Date.valueOf(inicio))
+                .addValue("fin", Date.valueOf(fin)), MAPEADOR);
+    }
+
+    /**
+     * Recalcula los saldos diarios de una cuenta desde sus movimientos. Bloquea la
+     * fila de la cuenta hasta el fin de la transacción en curso, de modo que no se
+     * contabilizan movimientos de la cuenta mientras tanto.
+     *
+     * @param cuentaId ID de la cuenta
+     * @return Días con movimientos de la cuenta
+     */
+    public int reconstruirCuenta(Long cuentaId) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource("cuentaId", cuentaId);
+        jdbcTemplate.queryForList(BLOQUEAR_CUENTA, parametros, Long.class);
+        jdbcTemplate.update(ELIMINAR_CUENTA, parametros);
+        return jdbcTemplate.update(RECONSTRUIR_CUENTA, parametros);
+    }
+
+    /**
+     * @return IDs de todas las cuentas, en orden ascendente
+     */
+    public List<Long> listarCuentas() {
+        return jdbcTemplate.queryForList(LISTAR_CUENTAS, new MapSqlParameterSource(), Long.class);
+    }
+
+    private Optional<SaldoDiarioDTO> buscarUno(String consulta, Long cuentaId, LocalDate fecha) {
+        List<SaldoDiarioDTO> filas = jdbcTemplate.query(consulta, new MapSqlParameterSource()
+                .addValue("cuentaId", cuentaId)
+                .addValue("fecha", Date.valueOf(fecha)), MAPEADOR);
+        return filas.stream().findFirst();
+    }
+
+    private static boolean esDebito(String tipoMovimiento) {
+        return "RETIRO".equals(tipoMovimiento) || "PAGO".equals(tipoMovimiento)
+                || "TRANSFERENCIA".equals(tipoMovimiento);
+    }
+
+    private record Dia(Long cuentaId, LocalDate fecha) {
+    }
+
+    private static final class Acumulado {
+        private final long apertura;
+        private long cierre;
+        private long debitos;
+        private long creditos;
+        private int cantidad;
+
+        private Acumulado(long apertura) {
+            this.apertura = apertura;
+        }
+    }
+}
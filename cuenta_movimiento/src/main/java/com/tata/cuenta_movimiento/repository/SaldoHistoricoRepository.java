@@ -0,0 +1,152 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.dto.SaldoHistoricoDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saldos de cuentas en instantes arbitrarios a partir del histórico de movimientos.
+ *
+ * <p>Cada movimiento guarda el saldo posterior a su aplicación, así que el saldo en
+ * un instante es el del último movimiento de la cuenta hasta ese instante. Se
+ * obtiene con una subconsulta {@code ORDER BY fecha DESC, id DESC LIMIT 1} que
+ * recorre hacia atrás el índice {@code (cuenta_id, fecha, id)}: una sola lectura
+ * por consulta, sin importar cuántos movimientos tenga la cuenta. Solo cuando no
+ * hay movimientos anteriores se lee el primero de la cuenta para obtener el saldo
+ * previo a él.</p>
+ *
+ * <p>Las consultas por lote combinan cada cuenta con cada instante en una sola
+ * sentencia: las cuentas se filtran con {@code IN} y los instantes viajan como una
+ * tabla derivada. Cada sentencia cubre hasta {@value #CUENTAS_POR_SENTENCIA} cuentas
+ * y {@value #INSTANTES_POR_SENTENCIA} instantes, lo que mantiene el número de
+ * parámetros muy por debajo del máximo de MySQL; una auditoría de fin de mes de
+ * 100.000 cuentas son 100 sentencias.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Repository
+@RequiredArgsConstructor
+public class SaldoHistoricoRepository {
+
+    /** Cuentas consultadas por cada sentencia SQL. */
+    static final int CUENTAS_POR_SENTENCIA = 1000;
+
+    /** Instantes consultados por cada sentencia SQL. */
+    static final int INSTANTES_POR_SENTENCIA = 100;
+
+    private static final String CONSULTA_INICIO =
+            "SELECT r.cuenta_id, r.saldo_actual, r.orden, r.anterior_id, " +
+            "       m.fecha AS movimiento_fecha, m.saldo AS movimiento_saldo, " +
+            "       m.saldo - CASE WHEN m.tipo_movimiento IN ('RETIRO', 'PAGO', 'TRANSFERENCIA') " +
+            "                      THEN -m.valor ELSE m.valor END AS saldo_previo " +
+            "FROM (SELECT p.cuenta_id, p.saldo_actual, p.orden, p.anterior_id, " +
+            "             CASE WHEN p.anterior_id IS NULL THEN " +
+            "                 (SELECT b.id FROM movimientos b WHERE b.cuenta_id = p.cuenta_id " +
+            "                  ORDER BY b.fecha, b.id LIMIT 1) END AS primero_id " +
+            "      FROM (SELECT c.id AS cuenta_id, c.saldo AS saldo_actual, i.orden, " +
+            "                   (SELECT a.id FROM movimientos a " +
+            "                    WHERE a.cuenta_id = c.id AND a.fecha <= i.instante " +
+            "                    ORDER BY a.fecha DESC, a.id DESC LIMIT 1) AS anterior_id " +
+            "            FROM cuentas c " +
+            "            CROSS JOIN (SELECT CAST(? AS SIGNED) AS orden, CAST(? AS DATETIME(6)) AS instante";
+
+    private static final String CONSULTA_INSTANTE = " UNION ALL SELECT ?, ?";
+
+    private static final String CONSULTA_CUENTAS = ") i WHERE c.id IN (";
+
+    private static final String CONSULTA_FIN =
+            ")) p) r " +
+            "LEFT JOIN movimientos m ON m.id = COALESCE(r.anterior_id, r.primero_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Obtiene el saldo de cada cuenta en cada uno de los instantes.
+     *
+     * @param cuentaIds IDs de cuenta
+     * @param instantes Instantes a consultar para todas las cuentas
+     * @return Un resultado por cada par (cuenta, instante), agrupados por cuenta en el
+     *         orden recibido; el saldo es nulo si la cuenta no existe
+     */
+    public List<SaldoHistoricoDTO> buscarSaldos(List<Long> cuentaIds, List<LocalDateTime> instantes) {
+        SaldoHistoricoDTO[] resultados = new SaldoHistoricoDTO[cuentaIds.size() * instantes.size()];
+        for (int c = 0; c < cuentaIds.size(); c++) {
+            for (int i = 0; i < instantes.size(); i++) {
+                resultados[c * instantes.size() + i] =
+                        new SaldoHistoricoDTO(cuentaIds.get(c), instantes.get(i), null, null, null);
+            }
+        }
+        for (int c = 0; c < cuentaIds.size(); c += CUENTAS_POR_SENTENCIA) {
+            for (int i = 0; i < instantes.size(); i += INSTANTES_POR_SENTENCIA) {
+                buscarTramo(cuentaIds, c, Math.min(c + CUENTAS_POR_SENTENCIA, cuentaIds.size()),
+                        instantes, i, Math.min(i + INSTANTES_POR_SENTENCIA, instantes.size()), resultados);
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    private void buscarTramo(List<Long> cuentaIds, int cuentaDesde, int cuentaHasta,
+                             List<LocalDateTime> instantes, int instanteDesde, int instanteHasta,
+                             SaldoHistoricoDTO[] resultados) {
+        int totalInstantes = instanteHasta - instanteDesde;
+        Object[] parametros = new Object[totalInstantes * 2 + cuentaHasta - cuentaDesde];
+        int n = 0;
+        for (int i = instanteDesde; i < instanteHasta; i++) {
+            parametros[n++] = i;
+            parametros[n++] = Timestamp.valueOf(instantes.get(i));
+        }
+        // Una misma cuenta puede venir repetida en el lote
+        Map<Long, List<Integer>> posiciones = new HashMap<>();
+        for (int c = cuentaDesde; c < cuentaHasta; c++) {
+            parametros[n++] = cuentaIds.get(c);
+            posiciones.computeIfAbsent(cuentaIds.get(c), id -> new ArrayList<>(1)).add(c);
+        }
+        jdbcTemplate.query(consulta(totalInstantes, cuentaHasta - cuentaDesde), rs -> {
+            BigDecimal saldo;
+            Long movimientoId = null;
+            LocalDateTime fechaMovimiento = null;
+            long anteriorId = rs.getLong("anterior_id");
+            if (!rs.wasNull()) {
+                movimientoId = anteriorId;
+                fechaMovimiento = rs.getTimestamp("movimiento_fecha").toLocalDateTime();
+                saldo = rs.getBigDecimal("movimiento_saldo");
+            } else {
+                BigDecimal saldoPrevio = rs.getBigDecimal("saldo_previo");
+                saldo = saldoPrevio != null ? saldoPrevio : rs.getBigDecimal("saldo_actual");
+            }
+            int instante = rs.getInt("orden");
+            for (int posicion : posiciones.get(rs.getLong("cuenta_id"))) {
+                SaldoHistoricoDTO resultado = resultados[posicion * instantes.size() + instante];
+                resultado.setSaldo(saldo);
+                resultado.setMovimientoId(movimientoId);
+                resultado.setFechaMovimiento(fechaMovimiento);
+            }
+        }, parametros);
+    }
+
+    private static String consulta(int instantes, int cuentas) {
+        StringBuilder sql = new StringBuilder(CONSULTA_INICIO.length() + CONSULTA_INSTANTE.length() * instantes
+                + CONSULTA_CUENTAS.length() + cuentas * 3 + CONSULTA_FIN.length());
+        sql.append(CONSULTA_INICIO);
+        for (int i = 1; i < instantes; i++) {
+            sql.append(CONSULTA_INSTANTE);
+        }
+        sql.append(CONSULTA_CUENTAS);
+        for (int c = 0; c < cuentas; c++) {
+            sql.append(c == 0 ? "?" : ", ?");
+        }
+        return sql.append(CONSULTA_FIN).toString();
+    }
+}
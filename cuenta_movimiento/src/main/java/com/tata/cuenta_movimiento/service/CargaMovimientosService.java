@@ -0,0 +1,172 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.dto.ResultadoCargaDTO;
+import com.tata.cuenta_movimiento.dto.ResultadoFilaCargaDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio de carga masiva de movimientos desde archivos NDJSON o CSV.
+ *
+ * <p>El archivo se lee línea a línea sin cargarlo completo en memoria. Cada fila se
+ * valida al leerla con las mismas restricciones de {@link MovimientoDTO}; las filas
+ * válidas se acumulan en bloques de {@code movimientos.carga.tamano-bloque} y cada
+ * bloque se contabiliza en una transacción con
+ * {@link MovimientoService#contabilizarLote(List)}, que agrupa por cuenta, aplica
+ * los saldos en el orden del archivo e inserta los movimientos en lotes JDBC.</p>
+ *
+ * <p>Formato CSV: {@code cuentaId,tipoMovimiento,valor[,descripcion]}, con cabecera
+ * opcional. Formato NDJSON: un objeto {@link MovimientoDTO} por línea.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Service
+public class CargaMovimientosService {
+
+    public enum Formato { NDJSON, CSV }
+
+    private static final String[] CAMPOS_VALIDADOS = {"tipoMovimiento", "valor", "cuentaId", "descripcion"};
+
+    private final MovimientoService movimientoService;
+    private final Validator validator;
+    private final ObjectReader lectorMovimiento;
+    private final int tamanoBloque;
+
+    public CargaMovimientosService(MovimientoService movimientoService,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   @Value("${movimientos.carga.tamano-bloque:1000}") int tamanoBloque) {
+        this.movimientoService = movimientoService;
+        this.validator = validator;
+        this.lectorMovimiento = objectMapper.readerFor(MovimientoDTO.class);
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    /**
+     * Procesa un archivo de movimientos y devuelve el resultado por fila.
+     *
+     * @param entrada Contenido del archivo
+     * @param formato Formato del archivo
+     * @return Resumen de la carga con el resultado de cada fila
+     * @throws IOException si no se puede leer la entrada
+     */
+    public ResultadoCargaDTO cargar(InputStream entrada, Formato formato) throws IOException {
+        long inicio = System.currentTimeMillis();
+        ResultadoCargaDTO resultado = new ResultadoCargaDTO();
+        List<Fila> bloque = new ArrayList<>(tamanoBloque);
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String linea;
+            long numero = 0;
+            while ((linea = lector.readLine()) != null) {
+                numero++;
+                if (linea.isBlank() || (formato == Formato.CSV && numero == 1 && esCabecera(linea))) {
+                    continue;
+                }
+                MovimientoDTO datos;
+                try {
+                    datos = formato == Formato.CSV ? leerCsv(linea) : lectorMovimiento.readValue(linea);
+                } catch (IOException | RuntimeException e) {
+                    resultado.agregar(ResultadoFilaCargaDTO.error(numero, null, "Fila con formato inválido"));
+                    continue;
+                }
+                String errorValidacion = validar(datos);
+                if (errorValidacion != null) {
+                    resultado.agregar(ResultadoFilaCargaDTO.error(numero, datos.getCuentaId(), errorValidacion));
+                    continue;
+                }
+                bloque.add(new Fila(numero, new ComandoMovimiento(datos)));
+                if (bloque.size() == tamanoBloque) {
+                    contabilizarBloque(bloque, resultado);
+                    bloque.clear();
+                }
+            }
+        }
+        if (!bloque.isEmpty()) {
+            contabilizarBloque(bloque, resultado);
+        }
+        resultado.getFilas().sort((a, b) -> Long.compare(a.getFila(), b.getFila()));
+        resultado.setDuracionMs(System.currentTimeMillis() - inicio);
+        log.info("Carga masiva de movimientos: {} filas, {} aceptadas, {} rechazadas en {} ms",
+                resultado.getTotalFilas(), resultado.getAceptadas(), resultado.getRechazadas(),
+                resultado.getDuracionMs());
+        return resultado;
+    }
+
+    private void contabilizarBloque(List<Fila> bloque, ResultadoCargaDTO resultado) {
+        List<ComandoMovimiento> comandos = new ArrayList<>(bloque.size());
+        for (Fila fila : bloque) {
+            comandos.add(fila.comando());
+        }
+        try {
+            movimientoService.contabilizarLote(comandos);
+        } catch (RuntimeException e) {
+            log.error("Error contabilizando un bloque de la carga masiva", e);
+            for (Fila fila : bloque) {
+                resultado.agregar(ResultadoFilaCargaDTO.error(fila.numero(),
+                        fila.comando().getDatos().getCuentaId(), "Error al contabilizar el bloque: " + e.getMessage()));
+            }
+            return;
+        }
+        for (Fila fila : bloque) {
+            ComandoMovimiento comando = fila.comando();
+            if (comando.getError() != null) {
+                resultado.agregar(ResultadoFilaCargaDTO.error(fila.numero(),
+                        comando.getDatos().getCuentaId(), comando.getError().getMessage()));
+            } else {
+                resultado.agregar(ResultadoFilaCargaDTO.exito(fila.numero(), comando.getRespuesta()));
+            }
+        }
+    }
+
+    private String validar(MovimientoDTO datos) {
+        // La fecha y el saldo los asigna la contabilización, no el archivo
+        for (String campo : CAMPOS_VALIDADOS) {
+            Set<ConstraintViolation<MovimientoDTO>> errores = validator.validateProperty(datos, campo);
+            if (!errores.isEmpty()) {
+                return errores.iterator().next().getMessage();
+            }
+        }
+        return null;
+    }
+
+    private boolean esCabecera(String linea) {
+        return linea.trim().toLowerCase().startsWith("cuentaid");
+    }
+
+    private MovimientoDTO leerCsv(String linea) {
+        String[] columnas = linea.split(",", 4);
+        if (columnas.length < 3) {
+            throw new IllegalArgumentException("Columnas insuficientes");
+        }
+        MovimientoDTO datos = new MovimientoDTO();
+        datos.setCuentaId(Long.valueOf(columnas[0].trim()));
+        datos.setTipoMovimiento(columnas[1].trim().toUpperCase());
+        datos.setValor(new BigDecimal(columnas[2].trim()));
+        if (columnas.length == 4 && !columnas[3].isBlank()) {
+            datos.setDescripcion(columnas[3].trim());
+        }
+        return datos;
+    }
+
+    private record Fila(long numero, ComandoMovimiento comando) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solicitud de contabilización encolada en el {@link MotorMovimientos}.
+ * 
+ * <p>Durante el procesamiento del lote el servicio registra en el comando el
+ * movimiento creado o el error de negocio; el motor completa el futuro una vez
+ * confirmada la transacción.</p>
+ * 
+ * <p>Si la solicitud trae una clave de idempotencia, el lote la registra junto con
+ * el movimiento o, si ya existía, devuelve la respuesta almacenada sin volver a
+ * contabilizar.</p>
+ * 
+ * <p>Un comando encolado lo toma el trabajador del motor o lo cancela quien espera
+ * su resultado, nunca ambos: así, un comando cancelado por tiempo de espera no se
+ * contabiliza después.</p>
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Getter
+public class ComandoMovimiento {
+    
+    private enum Estado { PENDIENTE, EN_PROCESO, CANCELADO }
+    
+    private final MovimientoDTO datos;
+    private final String claveIdempotencia;
+    private final String huella;
+    private final CompletableFuture<MovimientoDTO> resultado = new CompletableFuture<>();
+    private MovimientoDTO respuesta;
+    private RuntimeException error;
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.PENDIENTE);
+    
+    public ComandoMovimiento(MovimientoDTO datos) {
+        this(datos, null, null);
+    }
+    
+    public ComandoMovimiento(MovimientoDTO datos, String claveIdempotencia, String huella) {
+        this.datos = datos;
+        this.claveIdempotencia = claveIdempotencia;
+        this.huella = huella;
+    }
+    
+    /**
+     * Reserva el comando para contabilizarlo.
+     * 
+     * @return false si ya fue cancelado o tomado
+     */
+    boolean tomar() {
+        return estado.compareAndSet(Estado.PENDIENTE, Estado.EN_PROCESO);
+    }
+    
+    /**
+     * Cancela el comando si todavía no se tomó para contabilizar.
+     * 
+     * @return false si ya se está contabilizando (o ya terminó)
+     */
+    boolean cancelar() {
+        if (!estado.compareAndSet(Estado.PENDIENTE, Estado.CANCELADO)) {
+            return false;
+        }
+        resultado.cancel(false);
+        return true;
+    }
+    
+    void registrarRespuesta(MovimientoDTO respuesta) {
+        this.respuesta = respuesta;
+        this.error = null;
+    }
+    
+    void registrarError(RuntimeException error) {
+        this.respuesta = null;
+        this.error = error;
+    }
+    
+    void reiniciar() {
+        this.respuesta = null;
+        this.error = null;
+    }
+    
+    /**
+     * Completa el futuro con el resultado registrado durante el lote.
+     */
+    void completar() {
+        if (error != null) {
+            resultado.completeExceptionally(error);
+        } else {
+            resultado.complete(respuesta);
+        }
+    }
+    
+    void fallar(Throwable causa) {
+        resultado.completeExceptionally(causa);
+    }
+}
@@ -1,17 +1,21 @@
 package com.tata.cuenta_movimiento.service;
 
 import com.tata.cuenta_movimiento.dto.CuentaDTO;
+import com.tata.cuenta_movimiento.dto.PaginaDTO;
 import com.tata.cuenta_movimiento.entity.Cuenta;
 import com.tata.cuenta_movimiento.exception.DuplicateResourceException;
 import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
 import com.tata.cuenta_movimiento.kafka.ClienteKafkaConsumer;
+import com.tata.cuenta_movimiento.mapper.CuentaMapper;
+import com.tata.cuenta_movimiento.repository.CuentaEspecificaciones;
 import com.tata.cuenta_movimiento.repository.CuentaRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +34,7 @@ import java.util.stream.Collectors;
 public class CuentaService {
     
     private final CuentaRepository cuentaRepository;
+    private final CuentaMapper cuentaMapper;
     @Autowired
     private ClienteKafkaConsumer clienteKafkaConsumer;
     
@@ -40,9 +45,40 @@ public class CuentaService {
      */
     public List<CuentaDTO> getAllCuentas() {
         List<Cuenta> cuentas = cuentaRepository.findAll();
-        return cuentas.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(cuentas);
+    }
+    
+    /**
+     * Obtiene una página de cuentas ordenadas por id, con filtros opcionales por
+     * tipo de cuenta y cliente.
+     * 
+     * <p>La paginación es por keyset sobre {@code id}, por lo que el tiempo de cada
+     * página no depende de su profundidad.</p>
+     * 
+     * @param tipoCuenta Tipo de cuenta (opcional)
+     * @param clienteId ID del cliente (opcional)
+     * @param cursor Cursor devuelto por la página anterior (opcional)
+     * @param tamano Tamaño de página solicitado
+     * @return Página de cuentas con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public PaginaDTO<CuentaDTO> getCuentasPaginadas(String tipoCuenta, Integer clienteId,
+                                                   String cursor, Integer tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        Specification<Cuenta> filtro = Specification.allOf(
+                CuentaEspecificaciones.deTipo(tipoCuenta),
+                CuentaEspecificaciones.deCliente(clienteId),
+                CuentaEspecificaciones.despuesDe(cursor != null ? CursorPaginacion.decodificarId(cursor) : null));
+        // Se pide una fila extra solo para saber si existe una página siguiente
+        List<Cuenta> cuentas = cuentaRepository.findBy(filtro,
+                consulta -> consulta.sortBy(CuentaEspecificaciones.ORDEN).limit(limite + 1).all());
+        String siguienteCursor = null;
+        if (cuentas.size() > limite) {
+            cuentas = cuentas.subList(0, limite);
+            siguienteCursor = CursorPaginacion.codificar(cuentas.get(limite - 1).getId());
+        }
+        List<CuentaDTO> elementos = convertToDTOs(cuentas);
+        return new PaginaDTO<>(elementos, elementos.size(), siguienteCursor);
     }
     
     /**
@@ -79,9 +115,7 @@ public class CuentaService {
      */
     public List<CuentaDTO> getCuentasByClienteId(Integer clienteId) {
         List<Cuenta> cuentas = cuentaRepository.findByClienteId(clienteId);
-        return cuentas.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(cuentas);
     }
     
     /**
@@ -92,9 +126,7 @@ public class CuentaService {
      */
     public List<CuentaDTO> getCuentasByTipo(String tipoCuenta) {
         List<Cuenta> cuentas = cuentaRepository.findByTipoCuenta(tipoCuenta);
-        return cuentas.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(cuentas);
     }
     
     /**
@@ -197,12 +229,28 @@ public class CuentaService {
      * @return DTO correspondiente con los datos de la entidad
      */
     private CuentaDTO convertToDTO(Cuenta cuenta) {
-        CuentaDTO dto = new CuentaDTO();
-        BeanUtils.copyProperties(cuenta, dto);
         // Obtener el nombre del cliente por ID y asignarlo al campo cliente
         String nombreCliente = clienteKafkaConsumer.obtenerNombreCliente(cuenta.getClienteId());
-        dto.setCliente(nombreCliente != null ? nombreCliente : "Cliente no encontrado");
-        return dto;
+        return convertToDTO(cuenta, nombreCliente);
+    }
+    
+    /**
+     * Convierte una lista de cuentas resolviendo los nombres de todos los clientes
+     * distintos en una sola consulta al directorio.
+     * 
+     * @param cuentas Entidades Cuenta a convertir
+     * @return Lista de DTOs en el mismo orden
+     */
+    private List<CuentaDTO> convertToDTOs(List<Cuenta> cuentas) {
+        Map<Integer, String> nombres = clienteKafkaConsumer.obtenerNombresClientes(
+                cuentas.stream().map(Cuenta::getClienteId).collect(Collectors.toSet()));
+        return cuentas.stream()
+                .map(cuenta -> convertToDTO(cuenta, nombres.get(cuenta.getClienteId())))
+                .collect(Collectors.toList());
+    }
+    
+    CuentaDTO convertToDTO(Cuenta cuenta, String nombreCliente) {
+        return cuentaMapper.toDTO(cuenta, nombreCliente);
     }
     
     /**
@@ -211,11 +259,8 @@ public class CuentaService {
      * @param dto DTO Cuenta a convertir
      * @return Entidad correspondiente con los datos del DTO
      */
-    private Cuenta convertToEntity(CuentaDTO dto) {
-        Cuenta cuenta = new Cuenta();
-        BeanUtils.copyProperties(dto, cuenta);
-        // No copiar el campo cliente ya que se maneja por separado
-        cuenta.setClienteId(null); // Se asignará después
-        return cuenta;
+    Cuenta convertToEntity(CuentaDTO dto) {
+        // El cliente se maneja por separado y se asignará después
+        return cuentaMapper.toEntity(dto);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.tata.cuenta_movimiento.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codificación de los cursores opacos usados en la paginación por keyset.
+ * 
+ * <p>El cursor contiene la clave de ordenación del último elemento devuelto
+ * ({@code fecha} e {@code id} para movimientos, {@code id} para cuentas) en Base64
+ * URL-safe. Un cursor mal formado produce {@link IllegalArgumentException}.</p>
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public final class CursorPaginacion {
+    
+    public static final int TAMANO_POR_DEFECTO = 50;
+    public static final int TAMANO_MAXIMO = 500;
+    
+    private static final String SEPARADOR = "|";
+    
+    private CursorPaginacion() {
+    }
+    
+    /**
+     * Posición de un movimiento dentro del orden {@code (fecha, id)}.
+     */
+    public record PosicionMovimiento(LocalDateTime fecha, Long id) {
+    }
+    
+    public static String codificar(LocalDateTime fecha, Long id) {
+        return codificar(fecha + SEPARADOR + id);
+    }
+    
+    public static String codificar(Long id) {
+        return codificar(String.valueOf(id));
+    }
+    
+    public static PosicionMovimiento decodificarMovimiento(String cursor) {
+        String valor = decodificar(cursor);
+        int separador = valor.indexOf(SEPARADOR);
+        if (separador < 0) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+        try {
+            return new PosicionMovimiento(LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+    
+    public static Long decodificarId(String cursor) {
+        try {
+            return Long.valueOf(decodificar(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+    
+    /**
+     * Ajusta el tamaño de página solicitado al rango permitido.
+     * 
+     * @param tamano Tamaño solicitado (puede ser null)
+     * @return Tamaño entre 1 y {@value #TAMANO_MAXIMO}
+     */
+    public static int normalizarTamano(Integer tamano) {
+        if (tamano == null) {
+            return TAMANO_POR_DEFECTO;
+        }
+        return Math.max(1, Math.min(tamano, TAMANO_MAXIMO));
+    }
+    
+    private static String codificar(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String decodificar(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
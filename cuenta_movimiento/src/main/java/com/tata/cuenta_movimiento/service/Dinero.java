@@ -0,0 +1,96 @@
+package com.tata.cuenta_movimiento.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Importe monetario en centavos, representado con un {@code long}.
+ *
+ * <p>Se usa para la aritmética de saldos en {@link MovimientoService}: sumas,
+ * restas y comparaciones se hacen sobre enteros. En los bucles de contabilización
+ * el saldo acumulado se lleva directamente en {@link #centavos()}, ya que el JIT no
+ * siempre puede eliminar una instancia que pasa de una iteración a la siguiente.
+ * Las entidades y los DTOs siguen usando {@link BigDecimal} (columnas
+ * {@code DECIMAL(15,2)}); la conversión en ambos sentidos es exacta y se hace solo
+ * en esos bordes.</p>
+ *
+ * <p>Todas las operaciones comprueban el desbordamiento y lanzan
+ * {@link ArithmeticException} en lugar de dar la vuelta.</p>
+ *
+ * @param centavos Importe en centavos
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public record Dinero(long centavos) implements Comparable<Dinero> {
+
+    /** Decimales de los importes, igual que la escala de las columnas de saldo y valor. */
+    public static final int ESCALA = 2;
+
+    public static final Dinero CERO = new Dinero(0);
+
+    /**
+     * Convierte un importe exacto a centavos.
+     *
+     * @param valor Importe con a lo sumo dos decimales
+     * @return Importe en centavos
+     * @throws IllegalArgumentException si el importe es nulo, tiene más de dos
+     *         decimales o no cabe en un {@code long}
+     */
+    public static Dinero de(BigDecimal valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor es obligatorio");
+        }
+        try {
+            return new Dinero(valor.setScale(ESCALA, RoundingMode.UNNECESSARY).movePointRight(ESCALA).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El valor " + valor.toPlainString()
+                    + " debe tener como máximo " + ESCALA + " decimales y estar dentro del rango permitido");
+        }
+    }
+
+    /**
+     * @return El importe como {@link BigDecimal} con escala 2
+     */
+    public BigDecimal aBigDecimal() {
+        return aBigDecimal(centavos);
+    }
+
+    /**
+     * @param centavos Importe en centavos
+     * @return El importe como {@link BigDecimal} con escala 2
+     */
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    public Dinero sumar(Dinero otro) {
+        return new Dinero(Math.addExact(centavos, otro.centavos));
+    }
+
+    public Dinero restar(Dinero otro) {
+        return new Dinero(Math.subtractExact(centavos, otro.centavos));
+    }
+
+    public Dinero negar() {
+        return new Dinero(Math.negateExact(centavos));
+    }
+
+    public boolean esNegativo() {
+        return centavos < 0;
+    }
+
+    @Override
+    public int compareTo(Dinero otro) {
+        return Long.compare(centavos, otro.centavos);
+    }
+
+    /**
+     * @return El importe con dos decimales, igual que {@code BigDecimal.toString()}
+     *         de un saldo leído de la base de datos (por ejemplo {@code 1425.00})
+     */
+    @Override
+    public String toString() {
+        return aBigDecimal().toPlainString();
+    }
+}
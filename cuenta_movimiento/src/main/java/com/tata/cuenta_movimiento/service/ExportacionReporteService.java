@@ -0,0 +1,103 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tata.cuenta_movimiento.dto.ReporteMovimientoDTO;
+import com.tata.cuenta_movimiento.repository.ReporteMovimientoRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Servicio de exportación en streaming del reporte de movimientos.
+ *
+ * <p>Las filas se escriben en la salida a medida que se leen del cursor de la base
+ * de datos, por lo que la memoria usada no depende del tamaño del reporte.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Service
+public class ExportacionReporteService {
+
+    public enum Formato { NDJSON, CSV }
+
+    static final String CABECERA_CSV =
+            "fecha,cliente,numeroCuenta,tipo,saldoInicial,estado,movimiento,saldoDisponible";
+
+    private final ReporteMovimientoRepository reporteMovimientoRepository;
+    private final ObjectWriter escritorFila;
+
+    public ExportacionReporteService(ReporteMovimientoRepository reporteMovimientoRepository,
+                                     ObjectMapper objectMapper) {
+        this.reporteMovimientoRepository = reporteMovimientoRepository;
+        this.escritorFila = objectMapper.writerFor(ReporteMovimientoDTO.class);
+    }
+
+    /**
+     * Escribe el reporte de un cliente en la salida indicada.
+     *
+     * @param clienteId ID del cliente
+     * @param nombreCliente Nombre a mostrar en cada fila
+     * @param fechaInicio Primer día del rango
+     * @param fechaFin Último día del rango
+     * @param formato Formato de salida
+     * @param salida Flujo de salida (no se cierra)
+     * @return Número de filas escritas
+     * @throws IOException si falla la escritura
+     */
+    public long exportar(Integer clienteId, String nombreCliente, LocalDate fechaInicio, LocalDate fechaFin,
+                         Formato formato, OutputStream salida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        if (formato == Formato.CSV) {
+            escritor.write(CABECERA_CSV);
+            escritor.write('\n');
+        }
+        long[] filas = {0};
+        try {
+            reporteMovimientoRepository.recorrerReporte(clienteId, fechaInicio, fechaFin, nombreCliente, fila -> {
+                try {
+                    escritor.write(formato == Formato.CSV ? aCsv(fila) : escritorFila.writeValueAsString(fila));
+                    escritor.write('\n');
+                    filas[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.flush();
+        return filas[0];
+    }
+
+    private String aCsv(ReporteMovimientoDTO fila) {
+        return String.join(",",
+                String.valueOf(fila.getFecha()),
+                campoCsv(fila.getCliente()),
+                campoCsv(fila.getNumeroCuenta()),
+                campoCsv(fila.getTipo()),
+                String.valueOf(fila.getSaldoInicial()),
+                String.valueOf(fila.getEstado()),
+                String.valueOf(fila.getMovimiento()),
+                String.valueOf(fila.getSaldoDisponible()));
+    }
+
+    private String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
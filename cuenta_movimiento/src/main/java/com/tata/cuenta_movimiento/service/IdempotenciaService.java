@@ -0,0 +1,164 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.exception.DuplicateResourceException;
+import com.tata.cuenta_movimiento.repository.ClaveIdempotenciaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Contabilización idempotente de movimientos con la cabecera {@code Idempotency-Key}.
+ *
+ * <p>Los reintentos de una misma clave no crean movimientos nuevos: devuelven la
+ * respuesta de la primera ejecución. La resolución se hace en tres niveles:</p>
+ * <ul>
+ *   <li>Solicitudes concurrentes con la misma clave en esta instancia esperan a la
+ *       ejecución en curso en lugar de repetirla.</li>
+ *   <li>Las respuestas recientes se guardan en memoria (Caffeine) durante el TTL.</li>
+ *   <li>En otro caso el lote del {@link MotorMovimientos} consulta la tabla
+ *       {@code claves_idempotencia}, que registra la clave junto con el movimiento.</li>
+ * </ul>
+ *
+ * <p>Una clave reutilizada con un cuerpo distinto se rechaza con
+ * {@link DuplicateResourceException}. Las solicitudes sin clave no pasan por este
+ * servicio.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Service
+public class IdempotenciaService {
+
+    public static final String CABECERA = "Idempotency-Key";
+    static final int LONGITUD_MAXIMA_CLAVE = 100;
+
+    private final MotorMovimientos motorMovimientos;
+    private final ClaveIdempotenciaRepository claveIdempotenciaRepository;
+    private final ConcurrentMap<String, CompletableFuture<ClaveIdempotenciaRepository.Registro>> enCurso =
+            new ConcurrentHashMap<>();
+    private final Cache<String, ClaveIdempotenciaRepository.Registro> completadas;
+
+    public IdempotenciaService(MotorMovimientos motorMovimientos,
+                               ClaveIdempotenciaRepository claveIdempotenciaRepository,
+                               @Value("${movimientos.idempotencia.cache-maximo:10000}") long cacheMaximo) {
+        this.motorMovimientos = motorMovimientos;
+        this.claveIdempotenciaRepository = claveIdempotenciaRepository;
+        this.completadas = Caffeine.newBuilder()
+                .maximumSize(cacheMaximo)
+                .expireAfterWrite(claveIdempotenciaRepository.getTtl())
+                .build();
+    }
+
+    /**
+     * Contabiliza el movimiento una sola vez por clave.
+     *
+     * @param clave Valor de la cabecera {@code Idempotency-Key}
+     * @param movimientoDTO Datos del movimiento
+     * @return Movimiento creado, o el de la primera ejecución si la clave ya se usó
+     * @throws IllegalArgumentException si la clave está vacía o es demasiado larga
+     * @throws DuplicateResourceException si la clave ya se usó con otro cuerpo
+     */
+    public MovimientoDTO contabilizar(String clave, MovimientoDTO movimientoDTO) {
+        if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            throw new IllegalArgumentException(
+                    "La cabecera " + CABECERA + " debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+        String huella = huella(movimientoDTO);
+        ClaveIdempotenciaRepository.Registro registro = completadas.getIfPresent(clave);
+        if (registro != null) {
+            return verificar(registro, clave, huella);
+        }
+        CompletableFuture<ClaveIdempotenciaRepository.Registro> propio = new CompletableFuture<>();
+        CompletableFuture<ClaveIdempotenciaRepository.Registro> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            return verificar(esperar(existente), clave, huella);
+        }
+        try {
+            registro = new ClaveIdempotenciaRepository.Registro(clave, huella, ejecutar(clave, huella, movimientoDTO));
+            completadas.put(clave, registro);
+            propio.complete(registro);
+            return registro.respuesta();
+        } catch (RuntimeException e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    private MovimientoDTO ejecutar(String clave, String huella, MovimientoDTO movimientoDTO) {
+        try {
+            return motorMovimientos.contabilizar(new ComandoMovimiento(movimientoDTO, clave, huella));
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia registró la misma clave a la vez; al reenviar, el lote
+            // encuentra la clave y devuelve la respuesta almacenada
+            log.debug("Clave de idempotencia {} registrada por otra instancia, se reenvía", clave);
+            return motorMovimientos.contabilizar(new ComandoMovimiento(movimientoDTO, clave, huella));
+        }
+    }
+
+    private ClaveIdempotenciaRepository.Registro esperar(CompletableFuture<ClaveIdempotenciaRepository.Registro> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private MovimientoDTO verificar(ClaveIdempotenciaRepository.Registro registro, String clave, String huella) {
+        if (!registro.huella().equals(huella)) {
+            throw new DuplicateResourceException(
+                    "La clave de idempotencia '" + clave + "' ya se usó con una solicitud distinta o está en proceso");
+        }
+        return registro.respuesta();
+    }
+
+    /**
+     * Elimina periódicamente las claves vencidas de la base de datos.
+     */
+    @Scheduled(initialDelayString = "${movimientos.idempotencia.purga-intervalo:10m}",
+               fixedDelayString = "${movimientos.idempotencia.purga-intervalo:10m}")
+    public void purgarVencidas() {
+        int eliminadas = claveIdempotenciaRepository.eliminarVencidas();
+        if (eliminadas > 0) {
+            log.info("Claves de idempotencia vencidas eliminadas: {}", eliminadas);
+        }
+    }
+
+    /**
+     * SHA-256 de los campos que definen el movimiento, para detectar una clave
+     * reutilizada con otro cuerpo.
+     */
+    static String huella(MovimientoDTO movimientoDTO) {
+        BigDecimal valor = movimientoDTO.getValor();
+        String contenido = movimientoDTO.getCuentaId() + "|" + movimientoDTO.getTipoMovimiento() + "|"
+                + (valor != null ? valor.stripTrailingZeros().toPlainString() : null) + "|"
+                + movimientoDTO.getDescripcion();
+        try {
+            byte[] resumen = MessageDigest.getInstance("SHA-256").digest(contenido.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(resumen);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Motor de contabilización de movimientos con un único escritor por cuenta.
+ * 
+ * <p>Cada solicitud se asigna a una de N colas (shards) según el hash del id de
+ * la cuenta, de modo que todos los movimientos de una misma cuenta se aplican en
+ * orden por el mismo hilo. Cada hilo toma de su cola un lote de solicitudes y lo
+ * confirma en una sola transacción: bloquea cada cuenta una vez, inserta todos sus
+ * movimientos y escribe un único saldo final por cuenta.</p>
+ * 
+ * <p>Así, las cuentas con mucho tráfico ya no mantienen ocupadas varias conexiones
+ * del pool esperando el bloqueo de la misma fila.</p>
+ * 
+ * <p>Si vence {@code movimientos.motor.timeout} antes de que un trabajador tome la
+ * solicitud, se cancela y se responde con {@link RejectedExecutionException}: el
+ * movimiento no se contabiliza y se puede reintentar. Si el lote ya la tomó, se
+ * espera a que se confirme para devolver el resultado real.</p>
+ * 
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Component
+public class MotorMovimientos {
+    
+    private final MovimientoService movimientoService;
+    private final boolean habilitado;
+    private final int tamanoLote;
+    private final Duration timeout;
+    private final List<BlockingQueue<ComandoMovimiento>> colas = new ArrayList<>();
+    private final List<Thread> trabajadores = new ArrayList<>();
+    private volatile boolean activo;
+    
+    public MotorMovimientos(MovimientoService movimientoService,
+                            MeterRegistry meterRegistry,
+                            @Value("${movimientos.motor.habilitado:true}") boolean habilitado,
+                            @Value("${movimientos.motor.shards:8}") int shards,
+                            @Value("${movimientos.motor.tamano-lote:64}") int tamanoLote,
+                            @Value("${movimientos.motor.capacidad-cola:10000}") int capacidadCola,
+                            @Value("${movimientos.motor.timeout:10s}") Duration timeout) {
+        this.movimientoService = movimientoService;
+        this.habilitado = habilitado;
+        this.tamanoLote = tamanoLote;
+        this.timeout = timeout;
+        for (int i = 0; i < shards; i++) {
+            colas.add(new ArrayBlockingQueue<>(capacidadCola));
+        }
+        Gauge.builder("movimientos.motor.pendientes", colas,
+                        c -> c.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Movimientos en cola pendientes de contabilizar")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        activo = true;
+        for (int i = 0; i < colas.size(); i++) {
+            BlockingQueue<ComandoMovimiento> cola = colas.get(i);
+            Thread trabajador = new Thread(() -> procesarCola(cola), "motor-movimientos-" + i);
+            trabajador.setDaemon(true);
+            trabajador.start();
+            trabajadores.add(trabajador);
+        }
+    }
+    
+    @PreDestroy
+    void detener() {
+        activo = false;
+        trabajadores.forEach(Thread::interrupt);
+        for (BlockingQueue<ComandoMovimiento> cola : colas) {
+            List<ComandoMovimiento> pendientes = new ArrayList<>();
+            cola.drainTo(pendientes);
+            pendientes.forEach(c -> c.fallar(new RejectedExecutionException("El motor de movimientos se está deteniendo")));
+        }
+    }
+    
+    /**
+     * Encola un movimiento para su contabilización.
+     * 
+     * @param movimientoDTO Datos del movimiento
+     * @return Futuro que se completa con el movimiento creado cuando se confirma el lote
+     */
+    public CompletableFuture<MovimientoDTO> enviar(MovimientoDTO movimientoDTO) {
+        if (!habilitado) {
+            return CompletableFuture.completedFuture(movimientoService.createMovimiento(movimientoDTO));
+        }
+        return enviar(new ComandoMovimiento(movimientoDTO));
+    }
+    
+    /**
+     * Encola un comando ya construido (por ejemplo, con clave de idempotencia).
+     * 
+     * @param comando Comando a contabilizar
+     * @return Futuro que se completa con el movimiento creado cuando se confirma el lote
+     */
+    public CompletableFuture<MovimientoDTO> enviar(ComandoMovimiento comando) {
+        if (!habilitado) {
+            comando.tomar();
+            procesarLote(List.of(comando));
+            return comando.getResultado();
+        }
+        BlockingQueue<ComandoMovimiento> cola = colas.get(Math.floorMod(comando.getDatos().getCuentaId().hashCode(), colas.size()));
+        if (!cola.offer(comando)) {
+            throw new RejectedExecutionException("La cola de movimientos está llena, intente nuevamente");
+        }
+        return comando.getResultado();
+    }
+    
+    /**
+     * Encola un movimiento y espera a que se contabilice.
+     * 
+     * @param movimientoDTO Datos del movimiento
+     * @return Movimiento creado
+     */
+    public MovimientoDTO contabilizar(MovimientoDTO movimientoDTO) {
+        if (!habilitado) {
+            return movimientoService.createMovimiento(movimientoDTO);
+        }
+        return contabilizar(new ComandoMovimiento(movimientoDTO));
+    }
+    
+    /**
+     * Encola un comando y espera a que se contabilice.
+     * 
+     * @param comando Comando a contabilizar
+     * @return Movimiento creado (o la respuesta almacenada si la clave de idempotencia ya existía)
+     */
+    public MovimientoDTO contabilizar(ComandoMovimiento comando) {
+        CompletableFuture<MovimientoDTO> resultado = enviar(comando);
+        try {
+            try {
+                return resultado.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (comando.cancelar()) {
+                    throw new RejectedExecutionException(
+                            "Tiempo de espera agotado: el movimiento no se contabilizó, intente nuevamente");
+                }
+                // El lote ya la tomó: su resultado llega al confirmar la transacción
+                return resultado.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            comando.cancelar();
+            throw new IllegalStateException("Contabilización interrumpida", e);
+        }
+    }
+    
+    private void procesarCola(BlockingQueue<ComandoMovimiento> cola) {
+        List<ComandoMovimiento> lote = new ArrayList<>(tamanoLote);
+        while (activo) {
+            try {
+                lote.add(cola.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            cola.drainTo(lote, tamanoLote - 1);
+            // Las solicitudes canceladas por tiempo de espera no se contabilizan
+            lote.removeIf(comando -> !comando.tomar());
+            if (!lote.isEmpty()) {
+                procesarLote(lote);
+            }
+            lote.clear();
+        }
+    }
+    
+    private void procesarLote(List<ComandoMovimiento> lote) {
+        try {
+            movimientoService.contabilizarLote(lote);
+            lote.forEach(ComandoMovimiento::completar);
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                lote.get(0).fallar(e);
+                return;
+            }
+            // Aislar la solicitud que provocó el fallo reintentando una a una
+            log.warn("Falló un lote de {} movimientos, se reintenta individualmente: {}", lote.size(), e.getMessage());
+            for (ComandoMovimiento comando : lote) {
+                comando.reiniciar();
+                procesarLote(List.of(comando));
+            }
+        }
+    }
+}
@@ -2,25 +2,38 @@ package com.tata.cuenta_movimiento.service;
 
 import com.tata.cuenta_movimiento.dto.MovimientoDTO;
 import com.tata.cuenta_movimiento.dto.MovimientoOperacionDTO;
+import com.tata.cuenta_movimiento.dto.PaginaDTO;
 import com.tata.cuenta_movimiento.dto.ReporteMovimientoDTO;
+import com.tata.cuenta_movimiento.dto.TransferenciaDTO;
+import com.tata.cuenta_movimiento.dto.TransferenciaResultadoDTO;
 import com.tata.cuenta_movimiento.entity.Cuenta;
 import com.tata.cuenta_movimiento.entity.Movimiento;
+import com.tata.cuenta_movimiento.exception.DuplicateResourceException;
 import com.tata.cuenta_movimiento.exception.InsufficientFundsException;
 import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
+import com.tata.cuenta_movimiento.mapper.MovimientoMapper;
+import com.tata.cuenta_movimiento.repository.ClaveIdempotenciaRepository;
 import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoEspecificaciones;
+import com.tata.cuenta_movimiento.repository.MovimientoLoteRepository;
 import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import com.tata.cuenta_movimiento.repository.OutboxMovimientoRepository;
+import com.tata.cuenta_movimiento.repository.ReporteMovimientoRepository;
+import com.tata.cuenta_movimiento.repository.SaldoDiarioRepository;
 import com.tata.cuenta_movimiento.kafka.ClienteKafkaConsumer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Comparator;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -42,6 +55,12 @@ public class MovimientoService {
     
     private final MovimientoRepository movimientoRepository;
     private final CuentaRepository cuentaRepository;
+    private final MovimientoLoteRepository movimientoLoteRepository;
+    private final ReporteMovimientoRepository reporteMovimientoRepository;
+    private final ClaveIdempotenciaRepository claveIdempotenciaRepository;
+    private final OutboxMovimientoRepository outboxMovimientoRepository;
+    private final SaldoDiarioRepository saldoDiarioRepository;
+    private final MovimientoMapper movimientoMapper;
     @Autowired
     private ClienteKafkaConsumer clienteKafkaConsumer;
     
@@ -57,6 +76,51 @@ public class MovimientoService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene una página de movimientos, del más reciente al más antiguo, con
+     * filtros opcionales por cuenta, tipo y rango de fechas.
+     * 
+     * <p>La paginación es por keyset sobre {@code (fecha, id)}: el cursor indica el
+     * último movimiento devuelto y la consulta continúa a partir de él, por lo que el
+     * tiempo de cada página no depende de cuántas se hayan recorrido antes.</p>
+     * 
+     * @param cuentaId ID de la cuenta (opcional)
+     * @param tipoMovimiento Tipo de movimiento (opcional)
+     * @param fechaInicio Fecha mínima (opcional)
+     * @param fechaFin Fecha máxima (opcional)
+     * @param cursor Cursor devuelto por la página anterior (opcional)
+     * @param tamano Tamaño de página solicitado
+     * @return Página de movimientos con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public PaginaDTO<MovimientoDTO> getMovimientosPaginados(Long cuentaId, String tipoMovimiento,
+                                                           LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                                           String cursor, Integer tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        CursorPaginacion.PosicionMovimiento posicion = cursor != null
+                ? CursorPaginacion.decodificarMovimiento(cursor)
+                : new CursorPaginacion.PosicionMovimiento(null, null);
+        Specification<Movimiento> filtro = Specification.allOf(
+                MovimientoEspecificaciones.deCuenta(cuentaId),
+                MovimientoEspecificaciones.deTipo(tipoMovimiento),
+                MovimientoEspecificaciones.desde(fechaInicio),
+                MovimientoEspecificaciones.hasta(fechaFin),
+                MovimientoEspecificaciones.despuesDe(posicion.fecha(), posicion.id()));
+        // Se pide una fila extra solo para saber si existe una página siguiente
+        List<Movimiento> movimientos = movimientoRepository.findBy(filtro,
+                consulta -> consulta.sortBy(MovimientoEspecificaciones.ORDEN).limit(limite + 1).all());
+        String siguienteCursor = null;
+        if (movimientos.size() > limite) {
+            movimientos = movimientos.subList(0, limite);
+            Movimiento ultimo = movimientos.get(limite - 1);
+            siguienteCursor = CursorPaginacion.codificar(ultimo.getFecha(), ultimo.getId());
+        }
+        List<MovimientoDTO> elementos = movimientos.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new PaginaDTO<>(elementos, elementos.size(), siguienteCursor);
+    }
+    
     /**
      * Obtiene un movimiento específico por su ID.
      * 
@@ -128,51 +192,242 @@ public class MovimientoService {
     /**
      * Crea un nuevo movimiento y actualiza el saldo de la cuenta.
      * 
+     * <p>El saldo se modifica con una actualización condicional en la base de datos
+     * ({@code saldo + delta >= 0}), de modo que la validación de fondos y el cambio
+     * de saldo son atómicos aunque existan movimientos concurrentes sobre la misma
+     * cuenta. El saldo resultante se lee dentro de la misma transacción, mientras la
+     * fila sigue bloqueada.</p>
+     * 
+     * <p>El movimiento se registra en el outbox de eventos y en los saldos diarios en
+     * la misma transacción.</p>
+     * 
      * @param movimientoDTO Datos del movimiento a crear
      * @return DTO del movimiento creado con ID asignado
      * @throws ResourceNotFoundException si la cuenta no existe
-     * @throws InsufficientFundsException si no hay fondos suficientes para retiros
+     * @throws InsufficientFundsException si no hay fondos suficientes para débitos
      */
     @Transactional
     public MovimientoDTO createMovimiento(MovimientoDTO movimientoDTO) {
-        // Obtener la cuenta para validar saldo y actualizarlo
-        Cuenta cuenta = cuentaRepository.findById(movimientoDTO.getCuentaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cuenta", "id", movimientoDTO.getCuentaId()));
-        // Validar fondos para retiros usando el saldo real de la cuenta
-        if (esRetiro(movimientoDTO.getTipoMovimiento())) {
-            if (cuenta.getSaldo().compareTo(movimientoDTO.getValor()) < 0) {
-                throw new InsufficientFundsException(
-                    cuenta.getNumeroCuenta(),
-                    cuenta.getSaldo().toString(),
-                    movimientoDTO.getValor().toString()
-                );
-            }
+        Long cuentaId = movimientoDTO.getCuentaId();
+        long delta = calcularNuevoSaldo(0, movimientoDTO.getTipoMovimiento(),
+                Dinero.de(movimientoDTO.getValor()).centavos());
+        // Validar fondos y actualizar saldo en una sola sentencia
+        if (cuentaRepository.aplicarMovimiento(cuentaId, Dinero.aBigDecimal(delta), LocalDateTime.now()) == 0) {
+            Cuenta cuenta = cuentaRepository.findById(cuentaId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cuenta", "id", cuentaId));
+            throw new InsufficientFundsException(
+                cuenta.getNumeroCuenta(),
+                cuenta.getSaldo().toString(),
+                movimientoDTO.getValor().toString()
+            );
         }
-        // Calcular nuevo saldo
-        BigDecimal nuevoSaldo = calcularNuevoSaldo(cuenta.getSaldo(), movimientoDTO.getTipoMovimiento(), movimientoDTO.getValor());
+        BigDecimal nuevoSaldo = cuentaRepository.findSaldoById(cuentaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cuenta", "id", cuentaId));
         // Crear el movimiento
         Movimiento movimiento = new Movimiento();
         movimiento.setFecha(LocalDateTime.now());
         movimiento.setTipoMovimiento(movimientoDTO.getTipoMovimiento());
         movimiento.setValor(movimientoDTO.getValor());
         movimiento.setSaldo(nuevoSaldo);
-        movimiento.setCuenta(cuenta);
+        movimiento.setCuenta(cuentaRepository.getReferenceById(cuentaId));
         movimiento.setDescripcion(movimientoDTO.getDescripcion());
         Movimiento savedMovimiento = movimientoRepository.save(movimiento);
-        // Actualizar saldo de la cuenta
-        cuenta.setSaldo(nuevoSaldo);
-        cuentaRepository.save(cuenta);
-        return convertToDTO(savedMovimiento);
+        MovimientoDTO creado = convertToDTO(savedMovimiento);
+        outboxMovimientoRepository.registrar(List.of(creado));
+        saldoDiarioRepository.registrar(List.of(creado));
+        return creado;
+    }
+    
+    /**
+     * Contabiliza un lote de movimientos en una sola transacción.
+     * 
+     * <p>Las cuentas se bloquean en orden ascendente de id para evitar interbloqueos.
+     * Para cada cuenta se aplican sus movimientos en el orden recibido, se insertan
+     * todos los movimientos y se escribe una única vez el saldo final. Los errores de
+     * negocio (cuenta inexistente, fondos insuficientes) se registran en el comando
+     * correspondiente sin afectar al resto del lote.</p>
+     * 
+     * <p>Los movimientos se insertan en un único lote JDBC con
+     * {@link MovimientoLoteRepository}.</p>
+     * 
+     * <p>Las claves de idempotencia del lote se buscan con una sola consulta: los
+     * comandos cuya clave ya existe reciben la respuesta almacenada y no se vuelven a
+     * contabilizar. Las claves nuevas se insertan en la misma transacción que sus
+     * movimientos.</p>
+     * 
+     * <p>Cada movimiento creado se registra también en el outbox
+     * ({@link OutboxMovimientoRepository}) y en los saldos diarios
+     * ({@link SaldoDiarioRepository}) dentro de la misma transacción.</p>
+     * 
+     * @param comandos Movimientos a contabilizar
+     */
+    @Transactional
+    public void contabilizarLote(List<ComandoMovimiento> comandos) {
+        Map<String, ClaveIdempotenciaRepository.Registro> clavesExistentes = buscarClavesExistentes(comandos);
+        Map<Long, List<ComandoMovimiento>> porCuenta = new TreeMap<>();
+        List<ClaveIdempotenciaRepository.Registro> clavesNuevas = new ArrayList<>();
+        List<MovimientoDTO> creados = new ArrayList<>();
+        for (ComandoMovimiento comando : comandos) {
+            if (comando.getError() != null) {
+                continue;
+            }
+            ClaveIdempotenciaRepository.Registro existente = comando.getClaveIdempotencia() != null
+                    ? clavesExistentes.get(comando.getClaveIdempotencia()) : null;
+            if (existente != null) {
+                // Reintento: se devuelve la respuesta original sin volver a contabilizar
+                if (existente.huella().equals(comando.getHuella())) {
+                    comando.registrarRespuesta(existente.respuesta());
+                } else {
+                    comando.registrarError(claveReutilizada(comando.getClaveIdempotencia()));
+                }
+                continue;
+            }
+            porCuenta.computeIfAbsent(comando.getDatos().getCuentaId(), id -> new ArrayList<>()).add(comando);
+        }
+        for (Map.Entry<Long, List<ComandoMovimiento>> entrada : porCuenta.entrySet()) {
+            Long cuentaId = entrada.getKey();
+            Cuenta cuenta = cuentaRepository.findByIdForUpdate(cuentaId).orElse(null);
+            if (cuenta == null) {
+                entrada.getValue().forEach(c -> c.registrarError(new ResourceNotFoundException("Cuenta", "id", cuentaId)));
+                continue;
+            }
+            // El saldo acumulado se lleva en centavos para no crear objetos por movimiento
+            long saldo = Dinero.de(cuenta.getSaldo()).centavos();
+            List<Movimiento> nuevos = new ArrayList<>();
+            List<ComandoMovimiento> aceptados = new ArrayList<>();
+            for (ComandoMovimiento comando : entrada.getValue()) {
+                MovimientoDTO datos = comando.getDatos();
+                long valor;
+                try {
+                    valor = Dinero.de(datos.getValor()).centavos();
+                } catch (IllegalArgumentException e) {
+                    comando.registrarError(e);
+                    continue;
+                }
+                long nuevoSaldo = calcularNuevoSaldo(saldo, datos.getTipoMovimiento(), valor);
+                if (nuevoSaldo < 0) {
+                    comando.registrarError(new InsufficientFundsException(
+                        cuenta.getNumeroCuenta(), new Dinero(saldo).toString(), datos.getValor().toString()));
+                    continue;
+                }
+                saldo = nuevoSaldo;
+                nuevos.add(new Movimiento(LocalDateTime.now(), datos.getTipoMovimiento(), datos.getValor(),
+                        Dinero.aBigDecimal(nuevoSaldo), cuenta, datos.getDescripcion()));
+                aceptados.add(comando);
+            }
+            if (nuevos.isEmpty()) {
+                continue;
+            }
+            movimientoLoteRepository.insertarLote(nuevos);
+            // Un único UPDATE del saldo por cuenta al confirmar el lote
+            cuenta.setSaldo(Dinero.aBigDecimal(saldo));
+            for (int i = 0; i < nuevos.size(); i++) {
+                ComandoMovimiento comando = aceptados.get(i);
+                MovimientoDTO respuesta = convertToDTO(nuevos.get(i));
+                comando.registrarRespuesta(respuesta);
+                creados.add(respuesta);
+                if (comando.getClaveIdempotencia() != null) {
+                    clavesNuevas.add(new ClaveIdempotenciaRepository.Registro(
+                            comando.getClaveIdempotencia(), comando.getHuella(), respuesta));
+                }
+            }
+        }
+        claveIdempotenciaRepository.registrar(clavesNuevas);
+        outboxMovimientoRepository.registrar(creados);
+        saldoDiarioRepository.registrar(creados);
+    }
+    
+    private Map<String, ClaveIdempotenciaRepository.Registro> buscarClavesExistentes(List<ComandoMovimiento> comandos) {
+        Map<String, ComandoMovimiento> conClave = new HashMap<>();
+        for (ComandoMovimiento comando : comandos) {
+            String clave = comando.getClaveIdempotencia();
+            if (clave == null) {
+                continue;
+            }
+            if (conClave.putIfAbsent(clave, comando) != null) {
+                // La misma clave dos veces en el lote: solo la primera se contabiliza
+                comando.registrarError(claveReutilizada(clave));
+            }
+        }
+        if (conClave.isEmpty()) {
+            return Map.of();
+        }
+        return claveIdempotenciaRepository.buscarVigentes(conClave.keySet());
+    }
+    
+    private DuplicateResourceException claveReutilizada(String clave) {
+        return new DuplicateResourceException(
+                "La clave de idempotencia '" + clave + "' ya se usó con una solicitud distinta o está en proceso");
+    }
+    
+    /**
+     * Transfiere fondos entre dos cuentas en una sola transacción.
+     * 
+     * <p>Ambas cuentas se bloquean en orden ascendente de id, sin importar cuál es
+     * el origen, de modo que transferencias concurrentes A→B y B→A nunca se
+     * interbloquean. Se registran dos movimientos: un {@code TRANSFERENCIA} (débito)
+     * en el origen y un {@code DEPOSITO} (crédito) en el destino, cada uno con una
+     * descripción que identifica la otra cuenta.</p>
+     * 
+     * @param transferenciaDTO Datos de la transferencia
+     * @return Movimientos de débito y crédito creados
+     * @throws IllegalArgumentException si el origen y el destino son la misma cuenta
+     * @throws ResourceNotFoundException si alguna de las cuentas no existe
+     * @throws InsufficientFundsException si la cuenta de origen no tiene fondos suficientes
+     */
+    @Transactional
+    public TransferenciaResultadoDTO transferir(TransferenciaDTO transferenciaDTO) {
+        Long origenId = transferenciaDTO.getCuentaOrigenId();
+        Long destinoId = transferenciaDTO.getCuentaDestinoId();
+        if (origenId.equals(destinoId)) {
+            throw new IllegalArgumentException("La cuenta de origen y la de destino deben ser distintas");
+        }
+        // Bloquear siempre primero la cuenta de menor id para evitar interbloqueos
+        Long primeroId = Math.min(origenId, destinoId);
+        Long segundoId = Math.max(origenId, destinoId);
+        Cuenta primera = cuentaRepository.findByIdForUpdate(primeroId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cuenta", "id", primeroId));
+        Cuenta segunda = cuentaRepository.findByIdForUpdate(segundoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cuenta", "id", segundoId));
+        Cuenta origen = origenId.equals(primeroId) ? primera : segunda;
+        Cuenta destino = origen == primera ? segunda : primera;
+        
+        BigDecimal valor = transferenciaDTO.getValor();
+        Dinero importe = Dinero.de(valor);
+        Dinero saldoOrigen = Dinero.de(origen.getSaldo());
+        if (saldoOrigen.compareTo(importe) < 0) {
+            throw new InsufficientFundsException(
+                origen.getNumeroCuenta(), origen.getSaldo().toString(), valor.toString());
+        }
+        origen.setSaldo(saldoOrigen.restar(importe).aBigDecimal());
+        destino.setSaldo(Dinero.de(destino.getSaldo()).sumar(importe).aBigDecimal());
+        
+        LocalDateTime fecha = LocalDateTime.now();
+        origen.setFechaActualizacion(fecha);
+        destino.setFechaActualizacion(fecha);
+        String detalle = transferenciaDTO.getDescripcion() != null ? " - " + transferenciaDTO.getDescripcion() : "";
+        Movimiento debito = new Movimiento(fecha, "TRANSFERENCIA", valor, origen.getSaldo(), origen,
+                "Transferencia a cuenta " + destino.getNumeroCuenta() + detalle);
+        Movimiento credito = new Movimiento(fecha, "DEPOSITO", valor, destino.getSaldo(), destino,
+                "Transferencia desde cuenta " + origen.getNumeroCuenta() + detalle);
+        movimientoLoteRepository.insertarLote(List.of(debito, credito));
+        TransferenciaResultadoDTO resultado = new TransferenciaResultadoDTO(convertToDTO(debito), convertToDTO(credito));
+        outboxMovimientoRepository.registrar(List.of(resultado.getDebito(), resultado.getCredito()));
+        saldoDiarioRepository.registrar(List.of(resultado.getDebito(), resultado.getCredito()));
+        return resultado;
     }
     
     /**
      * Actualiza completamente los datos de un movimiento existente.
      * 
+     * <p>Los saldos diarios de la cuenta se recalculan en la misma transacción.</p>
+     * 
      * @param id ID del movimiento a actualizar
      * @param movimientoDTO Nuevos datos del movimiento
      * @return DTO del movimiento actualizado
      * @throws ResourceNotFoundException si el movimiento no existe
      */
+    @Transactional
     public MovimientoDTO updateMovimiento(Long id, MovimientoDTO movimientoDTO) {
         Movimiento existingMovimiento = movimientoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Movimiento", "id", id));
@@ -184,51 +439,49 @@ public class MovimientoService {
         existingMovimiento.setSaldo(movimientoDTO.getSaldo());
         existingMovimiento.setDescripcion(movimientoDTO.getDescripcion());
         
-        Movimiento updatedMovimiento = movimientoRepository.save(existingMovimiento);
+        Movimiento updatedMovimiento = movimientoRepository.saveAndFlush(existingMovimiento);
+        saldoDiarioRepository.reconstruirCuenta(updatedMovimiento.getCuenta().getId());
         return convertToDTO(updatedMovimiento);
     }
     
     /**
      * Elimina permanentemente un movimiento del sistema.
      * 
+     * <p>Los saldos diarios de la cuenta se recalculan en la misma transacción.</p>
+     * 
      * @param id ID del movimiento a eliminar
      * @throws ResourceNotFoundException si el movimiento no existe
      */
+    @Transactional
     public void deleteMovimiento(Long id) {
-        if (!movimientoRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Movimiento", "id", id);
-        }
-        movimientoRepository.deleteById(id);
-    }
-    
-    /**
-     * Verifica si un tipo de movimiento es un retiro.
-     * 
-     * @param tipoMovimiento Tipo de movimiento
-     * @return true si es un retiro, false en caso contrario
-     */
-    private boolean esRetiro(String tipoMovimiento) {
-        return "RETIRO".equals(tipoMovimiento) || "PAGO".equals(tipoMovimiento);
+        Movimiento movimiento = movimientoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Movimiento", "id", id));
+        Long cuentaId = movimiento.getCuenta().getId();
+        movimientoRepository.delete(movimiento);
+        movimientoRepository.flush();
+        saldoDiarioRepository.reconstruirCuenta(cuentaId);
     }
     
     /**
-     * Calcula el nuevo saldo basado en el tipo de movimiento.
+     * Calcula el nuevo saldo basado en el tipo de movimiento, en centavos
+     * ({@link Dinero#centavos()}).
      * 
-     * @param saldoActual Saldo actual de la cuenta
+     * @param saldoActual Saldo actual de la cuenta en centavos
      * @param tipoMovimiento Tipo de movimiento
-     * @param valor Valor del movimiento
-     * @return Nuevo saldo calculado
+     * @param valor Valor del movimiento en centavos
+     * @return Nuevo saldo calculado en centavos
+     * @throws ArithmeticException si el resultado desborda el rango de un {@code long}
      */
-    private BigDecimal calcularNuevoSaldo(BigDecimal saldoActual, String tipoMovimiento, BigDecimal valor) {
+    long calcularNuevoSaldo(long saldoActual, String tipoMovimiento, long valor) {
         switch (tipoMovimiento) {
             case "DEPOSITO":
-                return saldoActual.add(valor);
+                return Math.addExact(saldoActual, valor);
             case "RETIRO":
             case "PAGO":
-                return saldoActual.subtract(valor);
+                return Math.subtractExact(saldoActual, valor);
             case "TRANSFERENCIA":
                 // Para transferencias, asumimos que es una salida de fondos
-                return saldoActual.subtract(valor);
+                return Math.subtractExact(saldoActual, valor);
             default:
                 return saldoActual;
         }
@@ -240,13 +493,8 @@ public class MovimientoService {
      * @param movimiento Entidad Movimiento a convertir
      * @return DTO correspondiente con los datos de la entidad
      */
-    private MovimientoDTO convertToDTO(Movimiento movimiento) {
-        MovimientoDTO dto = new MovimientoDTO();
-        BeanUtils.copyProperties(movimiento, dto);
-        if (movimiento.getCuenta() != null) {
-            dto.setCuentaId(movimiento.getCuenta().getId());
-        }
-        return dto;
+    MovimientoDTO convertToDTO(Movimiento movimiento) {
+        return movimientoMapper.toDTO(movimiento);
     }
     
     /**
@@ -255,10 +503,8 @@ public class MovimientoService {
      * @param dto DTO Movimiento a convertir
      * @return Entidad correspondiente con los datos del DTO
      */
-    private Movimiento convertToEntity(MovimientoDTO dto) {
-        Movimiento movimiento = new Movimiento();
-        BeanUtils.copyProperties(dto, movimiento);
-        return movimiento;
+    Movimiento convertToEntity(MovimientoDTO dto) {
+        return movimientoMapper.toEntity(dto);
     }
 
     public MovimientoDTO convertirOperacionAMovimiento(MovimientoOperacionDTO operacionDTO) {
@@ -267,75 +513,33 @@ public class MovimientoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cuenta", "numeroCuenta", operacionDTO.getNumeroCuenta()));
 
         // Analizar el campo movimiento para obtener tipo y valor
-        String movimiento = operacionDTO.getMovimiento().toUpperCase();
-        String tipoMovimiento;
-        Double valor;
-        if (movimiento.contains("RETIRO")) {
-            tipoMovimiento = "RETIRO";
-            valor = extraerValor(movimiento);
-        } else if (movimiento.contains("DEPOSITO")) {
-            tipoMovimiento = "DEPOSITO";
-            valor = extraerValor(movimiento);
-        } else {
-            throw new IllegalArgumentException("Tipo de movimiento no soportado: " + operacionDTO.getMovimiento());
-        }
+        OperacionMovimientoParser.Operacion operacion =
+                OperacionMovimientoParser.analizar(operacionDTO.getMovimiento());
 
         MovimientoDTO dto = new MovimientoDTO();
-        dto.setTipoMovimiento(tipoMovimiento);
-        dto.setValor(valor != null ? java.math.BigDecimal.valueOf(valor) : null);
-        dto.setSaldo(java.math.BigDecimal.valueOf(operacionDTO.getSaldoInicial()));
+        dto.setTipoMovimiento(operacion.tipoMovimiento());
+        dto.setValor(operacion.valor());
+        dto.setSaldo(operacionDTO.getSaldoInicial());
         dto.setCuentaId(cuenta.getId());
         dto.setDescripcion(operacionDTO.getMovimiento());
         // La fecha se asigna automáticamente en createMovimiento
         return dto;
     }
 
-    private Double extraerValor(String movimiento) {
-        // Extrae el primer número que encuentre en el string
-        java.util.regex.Matcher matcher = java.util.regex.Pattern.compile("(\\d+([.,]\\d+)?)").matcher(movimiento);
-        if (matcher.find()) {
-            return Double.valueOf(matcher.group(1).replace(",", "."));
-        }
-        return null;
-    }
-
+    /**
+     * Genera el reporte de movimientos (estado de cuenta) de un cliente.
+     * 
+     * <p>Se resuelve con una única consulta sobre cuentas, movimientos y saldos
+     * diarios, acotada al rango de fechas; el nombre del cliente se obtiene una sola
+     * vez para todo el reporte.</p>
+     * 
+     * @param fechaInicio Primer día del rango
+     * @param fechaFin Último día del rango
+     * @param clienteId ID del cliente
+     * @return Movimientos de todas las cuentas del cliente, ordenados por cuenta y fecha
+     */
     public List<ReporteMovimientoDTO> obtenerReporteMovimientos(LocalDate fechaInicio, LocalDate fechaFin, Integer clienteId) {
-        // Buscar todas las cuentas del cliente
-        List<Cuenta> cuentas = cuentaRepository.findByClienteId(clienteId);
-        List<ReporteMovimientoDTO> reporte = new ArrayList<>();
-        for (Cuenta cuenta : cuentas) {
-            // Buscar movimientos de la cuenta en el rango de fechas
-            LocalDateTime inicio = fechaInicio.atStartOfDay();
-            LocalDateTime fin = fechaFin.atTime(23, 59, 59);
-            List<Movimiento> movimientos = movimientoRepository.findByCuentaIdAndFechaBetween(cuenta.getId(), inicio, fin);
-            BigDecimal saldoAntes = new BigDecimal(0);
-            // Ordenar movimientos por fecha ascendente
-            movimientos.sort(Comparator.comparing(Movimiento::getFecha));
-            for (Movimiento mov : movimientos) {
-                ReporteMovimientoDTO dto = new ReporteMovimientoDTO();
-                dto.setFecha(mov.getFecha());
-                dto.setCliente(clienteKafkaConsumer.obtenerNombreCliente(cuenta.getClienteId()));
-                dto.setNumeroCuenta(cuenta.getNumeroCuenta());
-                dto.setTipo(cuenta.getTipoCuenta());
-                // El saldo inicial es el saldo antes del movimiento
-                dto.setSaldoInicial(saldoAntes);
-                dto.setEstado(cuenta.getEstado());
-                // El movimiento es negativo si es retiro
-                BigDecimal valorMovimiento = mov.getValor();
-                if ("RETIRO".equalsIgnoreCase(mov.getTipoMovimiento())) {
-                    dto.setSaldoInicial(mov.getSaldo().add(mov.getValor()));
-                    valorMovimiento = valorMovimiento.negate();
-                    
-                }else{
-                    dto.setSaldoInicial(mov.getSaldo().subtract(mov.getValor()));
-                }
-                dto.setMovimiento(valorMovimiento);
-                dto.setSaldoDisponible(mov.getSaldo());
-                // Actualizar saldoAntes para el siguiente movimiento
-                saldoAntes = mov.getSaldo();
-                reporte.add(dto);
-            }
-        }
-        return reporte;
+        String nombreCliente = clienteKafkaConsumer.obtenerNombreCliente(clienteId);
+        return reporteMovimientoRepository.obtenerReporte(clienteId, fechaInicio, fechaFin, nombreCliente);
     }
-} 
\ No newline at end of file
+}
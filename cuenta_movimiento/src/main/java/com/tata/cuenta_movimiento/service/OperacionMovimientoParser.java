@@ -0,0 +1,152 @@
+package com.tata.cuenta_movimiento.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Analizador del texto libre de una operación ({@code "Retiro de 575"},
+ * {@code "Deposito de 1,250.50"}, ...) recibido en {@code POST /movimientos/operacion}.
+ *
+ * <p>Recorre el texto una sola vez sin copiarlo ni compilar expresiones regulares:
+ * las palabras clave se comparan sin distinguir mayúsculas directamente sobre el
+ * texto original y el valor se acumula dígito a dígito en un {@code long}, por lo
+ * que el único objeto creado es el {@link BigDecimal} resultante, que es exacto
+ * (sin pasar por {@code double}).</p>
+ *
+ * <p>Tipo: si el texto contiene {@code RETIRO} es un retiro; si no, si contiene
+ * {@code DEPOSITO} (o {@code DEPÓSITO}) es un depósito. Valor: el primer número
+ * del texto. Se admite separador de miles y decimal en ambos estilos
+ * ({@code 1,250.50} y {@code 1.250,50}); si solo aparece un separador, el punto es
+ * decimal y la coma es de miles cuando le siguen exactamente tres dígitos
+ * ({@code 1,250}) y decimal en otro caso ({@code 575,5}).</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+final class OperacionMovimientoParser {
+
+    static final String RETIRO = "RETIRO";
+    static final String DEPOSITO = "DEPOSITO";
+    private static final String DEPOSITO_TILDE = "DEPÓSITO";
+
+    private OperacionMovimientoParser() {
+    }
+
+    /**
+     * Tipo y valor extraídos del texto de la operación.
+     *
+     * @param tipoMovimiento {@code RETIRO} o {@code DEPOSITO}
+     * @param valor Valor exacto del movimiento
+     */
+    record Operacion(String tipoMovimiento, BigDecimal valor) {
+    }
+
+    /**
+     * Analiza el texto de una operación.
+     *
+     * @param texto Texto libre de la operación
+     * @return Tipo y valor de la operación
+     * @throws IllegalArgumentException si el tipo no está soportado o el valor falta
+     *         o tiene un formato inválido
+     */
+    static Operacion analizar(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("El movimiento es obligatorio");
+        }
+        boolean retiro = false;
+        boolean deposito = false;
+        BigDecimal valor = null;
+        int longitud = texto.length();
+        int i = 0;
+        while (i < longitud && !(retiro && valor != null)) {
+            char c = texto.charAt(i);
+            if (valor == null && esDigito(c)) {
+                int fin = finNumero(texto, i);
+                valor = leerValor(texto, i, fin);
+                i = fin;
+                continue;
+            }
+            if (!retiro && (c == 'R' || c == 'r')) {
+                retiro = texto.regionMatches(true, i, RETIRO, 0, RETIRO.length());
+            } else if (!deposito && (c == 'D' || c == 'd')) {
+                deposito = texto.regionMatches(true, i, DEPOSITO, 0, DEPOSITO.length())
+                        || texto.regionMatches(true, i, DEPOSITO_TILDE, 0, DEPOSITO_TILDE.length());
+            }
+            i++;
+        }
+        if (!retiro && !deposito) {
+            throw new IllegalArgumentException("Tipo de movimiento no soportado: " + texto);
+        }
+        if (valor == null) {
+            throw new IllegalArgumentException("El movimiento no indica un valor: " + texto);
+        }
+        return new Operacion(retiro ? RETIRO : DEPOSITO, valor);
+    }
+
+    /**
+     * Posición siguiente al número que empieza en {@code inicio}: dígitos y
+     * separadores seguidos de un dígito.
+     */
+    private static int finNumero(String texto, int inicio) {
+        int i = inicio;
+        int longitud = texto.length();
+        while (i < longitud) {
+            char c = texto.charAt(i);
+            if (esDigito(c)) {
+                i++;
+            } else if ((c == ',' || c == '.') && i + 1 < longitud && esDigito(texto.charAt(i + 1))) {
+                i += 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static BigDecimal leerValor(String texto, int inicio, int fin) {
+        long sinEscala = 0;
+        int separadores = 0;
+        char primerSeparador = 0;
+        char ultimoSeparador = 0;
+        int primerGrupo = -1;
+        int digitosGrupo = 0;
+        boolean gruposValidos = true;
+        try {
+            for (int i = inicio; i < fin; i++) {
+                char c = texto.charAt(i);
+                if (esDigito(c)) {
+                    sinEscala = Math.addExact(Math.multiplyExact(sinEscala, 10L), c - '0');
+                    digitosGrupo++;
+                    continue;
+                }
+                separadores++;
+                if (separadores == 1) {
+                    primerSeparador = c;
+                    primerGrupo = digitosGrupo;
+                } else if (digitosGrupo != 3 || ultimoSeparador != primerSeparador) {
+                    // Entre dos separadores solo puede haber un grupo de miles, y un
+                    // separador distinto al de miles (el decimal) solo puede ser el último
+                    gruposValidos = false;
+                }
+                ultimoSeparador = c;
+                digitosGrupo = 0;
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor fuera de rango: " + texto.substring(inicio, fin));
+        }
+        if (separadores == 0) {
+            return BigDecimal.valueOf(sinEscala);
+        }
+        boolean ultimoEsDecimal = ultimoSeparador != primerSeparador
+                || (separadores == 1 && (ultimoSeparador == '.' || digitosGrupo != 3));
+        boolean hayMiles = separadores > 1 || !ultimoEsDecimal;
+        if (!gruposValidos || (hayMiles && primerGrupo > 3) || (!ultimoEsDecimal && digitosGrupo != 3)) {
+            throw new IllegalArgumentException("Valor con formato inválido: " + texto.substring(inicio, fin));
+        }
+        return BigDecimal.valueOf(sinEscala, ultimoEsDecimal ? digitosGrupo : 0);
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,278 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.ReporteJobDTO;
+import com.tata.cuenta_movimiento.exception.ResourceFailedException;
+import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
+import com.tata.cuenta_movimiento.exception.ResourceNotReadyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generación asíncrona del reporte de movimientos para rangos de fechas grandes.
+ *
+ * <p>Cada trabajo se encola en un pool acotado ({@code reportes.jobs.hilos} hilos y
+ * una cola de {@code reportes.jobs.capacidad-cola}); si la cola está llena se
+ * rechaza con {@link RejectedExecutionException} en lugar de acumular trabajo. Así,
+ * los reportes grandes ocupan como máximo ese número de conexiones del pool y ningún
+ * hilo de Tomcat, y el tráfico interactivo no compite con ellos.</p>
+ *
+ * <p>Las filas se leen con el cursor de {@link ExportacionReporteService} y se
+ * escriben a medida que llegan en un archivo local CSV o NDJSON comprimido con gzip.
+ * El archivo se escribe con un nombre temporal y se renombra al terminar, de modo
+ * que solo se descargan archivos completos. Los trabajos finalizados se eliminan,
+ * junto con su archivo, una vez pasada la retención
+ * ({@code reportes.jobs.retencion}).</p>
+ *
+ * <p>El registro de trabajos está en memoria: al reiniciar la instancia se
+ * descartan los archivos que quedaron en el directorio.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Service
+public class ReporteJobService {
+
+    public enum Estado { PENDIENTE, EN_PROCESO, COMPLETADO, FALLIDO }
+
+    private static final String EXTENSION_PARCIAL = ".parcial";
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final ExportacionReporteService exportacionReporteService;
+    private final Path directorio;
+    private final Duration retencion;
+    private final Duration reintentarEn;
+    private final ThreadPoolExecutor ejecutor;
+    private final Map<String, Trabajo> trabajos = new ConcurrentHashMap<>();
+
+    public ReporteJobService(ExportacionReporteService exportacionReporteService,
+                             @Value("${reportes.jobs.hilos:2}") int hilos,
+                             @Value("${reportes.jobs.capacidad-cola:20}") int capacidadCola,
+                             @Value("${reportes.jobs.directorio:${java.io.tmpdir}/reportes-jobs}") Path directorio,
+                             @Value("${reportes.jobs.retencion:1h}") Duration retencion,
+                             @Value("${reportes.jobs.reintentar-en:5s}") Duration reintentarEn) {
+        this.exportacionReporteService = exportacionReporteService;
+        this.directorio = directorio;
+        this.retencion = retencion;
+        this.reintentarEn = reintentarEn;
+        AtomicInteger numeroHilo = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), tarea -> {
+                    Thread hilo = new Thread(tarea, "reportes-jobs-" + numeroHilo.incrementAndGet());
+                    hilo.setDaemon(true);
+                    hilo.setPriority(Thread.MIN_PRIORITY);
+                    return hilo;
+                });
+    }
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        Files.createDirectories(directorio);
+        // Archivos de una ejecución anterior: sus trabajos ya no existen
+        try (DirectoryStream<Path> restos = Files.newDirectoryStream(directorio, "*.{gz,parcial}")) {
+            for (Path resto : restos) {
+                Files.deleteIfExists(resto);
+            }
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Encola la generación del reporte de un cliente.
+     *
+     * @param clienteId ID del cliente
+     * @param nombreCliente Nombre a mostrar en cada fila
+     * @param fechaInicio Primer día del rango
+     * @param fechaFin Último día del rango
+     * @param formato Formato del archivo (antes de comprimir)
+     * @return Estado inicial del trabajo, con su ID
+     * @throws IllegalArgumentException si el rango de fechas no es válido
+     * @throws RejectedExecutionException si la cola de reportes está llena
+     */
+    public ReporteJobDTO crear(Integer clienteId, String nombreCliente, LocalDate fechaInicio, LocalDate fechaFin,
+                               ExportacionReporteService.Formato formato) {
+        if (fechaInicio.isAfter(fechaFin)) {
+            throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+        Trabajo trabajo = new Trabajo(UUID.randomUUID().toString(), clienteId, nombreCliente,
+                fechaInicio, fechaFin, formato);
+        trabajos.put(trabajo.id, trabajo);
+        try {
+            ejecutor.execute(() -> generar(trabajo));
+        } catch (RejectedExecutionException e) {
+            trabajos.remove(trabajo.id);
+            throw new RejectedExecutionException("Hay demasiados reportes en cola, intente nuevamente más tarde");
+        }
+        return trabajo.aDTO(retencion);
+    }
+
+    /**
+     * Obtiene el estado de un trabajo.
+     *
+     * @param id ID del trabajo
+     * @return Estado actual
+     * @throws ResourceNotFoundException si el trabajo no existe o ya expiró
+     */
+    public ReporteJobDTO obtener(String id) {
+        return buscar(id).aDTO(retencion);
+    }
+
+    /**
+     * Obtiene el archivo de un trabajo completado.
+     *
+     * @param id ID del trabajo
+     * @return Ruta del archivo comprimido
+     * @throws ResourceNotFoundException si el trabajo no existe o ya expiró
+     * @throws ResourceNotReadyException si el trabajo todavía no ha terminado
+     * @throws ResourceFailedException si el trabajo falló
+     */
+    public Path obtenerArchivo(String id) {
+        Trabajo trabajo = buscar(id);
+        if (trabajo.estado == Estado.FALLIDO) {
+            throw new ResourceFailedException("El reporte " + id + " falló: " + trabajo.error);
+        }
+        if (trabajo.estado != Estado.COMPLETADO) {
+            throw new ResourceNotReadyException("El reporte " + id + " todavía se está generando", reintentarEn);
+        }
+        return trabajo.archivo(directorio);
+    }
+
+    /**
+     * Elimina periódicamente los trabajos finalizados cuya retención venció.
+     */
+    @Scheduled(initialDelayString = "${reportes.jobs.purga-intervalo:5m}",
+               fixedDelayString = "${reportes.jobs.purga-intervalo:5m}")
+    public void purgarExpirados() {
+        purgar(LocalDateTime.now());
+    }
+
+    /**
+     * Elimina los trabajos finalizados cuya retención vence antes del instante dado.
+     *
+     * @param ahora Instante de referencia
+     * @return Número de trabajos eliminados
+     */
+    public int purgar(LocalDateTime ahora) {
+        int eliminados = 0;
+        for (Trabajo trabajo : trabajos.values()) {
+            LocalDateTime finalizacion = trabajo.fechaFinalizacion;
+            if (finalizacion == null || finalizacion.plus(retencion).isAfter(ahora)) {
+                continue;
+            }
+            trabajos.remove(trabajo.id);
+            try {
+                Files.deleteIfExists(trabajo.archivo(directorio));
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar el archivo del reporte {}: {}", trabajo.id, e.getMessage());
+            }
+            eliminados++;
+        }
+        if (eliminados > 0) {
+            log.info("Reportes expirados eliminados: {}", eliminados);
+        }
+        return eliminados;
+    }
+
+    private Trabajo buscar(String id) {
+        Trabajo trabajo = trabajos.get(id);
+        if (trabajo == null) {
+            throw new ResourceNotFoundException("Reporte", "id", id);
+        }
+        return trabajo;
+    }
+
+    private void generar(Trabajo trabajo) {
+        trabajo.estado = Estado.EN_PROCESO;
+        Path parcial = directorio.resolve(trabajo.id + EXTENSION_PARCIAL);
+        Path archivo = trabajo.archivo(directorio);
+        long inicio = System.currentTimeMillis();
+        try {
+            try (OutputStream salida = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(parcial), TAMANO_BUFFER), TAMANO_BUFFER)) {
+                trabajo.filas = exportacionReporteService.exportar(trabajo.clienteId, trabajo.nombreCliente,
+                        trabajo.fechaInicio, trabajo.fechaFin, trabajo.formato, salida);
+            }
+            Files.move(parcial, archivo, StandardCopyOption.ATOMIC_MOVE);
+            trabajo.tamanoBytes = Files.size(archivo);
+            trabajo.fechaFinalizacion = LocalDateTime.now();
+            trabajo.estado = Estado.COMPLETADO;
+            log.info("Reporte {} generado: {} filas, {} bytes en {} ms", trabajo.id, trabajo.filas,
+                    trabajo.tamanoBytes, System.currentTimeMillis() - inicio);
+        } catch (Exception e) {
+            log.error("Error generando el reporte {}: {}", trabajo.id, e.getMessage(), e);
+            try {
+                Files.deleteIfExists(parcial);
+            } catch (IOException ignorada) {
+                // Se descarta al reiniciar la instancia
+            }
+            trabajo.error = e.getMessage();
+            trabajo.fechaFinalizacion = LocalDateTime.now();
+            trabajo.estado = Estado.FALLIDO;
+        }
+    }
+
+    private static final class Trabajo {
+        private final String id;
+        private final Integer clienteId;
+        private final String nombreCliente;
+        private final LocalDate fechaInicio;
+        private final LocalDate fechaFin;
+        private final ExportacionReporteService.Formato formato;
+        private final LocalDateTime fechaCreacion = LocalDateTime.now();
+        private volatile Estado estado = Estado.PENDIENTE;
+        private volatile LocalDateTime fechaFinalizacion;
+        private volatile Long filas;
+        private volatile Long tamanoBytes;
+        private volatile String error;
+
+        private Trabajo(String id, Integer clienteId, String nombreCliente, LocalDate fechaInicio,
+                        LocalDate fechaFin, ExportacionReporteService.Formato formato) {
+            this.id = id;
+            this.clienteId = clienteId;
+            this.nombreCliente = nombreCliente;
+            this.fechaInicio = fechaInicio;
+            this.fechaFin = fechaFin;
+            this.formato = formato;
+        }
+
+        private Path archivo(Path directorio) {
+            return directorio.resolve(id + "." + formato.name().toLowerCase() + ".gz");
+        }
+
+        private ReporteJobDTO aDTO(Duration retencion) {
+            LocalDateTime finalizacion = fechaFinalizacion;
+            return new ReporteJobDTO(id, estado.name(), clienteId, fechaInicio, fechaFin, formato.name(),
+                    fechaCreacion, finalizacion, finalizacion != null ? finalizacion.plus(retencion) : null,
+                    filas, tamanoBytes, error);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.ReconstruccionSaldosDTO;
+import com.tata.cuenta_movimiento.dto.SaldoDiarioDTO;
+import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.SaldoDiarioRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consultas de saldo a una fecha y reconstrucción de los saldos diarios.
+ *
+ * <p>El saldo de una cuenta al cierre de un día se obtiene de {@code saldos_diarios}
+ * con una o dos lecturas por clave primaria, sin importar cuántos movimientos tenga
+ * la cuenta. Los saldos diarios se mantienen al contabilizar cada movimiento
+ * ({@link MovimientoService}); la reconstrucción completa solo es necesaria para
+ * corregir datos modificados por fuera, y procesa las cuentas en paralelo, cada una
+ * en su propia transacción. Solo hay una reconstrucción a la vez; su avance se
+ * consulta con {@link #obtenerReconstruccion()}.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Slf4j
+@Service
+public class SaldoDiarioService {
+
+    public enum Estado { EN_PROCESO, COMPLETADO, FALLIDO }
+
+    private final SaldoDiarioRepository saldoDiarioRepository;
+    private final CuentaRepository cuentaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int hilos;
+    private final AtomicBoolean reconstruyendo = new AtomicBoolean();
+    private final ExecutorService coordinador = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "saldos-diarios-coordinador");
+        hilo.setDaemon(true);
+        hilo.setPriority(Thread.MIN_PRIORITY);
+        return hilo;
+    });
+    /** Última reconstrucción iniciada, o null si no se ha ejecutado ninguna. */
+    private volatile Reconstruccion ultima;
+
+    public SaldoDiarioService(SaldoDiarioRepository saldoDiarioRepository,
+                              CuentaRepository cuentaRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${saldos.diarios.reconstruccion.hilos:4}") int hilos) {
+        this.saldoDiarioRepository = saldoDiarioRepository;
+        this.cuentaRepository = cuentaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hilos = hilos;
+    }
+
+    /**
+     * Obtiene el saldo de una cuenta al cierre de un día.
+     *
+     * <p>Si la cuenta tuvo movimientos ese día se devuelven los totales del día. Si
+     * no, el saldo es el de cierre del último día anterior con movimientos o, si no
+     * hay ninguno, el de apertura del siguiente; una cuenta sin movimientos conserva
+     * su saldo actual.</p>
+     *
+     * @param cuentaId ID de la cuenta
+     * @param fecha Día consultado
+     * @return Saldos del día
+     * @throws ResourceNotFoundException si la cuenta no existe
+     */
+    public SaldoDiarioDTO obtenerSaldo(Long cuentaId, LocalDate fecha) {
+        BigDecimal saldoActual = cuentaRepository.findSaldoById(cuentaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cuenta", "id", cuentaId));
+        SaldoDiarioDTO ultimo = saldoDiarioRepository.buscarUltimoHasta(cuentaId, fecha).orElse(null);
+        if (ultimo != null && ultimo.getFecha().equals(fecha)) {
+            return ultimo;
+        }
+        BigDecimal saldo = ultimo != null
+                ? ultimo.getSaldoCierre()
+                : saldoDiarioRepository.buscarPrimeroDespues(cuentaId, fecha)
+                        .map(SaldoDiarioDTO::getSaldoApertura)
+                        .orElse(saldoActual);
+        return new SaldoDiarioDTO(cuentaId, fecha, saldo, saldo, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    @PreDestroy
+    void detener() {
+        coordinador.shutdownNow();
+    }
+
+    /**
+     * Inicia en segundo plano la reconstrucción de los saldos diarios de todas las
+     * cuentas y devuelve sin esperar a que termine.
+     *
+     * @return Estado inicial de la reconstrucción
+     * @throws RejectedExecutionException si ya hay una reconstrucción en curso
+     */
+    public ReconstruccionSaldosDTO iniciarReconstruccion() {
+        Reconstruccion reconstruccion = reservar();
+        try {
+            coordinador.execute(() -> {
+                try {
+                    ejecutar(reconstruccion);
+                } catch (RuntimeException e) {
+                    log.error("Error reconstruyendo los saldos diarios: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reconstruccion.finalizar(Estado.FALLIDO, e.getMessage());
+            reconstruyendo.set(false);
+            throw e;
+        }
+        return reconstruccion.aDTO();
+    }
+
+    /**
+     * Obtiene el estado de la última reconstrucción, en curso o finalizada.
+     *
+     * @return Estado de la reconstrucción
+     * @throws ResourceNotFoundException si no se ha ejecutado ninguna
+     */
+    public ReconstruccionSaldosDTO obtenerReconstruccion() {
+        Reconstruccion reconstruccion = ultima;
+        if (reconstruccion == null) {
+            throw new ResourceNotFoundException("No se ha ejecutado ninguna reconstrucción de saldos diarios");
+        }
+        return reconstruccion.aDTO();
+    }
+
+    /**
+     * Reconstruye los saldos diarios de todas las cuentas desde sus movimientos, en
+     * paralelo con {@code saldos.diarios.reconstruccion.hilos} hilos, y espera a que
+     * termine. Cada cuenta se bloquea solo mientras se recalcula, por lo que la
+     * contabilización continúa para las demás.
+     *
+     * @return Número de cuentas reconstruidas
+     * @throws RejectedExecutionException si ya hay una reconstrucción en curso
+     */
+    public int reconstruir() {
+        return ejecutar(reservar());
+    }
+
+    /**
+     * Reconstrucción periódica opcional ({@code saldos.diarios.reconstruccion.cron};
+     * desactivada por defecto).
+     */
+    @Scheduled(cron = "${saldos.diarios.reconstruccion.cron:-}")
+    public void reconstruccionProgramada() {
+        try {
+            reconstruir();
+        } catch (RejectedExecutionException e) {
+            log.info("Reconstrucción programada omitida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruye los saldos diarios de una cuenta en su propia transacción.
+     *
+     * @param cuentaId ID de la cuenta
+     */
+    public void reconstruirCuenta(Long cuentaId) {
+        transactionTemplate.executeWithoutResult(estado -> saldoDiarioRepository.reconstruirCuenta(cuentaId));
+    }
+
+    private Reconstruccion reservar() {
+        if (!reconstruyendo.compareAndSet(false, true)) {
+            throw new RejectedExecutionException("Ya hay una reconstrucción de saldos diarios en curso");
+        }
+        Reconstruccion reconstruccion = new Reconstruccion();
+        ultima = reconstruccion;
+        return reconstruccion;
+    }
+
+    private int ejecutar(Reconstruccion reconstruccion) {
+        long inicio = System.currentTimeMillis();
+        AtomicInteger numeroHilo = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "saldos-diarios-" + numeroHilo.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        try {
+            List<Long> cuentas = saldoDiarioRepository.listarCuentas();
+            reconstruccion.cuentasTotales = cuentas.size();
+            List<Future<?>> tareas = new ArrayList<>(cuentas.size());
+            for (Long cuentaId : cuentas) {
+                tareas.add(ejecutor.submit(() -> {
+                    reconstruirCuenta(cuentaId);
+                    reconstruccion.cuentasProcesadas.incrementAndGet();
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+            log.info("Saldos diarios reconstruidos para {} cuentas en {} ms",
+                    tareas.size(), System.currentTimeMillis() - inicio);
+            reconstruccion.finalizar(Estado.COMPLETADO, null);
+            return tareas.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reconstruccion.finalizar(Estado.FALLIDO, "Reconstrucción interrumpida");
+            throw new IllegalStateException("Reconstrucción de saldos diarios interrumpida", e);
+        } catch (ExecutionException e) {
+            reconstruccion.finalizar(Estado.FALLIDO, e.getCause().getMessage());
+            throw new IllegalStateException("Error reconstruyendo los saldos diarios", e.getCause());
+        } catch (RuntimeException e) {
+            reconstruccion.finalizar(Estado.FALLIDO, e.getMessage());
+            throw e;
+        } finally {
+            ejecutor.shutdownNow();
+            reconstruyendo.set(false);
+        }
+    }
+
+    private static final class Reconstruccion {
+        private final LocalDateTime fechaInicio = LocalDateTime.now();
+        private final AtomicInteger cuentasProcesadas = new AtomicInteger();
+        private volatile Estado estado = Estado.EN_PROCESO;
+        private volatile Integer cuentasTotales;
+        private volatile LocalDateTime fechaFinalizacion;
+        private volatile String error;
+
+        private void finalizar(Estado estadoFinal, String mensaje) {
+            error = mensaje;
+            fechaFinalizacion = LocalDateTime.now();
+            estado = estadoFinal;
+        }
+
+        private ReconstruccionSaldosDTO aDTO() {
+            return new ReconstruccionSaldosDTO(estado.name(), cuentasTotales, cuentasProcesadas.get(),
+                    fechaInicio, fechaFinalizacion, error);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.SaldoHistoricoDTO;
+import com.tata.cuenta_movimiento.dto.SaldoHistoricoLoteDTO;
+import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
+import com.tata.cuenta_movimiento.repository.SaldoHistoricoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas de saldo de cuentas en instantes arbitrarios (auditoría).
+ *
+ * <p>El saldo se toma del último movimiento registrado hasta el instante, con una
+ * lectura indexada por consulta ({@link SaldoHistoricoRepository}). Las consultas
+ * por lote combinan cada cuenta con cada instante y se resuelven con una sentencia
+ * por tramo de cuentas e instantes, no con una por cuenta.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@Service
+public class SaldoHistoricoService {
+
+    private final SaldoHistoricoRepository saldoHistoricoRepository;
+    private final int maximoConsultas;
+
+    public SaldoHistoricoService(SaldoHistoricoRepository saldoHistoricoRepository,
+                                 @Value("${saldos.historico.maximo-consultas:100000}") int maximoConsultas) {
+        this.saldoHistoricoRepository = saldoHistoricoRepository;
+        this.maximoConsultas = maximoConsultas;
+    }
+
+    /**
+     * Obtiene el saldo de una cuenta en un instante.
+     *
+     * @param cuentaId ID de la cuenta
+     * @param instante Instante consultado
+     * @return Saldo en el instante y movimiento del que se tomó
+     * @throws IllegalArgumentException si no se indica el instante
+     * @throws ResourceNotFoundException si la cuenta no existe
+     */
+    public SaldoHistoricoDTO obtenerSaldo(Long cuentaId, LocalDateTime instante) {
+        if (instante == null) {
+            throw new IllegalArgumentException("El instante es obligatorio");
+        }
+        SaldoHistoricoDTO saldo = saldoHistoricoRepository.buscarSaldos(List.of(cuentaId), List.of(instante)).get(0);
+        if (saldo.getSaldo() == null) {
+            throw new ResourceNotFoundException("Cuenta", "id", cuentaId);
+        }
+        return saldo;
+    }
+
+    /**
+     * Obtiene el saldo de cada cuenta del lote en cada uno de sus instantes. Las
+     * cuentas inexistentes se devuelven con saldo nulo para no invalidar el resto
+     * del lote.
+     *
+     * @param lote Cuentas e instantes a combinar
+     * @return Un resultado por cada par (cuenta, instante), agrupados por cuenta en el
+     *         orden recibido
+     * @throws IllegalArgumentException si el lote supera
+     *         {@code saldos.historico.maximo-consultas} pares
+     */
+    public List<SaldoHistoricoDTO> obtenerSaldos(SaldoHistoricoLoteDTO lote) {
+        long pares = (long) lote.getCuentaIds().size() * lote.getInstantes().size();
+        if (pares > maximoConsultas) {
+            throw new IllegalArgumentException("El lote tiene " + pares
+                    + " consultas; el máximo permitido es " + maximoConsultas);
+        }
+        return saldoHistoricoRepository.buscarSaldos(lote.getCuentaIds(), lote.getInstantes());
+    }
+}
@@ -0,0 +1,28 @@
+-- Esquema inicial de cuentas y movimientos.
+-- Usa IF NOT EXISTS porque las bases existentes ya tienen estas tablas, creadas
+-- por Hibernate (ddl-auto=update) antes de gestionar el esquema con migraciones.
+
+CREATE TABLE IF NOT EXISTS cuentas (
+    id                  BIGINT         NOT NULL AUTO_INCREMENT,
+    numero_cuenta       VARCHAR(20)    NOT NULL,
+    tipo_cuenta         VARCHAR(255)   NOT NULL,
+    saldo               DECIMAL(15, 2) NOT NULL,
+    cliente_id          INT            NOT NULL,
+    estado              BIT            NOT NULL,
+    fecha_creacion      DATETIME(6),
+    fecha_actualizacion DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cuentas_numero_cuenta UNIQUE (numero_cuenta)
+);
+
+CREATE TABLE IF NOT EXISTS movimientos (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    fecha           DATETIME(6)    NOT NULL,
+    tipo_movimiento VARCHAR(255)   NOT NULL,
+    valor           DECIMAL(15, 2) NOT NULL,
+    saldo           DECIMAL(15, 2) NOT NULL,
+    cuenta_id       BIGINT         NOT NULL,
+    descripcion     VARCHAR(200),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_movimientos_cuenta FOREIGN KEY (cuenta_id) REFERENCES cuentas (id)
+);
@@ -0,0 +1,19 @@
+-- Índices para los patrones de consulta de los repositorios.
+
+-- findByCuentaIdAndFechaBetween, reporte de movimientos y paginación por cuenta
+CREATE INDEX idx_movimientos_cuenta_fecha ON movimientos (cuenta_id, fecha, id);
+
+-- findByCuentaIdAndTipoMovimiento
+CREATE INDEX idx_movimientos_cuenta_tipo ON movimientos (cuenta_id, tipo_movimiento);
+
+-- findByTipoMovimientoAndFechaBetween
+CREATE INDEX idx_movimientos_tipo_fecha ON movimientos (tipo_movimiento, fecha);
+
+-- Paginación general de movimientos por (fecha, id)
+CREATE INDEX idx_movimientos_fecha ON movimientos (fecha, id);
+
+-- findByClienteId
+CREATE INDEX idx_cuentas_cliente ON cuentas (cliente_id);
+
+-- findByTipoCuenta
+CREATE INDEX idx_cuentas_tipo ON cuentas (tipo_cuenta);
@@ -0,0 +1,16 @@
+-- Claves de idempotencia de la creación de movimientos (cabecera Idempotency-Key).
+-- Cada clave guarda la huella de la solicitud original y la respuesta devuelta,
+-- y se registra en la misma transacción que el movimiento.
+
+CREATE TABLE claves_idempotencia (
+    clave            VARCHAR(100) NOT NULL,
+    huella           CHAR(64)     NOT NULL,
+    movimiento_id    BIGINT       NOT NULL,
+    respuesta        TEXT         NOT NULL,
+    fecha_creacion   DATETIME(6)  NOT NULL,
+    fecha_expiracion DATETIME(6)  NOT NULL,
+    PRIMARY KEY (clave)
+);
+
+-- Purga periódica de claves vencidas
+CREATE INDEX idx_claves_idempotencia_expiracion ON claves_idempotencia (fecha_expiracion);
@@ -0,0 +1,21 @@
+-- Outbox de eventos de movimientos para Kafka (movimientos-topic).
+-- Cada movimiento contabilizado se inserta aquí en la misma transacción; el relay
+-- publica las filas en orden de id y las elimina una vez confirmadas por Kafka.
+
+CREATE TABLE outbox_movimientos (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    cuenta_id      BIGINT      NOT NULL,
+    movimiento_id  BIGINT      NOT NULL,
+    payload        TEXT        NOT NULL,
+    fecha_creacion DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Fila de bloqueo para que un solo relay publique a la vez entre instancias y se
+-- conserve el orden por cuenta
+CREATE TABLE outbox_bloqueos (
+    nombre VARCHAR(50) NOT NULL,
+    PRIMARY KEY (nombre)
+);
+
+INSERT INTO outbox_bloqueos (nombre) VALUES ('movimientos');
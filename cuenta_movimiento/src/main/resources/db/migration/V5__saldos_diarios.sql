@@ -0,0 +1,33 @@
+-- Saldos diarios por cuenta (modelo de lectura de los movimientos).
+-- Una fila por cuenta y día con movimientos: saldo de apertura y de cierre, totales
+-- de débitos y créditos (en valor absoluto) y cantidad de movimientos. Se actualiza
+-- en la misma transacción que contabiliza cada movimiento.
+
+CREATE TABLE saldos_diarios (
+    cuenta_id            BIGINT         NOT NULL,
+    fecha                DATE           NOT NULL,
+    saldo_apertura       DECIMAL(15, 2) NOT NULL,
+    saldo_cierre         DECIMAL(15, 2) NOT NULL,
+    total_debitos        DECIMAL(15, 2) NOT NULL,
+    total_creditos       DECIMAL(15, 2) NOT NULL,
+    cantidad_movimientos INT            NOT NULL,
+    PRIMARY KEY (cuenta_id, fecha)
+);
+
+-- Carga inicial desde el histórico de movimientos
+INSERT INTO saldos_diarios (cuenta_id, fecha, saldo_apertura, saldo_cierre, total_debitos, total_creditos,
+                            cantidad_movimientos)
+SELECT d.cuenta_id, d.dia,
+       MAX(CASE WHEN d.primero = 1 THEN d.saldo - d.delta END),
+       MAX(CASE WHEN d.ultimo = 1 THEN d.saldo END),
+       SUM(CASE WHEN d.delta < 0 THEN -d.delta ELSE 0 END),
+       SUM(CASE WHEN d.delta > 0 THEN d.delta ELSE 0 END),
+       COUNT(*)
+FROM (SELECT m.cuenta_id, CAST(m.fecha AS DATE) AS dia, m.saldo,
+             CASE WHEN m.tipo_movimiento IN ('RETIRO', 'PAGO', 'TRANSFERENCIA')
+                  THEN -m.valor ELSE m.valor END AS delta,
+             ROW_NUMBER() OVER (PARTITION BY m.cuenta_id, CAST(m.fecha AS DATE) ORDER BY m.fecha, m.id) AS primero,
+             ROW_NUMBER() OVER (PARTITION BY m.cuenta_id, CAST(m.fecha AS DATE)
+                                ORDER BY m.fecha DESC, m.id DESC) AS ultimo
+      FROM movimientos m) d
+GROUP BY d.cuenta_id, d.dia;
@@ -0,0 +1,10 @@
+-- Reclamo de eventos del outbox de movimientos.
+-- El relay marca con reclamado_hasta los eventos que va a publicar mientras tiene el
+-- bloqueo, y lo libera antes de esperar a Kafka. Ningún relay toma un evento de una
+-- cuenta que tenga otro anterior reclamado, de modo que se conserva el orden por cuenta;
+-- si una instancia cae, sus eventos vuelven a estar disponibles al vencer el reclamo.
+
+ALTER TABLE outbox_movimientos ADD COLUMN reclamado_hasta DATETIME(6) NULL;
+
+-- Eventos anteriores de la misma cuenta al buscar pendientes
+CREATE INDEX idx_outbox_movimientos_cuenta ON outbox_movimientos (cuenta_id, id);
@@ -0,0 +1,59 @@
+package com.tata.cuenta_movimiento.cache;
+
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Pruebas de la invalidación de la caché local entre instancias.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class ClienteCacheLocalTest {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final ClienteCacheLocal cache = nuevaCache(stringRedisTemplate);
+
+    @Test
+    void testIgnoraSuPropioMensajeEInvalidaLosDeOtrasInstancias() {
+        ClienteKafkaDTO cliente = new ClienteKafkaDTO(1, "José Lema", "1710000001");
+        cache.actualizarVarios(Map.of(1, cliente));
+
+        ArgumentCaptor<String> mensaje = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(ClienteCacheLocal.CANAL_INVALIDACION), mensaje.capture());
+        assertTrue(mensaje.getValue().endsWith(":1"), mensaje.getValue());
+
+        // El eco del propio mensaje no descarta la copia recién escrita
+        cache.onMessage(mensajeRedis(mensaje.getValue()), null);
+        assertEquals(cliente, cache.obtener(1, id -> null));
+
+        // El mismo mensaje publicado por otra instancia sí la descarta
+        ClienteCacheLocal otra = nuevaCache(mock(StringRedisTemplate.class));
+        otra.obtener(1, id -> cliente);
+        otra.onMessage(mensajeRedis(mensaje.getValue()), null);
+        assertNull(otra.obtener(1, id -> null));
+    }
+
+    private static ClienteCacheLocal nuevaCache(StringRedisTemplate template) {
+        return new ClienteCacheLocal(template, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    private static DefaultMessage mensajeRedis(String cuerpo) {
+        return new DefaultMessage(ClienteCacheLocal.CANAL_INVALIDACION.getBytes(StandardCharsets.UTF_8),
+                cuerpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
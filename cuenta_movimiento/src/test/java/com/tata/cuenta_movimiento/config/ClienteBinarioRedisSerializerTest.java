@@ -0,0 +1,82 @@
+package com.tata.cuenta_movimiento.config;
+
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del formato binario de clientes en Redis y compatibilidad con el JSON anterior.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class ClienteBinarioRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = RedisConfig.serializadorJson();
+    private final ClienteBinarioRedisSerializer serializer = new ClienteBinarioRedisSerializer(json, true);
+
+    @Test
+    void testIdaYVueltaConCamposNulosYCaracteresEspeciales() {
+        for (ClienteKafkaDTO cliente : new ClienteKafkaDTO[] {
+                new ClienteKafkaDTO(1, "José Lema", "1710000001"),
+                new ClienteKafkaDTO(Integer.MAX_VALUE, "Ñandú 漢字 🙂", ""),
+                new ClienteKafkaDTO(-5, null, "0999"),
+                new ClienteKafkaDTO(null, null, null)}) {
+            byte[] bytes = serializer.serialize(cliente);
+
+            assertEquals(ClienteBinarioRedisSerializer.MARCA, bytes[0]);
+            assertEquals(cliente, serializer.deserialize(bytes));
+        }
+    }
+
+    @Test
+    void testLeeEntradasJsonAnterioresYDelegaOtrosValores() {
+        ClienteKafkaDTO cliente = new ClienteKafkaDTO(7, "Marianela Montalvo", "0912345678");
+        byte[] anterior = json.serialize(cliente);
+
+        assertEquals(cliente, serializer.deserialize(anterior));
+        assertEquals("2025-06-25T10:00", serializer.deserialize(serializer.serialize("2025-06-25T10:00")));
+        assertEquals(42, serializer.deserialize(serializer.serialize(42)));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    void testModoSoloJsonSigueLeyendoBinario() {
+        ClienteBinarioRedisSerializer soloJson = new ClienteBinarioRedisSerializer(json, false);
+        ClienteKafkaDTO cliente = new ClienteKafkaDTO(3, "Juan Osorio", "1098765432");
+
+        assertEquals('{', soloJson.serialize(cliente)[0]);
+        assertEquals(cliente, soloJson.deserialize(serializer.serialize(cliente)));
+    }
+
+    @Test
+    void testVersionDesconocidaOTruncadaFalla() {
+        byte[] bytes = serializer.serialize(new ClienteKafkaDTO(1, "Ana", "111"));
+        byte[] futura = bytes.clone();
+        futura[1] = 9;
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(futura));
+        assertThrows(SerializationException.class,
+                () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+
+    @Test
+    void testFormatoBinarioOcupaMenosDeUnTercioQueJson() {
+        long bytesJson = 0;
+        long bytesBinario = 0;
+        for (int i = 0; i < 1000; i++) {
+            ClienteKafkaDTO cliente = new ClienteKafkaDTO(100_000 + i, "Cliente de prueba " + i,
+                    String.valueOf(1_700_000_000L + i));
+            bytesJson += json.serialize(cliente).length;
+            bytesBinario += serializer.serialize(cliente).length;
+        }
+
+        assertTrue(bytesBinario * 3 < bytesJson, "El formato binario debe ocupar menos de un tercio");
+    }
+}
@@ -0,0 +1,130 @@
+package com.tata.cuenta_movimiento.controller;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.kafka.ClienteKafkaConsumer;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.service.MovimientoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la exportación en streaming del reporte de movimientos.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:exportacion;DB_CLOSE_DELAY=-1;MODE=MySQL",
+    "logging.level.org.springframework.web=INFO"
+})
+class ReporteControllerExportacionTest {
+
+    private static final String IDENTIFICACION = "1712345678";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @MockitoBean
+    private ClienteKafkaConsumer clienteKafkaConsumer;
+
+    @BeforeEach
+    void prepararDatos() {
+        when(clienteKafkaConsumer.obtenerIdClientePorIdentificacion(IDENTIFICACION)).thenReturn(55);
+        when(clienteKafkaConsumer.obtenerNombreCliente(55)).thenReturn("Lema, Jose");
+        if (cuentaRepository.findByNumeroCuenta("EXP-001").isEmpty()) {
+            Cuenta cuenta = cuentaRepository.save(new Cuenta("EXP-001", "AHORROS", new BigDecimal("100.00"), 55, true));
+            movimientoService.createMovimiento(new MovimientoDTO(null, "DEPOSITO", new BigDecimal("20.00"), null, cuenta.getId()));
+            movimientoService.createMovimiento(new MovimientoDTO(null, "RETIRO", new BigDecimal("30.00"), null, cuenta.getId()));
+        }
+    }
+
+    @Test
+    void testExportacionNdjson() throws Exception {
+        String cuerpo = exportar("application/x-ndjson", null).getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lineas = cuerpo.split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].contains("\"saldoDisponible\":120.00"));
+        assertTrue(lineas[1].contains("\"movimiento\":-30.00"));
+        assertTrue(lineas[1].contains("\"cliente\":\"Lema, Jose\""));
+    }
+
+    @Test
+    void testExportacionCsvComprimida() throws Exception {
+        MvcResult resultado = exportar("text/csv", "gzip");
+        assertEquals("gzip", resultado.getResponse().getHeader("Content-Encoding"));
+
+        byte[] comprimido = resultado.getResponse().getContentAsByteArray();
+        String cuerpo;
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            cuerpo = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lineas = cuerpo.split("\n");
+        assertEquals(3, lineas.length);
+        assertEquals("fecha,cliente,numeroCuenta,tipo,saldoInicial,estado,movimiento,saldoDisponible", lineas[0]);
+        assertTrue(lineas[2].endsWith(",\"Lema, Jose\",EXP-001,AHORROS,120.00,true,-30.00,90.00"));
+    }
+
+    @Test
+    void testJsonSigueSiendoElFormatoPorDefecto() throws Exception {
+        mockMvc.perform(get("/reportes")
+                        .param("identificacion", IDENTIFICACION)
+                        .param("fechaInicio", LocalDate.now().toString())
+                        .param("fechaFin", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    private MvcResult exportar(String accept, String acceptEncoding) throws Exception {
+        var peticion = get("/reportes")
+                .param("identificacion", IDENTIFICACION)
+                .param("fechaInicio", LocalDate.now().toString())
+                .param("fechaFin", LocalDate.now().toString())
+                .header("Accept", accept);
+        if (acceptEncoding != null) {
+            peticion.header("Accept-Encoding", acceptEncoding);
+        }
+        MvcResult asincrono = mockMvc.perform(peticion)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(asincrono))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Content-Type"))
+                .andReturn();
+    }
+}
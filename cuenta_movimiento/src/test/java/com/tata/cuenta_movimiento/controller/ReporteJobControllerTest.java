@@ -0,0 +1,223 @@
+package com.tata.cuenta_movimiento.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.kafka.ClienteKafkaConsumer;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.service.ExportacionReporteService;
+import com.tata.cuenta_movimiento.service.MovimientoService;
+import com.tata.cuenta_movimiento.service.ReporteJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la generación asíncrona del reporte: encolado, consulta de estado,
+ * descarga con rangos, trabajos en proceso o fallidos y expiración.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reportejobs;DB_CLOSE_DELAY=-1;MODE=MySQL",
+    "reportes.jobs.directorio=${java.io.tmpdir}/reportes-jobs-test",
+    "logging.level.org.springframework.web=INFO"
+})
+class ReporteJobControllerTest {
+
+    private static final String IDENTIFICACION = "1798765432";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private ReporteJobService reporteJobService;
+
+    @MockitoBean
+    private ClienteKafkaConsumer clienteKafkaConsumer;
+
+    @MockitoSpyBean
+    private ExportacionReporteService exportacionReporteService;
+
+    @BeforeEach
+    void prepararDatos() {
+        when(clienteKafkaConsumer.obtenerIdClientePorIdentificacion(IDENTIFICACION)).thenReturn(66);
+        when(clienteKafkaConsumer.obtenerNombreCliente(66)).thenReturn("Montalvo, Marianela");
+        if (cuentaRepository.findByNumeroCuenta("JOB-001").isEmpty()) {
+            Cuenta cuenta = cuentaRepository.save(new Cuenta("JOB-001", "AHORROS", new BigDecimal("100.00"), 66, true));
+            for (int i = 1; i <= 50; i++) {
+                movimientoService.createMovimiento(
+                        new MovimientoDTO(null, "DEPOSITO", new BigDecimal(i), null, cuenta.getId()));
+            }
+        }
+    }
+
+    @Test
+    void testReporteSeGeneraYDescargaConRangos() throws Exception {
+        String id = encolar("CSV");
+        JsonNode trabajo = esperarFinalizacion(id);
+        assertEquals("COMPLETADO", trabajo.get("estado").asText());
+        assertEquals(50, trabajo.get("filas").asLong());
+        assertFalse(trabajo.get("fechaExpiracion").isNull());
+
+        MvcResult completo = mockMvc.perform(get("/reportes/jobs/{id}/archivo", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn();
+        byte[] archivo = completo.getResponse().getContentAsByteArray();
+        assertEquals(trabajo.get("tamanoBytes").asLong(), archivo.length);
+        String[] lineas = descomprimir(archivo).split("\n");
+        assertEquals(51, lineas.length);
+        assertTrue(lineas[0].startsWith("fecha,cliente,"));
+        assertTrue(lineas[50].endsWith(",\"Montalvo, Marianela\",JOB-001,AHORROS,1325.00,true,50.00,1375.00"));
+
+        MvcResult parcial = mockMvc.perform(get("/reportes/jobs/{id}/archivo", id).header("Range", "bytes=10-"))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+        assertArrayEquals(Arrays.copyOfRange(archivo, 10, archivo.length),
+                parcial.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void testTrabajosFinalizadosExpiran() throws Exception {
+        String id = encolar("NDJSON");
+        assertEquals("COMPLETADO", esperarFinalizacion(id).get("estado").asText());
+
+        assertEquals(0, reporteJobService.purgar(LocalDateTime.now()));
+        assertTrue(reporteJobService.purgar(LocalDateTime.now().plusDays(1)) >= 1);
+
+        mockMvc.perform(get("/reportes/jobs/{id}", id)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/reportes/jobs/{id}/archivo", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDescargaDeTrabajoEnProcesoIndicaCuandoReintentar() throws Exception {
+        CountDownLatch generando = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            generando.countDown();
+            assertTrue(continuar.await(10, TimeUnit.SECONDS));
+            return invocacion.callRealMethod();
+        }).when(exportacionReporteService).exportar(any(), any(), any(), any(), any(), any());
+        try {
+            String id = encolar("CSV");
+            assertTrue(generando.await(10, TimeUnit.SECONDS));
+
+            mockMvc.perform(get("/reportes/jobs/{id}/archivo", id))
+                    .andExpect(status().isConflict())
+                    .andExpect(header().string("Retry-After", "5"));
+            continuar.countDown();
+            assertEquals("COMPLETADO", esperarFinalizacion(id).get("estado").asText());
+        } finally {
+            continuar.countDown();
+        }
+    }
+
+    @Test
+    void testDescargaDeTrabajoFallidoDevuelveElError() throws Exception {
+        doThrow(new IOException("disco lleno"))
+                .when(exportacionReporteService).exportar(any(), any(), any(), any(), any(), any());
+        String id = encolar("CSV");
+        assertEquals("FALLIDO", esperarFinalizacion(id).get("estado").asText());
+
+        mockMvc.perform(get("/reportes/jobs/{id}/archivo", id))
+                .andExpect(status().isGone())
+                .andExpect(header().doesNotExist("Retry-After"))
+                .andExpect(jsonPath("$.message").value("El reporte " + id + " falló: disco lleno"));
+    }
+
+    @Test
+    void testRangoInvalidoSeRechaza() throws Exception {
+        mockMvc.perform(post("/reportes/jobs")
+                        .param("identificacion", IDENTIFICACION)
+                        .param("fechaInicio", LocalDate.now().toString())
+                        .param("fechaFin", LocalDate.now().minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String encolar(String formato) throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/api/reportes/jobs")
+                        .contextPath("/api")
+                        .param("identificacion", IDENTIFICACION)
+                        .param("fechaInicio", LocalDate.now().minusYears(3).toString())
+                        .param("fechaFin", LocalDate.now().toString())
+                        .param("formato", formato))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.id").exists())
+                .andReturn();
+        String id = objectMapper.readTree(resultado.getResponse().getContentAsString()).at("/data/id").asText();
+        // La ubicación incluye el context path de la aplicación
+        assertEquals("http://localhost/api/reportes/jobs/" + id, resultado.getResponse().getHeader("Location"));
+        return id;
+    }
+
+    private JsonNode esperarFinalizacion(String id) throws Exception {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (true) {
+            MvcResult resultado = mockMvc.perform(get("/reportes/jobs/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode trabajo = objectMapper.readTree(resultado.getResponse().getContentAsString()).get("data");
+            String estado = trabajo.get("estado").asText();
+            if (estado.equals("COMPLETADO") || estado.equals("FALLIDO")) {
+                return trabajo;
+            }
+            if (System.currentTimeMillis() > limite) {
+                fail("El reporte no terminó a tiempo: " + estado);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private String descomprimir(byte[] comprimido) throws Exception {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
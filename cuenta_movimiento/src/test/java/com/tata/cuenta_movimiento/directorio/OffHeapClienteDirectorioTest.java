@@ -0,0 +1,107 @@
+package com.tata.cuenta_movimiento.directorio;
+
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del directorio de clientes fuera del heap.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class OffHeapClienteDirectorioTest {
+
+    private OffHeapClienteDirectorio directorio;
+
+    @BeforeEach
+    void setUp() {
+        // Capacidad mínima para forzar el crecimiento de tablas y datos
+        directorio = new OffHeapClienteDirectorio(new SimpleMeterRegistry(), "grupo-cuentas", 1);
+    }
+
+    @Test
+    void testAltasCambiosYEliminacionesMantienenLosIndices() {
+        directorio.aplicarEventos(Map.of(
+                1, new ClienteKafkaDTO(1, "José Lema", "1710000001"),
+                2, new ClienteKafkaDTO(2, "Marianela Montalvo", null)));
+
+        assertEquals(new ClienteKafkaDTO(1, "José Lema", "1710000001"), directorio.obtenerCliente(1));
+        assertEquals(2, directorio.obtenerIdPorNombre("Marianela Montalvo"));
+        assertEquals(1, directorio.obtenerIdPorIdentificacion("1710000001"));
+        assertNull(directorio.obtenerCliente(2).getIdentificacion());
+
+        Map<Integer, ClienteKafkaDTO> cambios = new LinkedHashMap<>();
+        cambios.put(1, new ClienteKafkaDTO(1, "José Lema B", "1710000001"));
+        cambios.put(2, null);
+        directorio.aplicarEventos(cambios);
+
+        assertNull(directorio.obtenerIdPorNombre("José Lema"));
+        assertEquals(1, directorio.obtenerIdPorNombre("José Lema B"));
+        assertEquals(1, directorio.obtenerIdPorIdentificacion("1710000001"));
+        assertNull(directorio.obtenerCliente(2));
+        assertNull(directorio.obtenerIdPorNombre("Marianela Montalvo"));
+        assertEquals(Map.of(1, new ClienteKafkaDTO(1, "José Lema B", "1710000001")),
+                directorio.obtenerClientes(Set.of(1, 2)));
+    }
+
+    @Test
+    void testUnNombreRepetidoApuntaAlUltimoClienteEscrito() {
+        directorio.aplicarEventos(Map.of(1, new ClienteKafkaDTO(1, "Ana", "111")));
+        directorio.aplicarEventos(Map.of(2, new ClienteKafkaDTO(2, "Ana", "222")));
+
+        assertEquals(2, directorio.obtenerIdPorNombre("Ana"));
+
+        // El cliente 1 cambia de nombre: la entrada de "Ana" ya no le pertenece y se conserva
+        directorio.aplicarEventos(Map.of(1, new ClienteKafkaDTO(1, "Ana Lucía", "111")));
+
+        assertEquals(2, directorio.obtenerIdPorNombre("Ana"));
+        assertEquals(1, directorio.obtenerIdPorNombre("Ana Lucía"));
+    }
+
+    @Test
+    void testMuchasActualizacionesCompactanSinPerderDatos() {
+        for (int ronda = 0; ronda < 20; ronda++) {
+            Map<Integer, ClienteKafkaDTO> lote = new HashMap<>();
+            for (int id = 1; id <= 2000; id++) {
+                lote.put(id, new ClienteKafkaDTO(id, "Cliente " + id + " v" + ronda, String.valueOf(1_000_000 + id)));
+            }
+            directorio.aplicarEventos(lote);
+        }
+        Map<Integer, ClienteKafkaDTO> eliminados = new HashMap<>();
+        for (int id = 1; id <= 2000; id += 2) {
+            eliminados.put(id, null);
+        }
+        directorio.aplicarEventos(eliminados);
+
+        for (int id = 1; id <= 2000; id++) {
+            if (id % 2 == 1) {
+                assertNull(directorio.obtenerCliente(id));
+                assertNull(directorio.obtenerIdPorIdentificacion(String.valueOf(1_000_000 + id)));
+            } else {
+                assertEquals("Cliente " + id + " v19", directorio.obtenerCliente(id).getNombre());
+                assertEquals(id, directorio.obtenerIdPorNombre("Cliente " + id + " v19"));
+                assertNull(directorio.obtenerIdPorNombre("Cliente " + id + " v18"));
+                assertEquals(id, directorio.obtenerIdPorIdentificacion(String.valueOf(1_000_000 + id)));
+            }
+        }
+    }
+
+    @Test
+    void testCadaInstanciaUsaSuPropioGrupoDeConsumidores() {
+        OffHeapClienteDirectorio otro = new OffHeapClienteDirectorio(new SimpleMeterRegistry(), "grupo-cuentas", 1);
+
+        assertTrue(directorio.grupoConsumidor().startsWith("grupo-cuentas-"));
+        assertNotEquals(directorio.grupoConsumidor(), otro.grupoConsumidor());
+        assertTrue(directorio.requiereCargaInicial());
+    }
+}
@@ -0,0 +1,151 @@
+package com.tata.cuenta_movimiento.directorio;
+
+import com.tata.cuenta_movimiento.cache.ClienteCacheLocal;
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la escritura transaccional en bloque del directorio de clientes en Redis.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisClienteDirectorioTest {
+
+    private static final String INDICE_NOMBRE = "clientes:idx:nombre";
+    private static final String INDICE_IDENTIFICACION = "clientes:idx:identificacion";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ClienteCacheLocal clienteCacheLocal;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @InjectMocks
+    private RedisClienteDirectorio directorio;
+
+    @Mock
+    private RedisOperations<String, Object> ops;
+
+    @Test
+    void testLoteSeEscribeEnUnaTransaccion() {
+        prepararSesion();
+        when(ops.exec()).thenReturn(List.of(true, 1L, 1L, 1L, true, true));
+
+        Map<Integer, ClienteKafkaDTO> eventos = new LinkedHashMap<>();
+        eventos.put(1, new ClienteKafkaDTO(1, "Ana B", "111"));
+        eventos.put(2, null);
+        directorio.aplicarEventos(eventos);
+
+        var transaccion = inOrder(ops, valueOperations, hashOperations, clienteCacheLocal);
+        transaccion.verify(ops).watch(List.of("cliente:1", "cliente:2", INDICE_NOMBRE, INDICE_IDENTIFICACION));
+        transaccion.verify(valueOperations).multiGet(List.of("cliente:1", "cliente:2"));
+        transaccion.verify(ops).multi();
+        transaccion.verify(valueOperations).multiSet(Map.of("cliente:1", new ClienteKafkaDTO(1, "Ana B", "111")));
+        transaccion.verify(ops).exec();
+        transaccion.verify(clienteCacheLocal).actualizarVarios(eventos);
+        verify(ops).delete(List.of("cliente:2"));
+        verify(hashOperations).delete(INDICE_NOMBRE, "Luis");
+        verify(hashOperations).delete(INDICE_IDENTIFICACION, "222");
+        verify(hashOperations).putAll(INDICE_NOMBRE, Map.of("Ana B", 1));
+        verify(hashOperations).putAll(INDICE_IDENTIFICACION, Map.of("111", 1));
+        verify(hashOperations, never()).delete(eq(INDICE_NOMBRE), eq("Ana"));
+    }
+
+    @Test
+    void testTransaccionDescartadaSeReintenta() {
+        prepararSesion();
+        // Otro consumidor modificó una clave vigilada: EXEC devuelve una lista vacía
+        when(ops.exec()).thenReturn(List.of()).thenReturn(List.of(true));
+
+        Map<Integer, ClienteKafkaDTO> eventos = Map.of(1, new ClienteKafkaDTO(1, "Ana B", "111"));
+        directorio.aplicarEventos(eventos);
+
+        verify(ops, times(2)).multi();
+        verify(valueOperations, times(2)).multiGet(List.of("cliente:1"));
+        verify(clienteCacheLocal).actualizarVarios(eventos);
+
+        reset(clienteCacheLocal);
+        when(ops.exec()).thenReturn(List.of());
+        assertThrows(OptimisticLockingFailureException.class, () -> directorio.aplicarEventos(eventos));
+        verify(clienteCacheLocal, never()).actualizarVarios(anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFalloDeRedisNoActualizaLaCacheLocal() {
+        when(redisTemplate.execute(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Redis no disponible"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> directorio.aplicarEventos(
+                Map.of(5, new ClienteKafkaDTO(5, "Eva", "555"))));
+
+        verify(clienteCacheLocal, never()).actualizarVarios(anyMap());
+    }
+
+    /**
+     * Ejecuta las sesiones de RedisTemplate sobre operaciones simuladas, con los
+     * clientes 1 ("Ana") y 2 ("Luis") ya registrados.
+     */
+    @SuppressWarnings("unchecked")
+    private void prepararSesion() {
+        when(redisTemplate.execute(any(SessionCallback.class)))
+                .thenAnswer(inv -> ((SessionCallback<Object>) inv.getArgument(0)).execute(ops));
+        when(ops.opsForValue()).thenReturn(valueOperations);
+        doReturn(hashOperations).when(ops).opsForHash();
+        when(valueOperations.multiGet(anyList())).thenAnswer(inv -> {
+            List<Object> anteriores = new ArrayList<>();
+            for (Object key : (List<Object>) inv.getArgument(0)) {
+                anteriores.add(switch ((String) key) {
+                    case "cliente:1" -> new ClienteKafkaDTO(1, "Ana", "111");
+                    case "cliente:2" -> new ClienteKafkaDTO(2, "Luis", "222");
+                    default -> null;
+                });
+            }
+            return anteriores;
+        });
+        // "Ana" ya apunta a otro cliente; "Luis" y "222" siguen apuntando al cliente 2
+        lenient().when(hashOperations.multiGet(eq(INDICE_NOMBRE), anyCollection())).thenAnswer(inv ->
+                indexados(inv.getArgument(1), Map.of("Ana", 7, "Luis", 2)));
+        lenient().when(hashOperations.multiGet(eq(INDICE_IDENTIFICACION), anyCollection())).thenAnswer(inv ->
+                indexados(inv.getArgument(1), Map.of("222", 2)));
+    }
+
+    private static List<Object> indexados(Collection<Object> valores, Map<String, Integer> indice) {
+        List<Object> resultado = new ArrayList<>();
+        for (Object valor : valores) {
+            resultado.add(indice.get((String) valor));
+        }
+        return resultado;
+    }
+}
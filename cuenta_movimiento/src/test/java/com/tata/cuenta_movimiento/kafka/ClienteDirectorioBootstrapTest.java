@@ -0,0 +1,140 @@
+package com.tata.cuenta_movimiento.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la carga inicial del directorio de clientes desde el tópico compactado.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class ClienteDirectorioBootstrapTest {
+
+    private static final TopicPartition PARTICION_0 = new TopicPartition(ClienteDirectorioBootstrap.TOPIC, 0);
+    private static final TopicPartition PARTICION_1 = new TopicPartition(ClienteDirectorioBootstrap.TOPIC, 1);
+
+    private ConsumerFactory<Object, Object> consumerFactory;
+    private ClienteKafkaConsumer clienteKafkaConsumer;
+    private KafkaListenerEndpointRegistry listenerRegistry;
+    private MessageListenerContainer contenedor;
+    private ClienteDirectorioBootstrap bootstrap;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        consumerFactory = mock(ConsumerFactory.class);
+        clienteKafkaConsumer = mock(ClienteKafkaConsumer.class);
+        listenerRegistry = mock(KafkaListenerEndpointRegistry.class);
+        contenedor = mock(MessageListenerContainer.class);
+        when(listenerRegistry.getListenerContainer(ClienteKafkaConsumer.LISTENER_ID)).thenReturn(contenedor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bootstrap != null) {
+            bootstrap.detener();
+        }
+    }
+
+    @Test
+    void cargaHastaElHighWaterMarkYArrancaElListener() throws Exception {
+        when(clienteKafkaConsumer.requiereCargaInicial()).thenReturn(true);
+        MockConsumer<Object, Object> metadatos = consumidor();
+        MockConsumer<Object, Object> lector = consumidor();
+        lector.schedulePollTask(() -> {
+            lector.addRecord(registro(0, 0, "1", "{\"id\":1,\"nombre\":\"Ana\"}"));
+            lector.addRecord(registro(0, 1, "1", "{\"id\":1,\"nombre\":\"Ana María\"}"));
+            lector.addRecord(registro(1, 0, "2", "{\"id\":2,\"nombre\":\"Luis\"}"));
+        });
+        // Llega después de tomar el high-water mark: la carga inicial no debe aplicarlo
+        lector.schedulePollTask(() -> lector.addRecord(registro(1, 1, "2", null)));
+        when(consumerFactory.createConsumer(isNull(), anyString(), anyString(), any()))
+                .thenReturn(metadatos, lector);
+
+        bootstrap = nuevoBootstrap(true);
+        assertEquals(Status.OUT_OF_SERVICE, bootstrap.health().getStatus());
+        bootstrap.iniciar();
+        esperarCompleto();
+
+        assertEquals(Status.UP, bootstrap.health().getStatus());
+        assertEquals(3L, bootstrap.health().getDetails().get("registrosCargados"));
+        assertEquals(0L, bootstrap.health().getDetails().get("offsetsPendientes"));
+        verify(clienteKafkaConsumer, atLeastOnce()).aplicarEventos(argThat(eventos ->
+                eventos.size() == 2 && "Ana María".equals(eventos.get(1).getNombre())));
+        verify(clienteKafkaConsumer, never()).aplicarEventos(argThat(eventos ->
+                eventos.containsKey(2) && eventos.get(2) == null));
+        verify(clienteKafkaConsumer).registrarCargaInicial(Map.of(PARTICION_0, 2L, PARTICION_1, 1L));
+        verify(clienteKafkaConsumer).marcarCargaCompleta();
+        verify(contenedor).start();
+    }
+
+    @Test
+    void sinCargaPendienteArrancaElListenerSinCargar() {
+        when(clienteKafkaConsumer.requiereCargaInicial()).thenReturn(false);
+
+        bootstrap = nuevoBootstrap(true);
+        bootstrap.iniciar();
+
+        assertEquals(ClienteDirectorioBootstrap.Estado.COMPLETO, bootstrap.getEstado());
+        verifyNoInteractions(consumerFactory);
+        verify(contenedor).start();
+    }
+
+    @Test
+    void sinAutoArranqueDeListenersNoHaceNada() {
+        bootstrap = nuevoBootstrap(false);
+        bootstrap.iniciar();
+
+        assertEquals(Status.UP, bootstrap.health().getStatus());
+        verifyNoInteractions(consumerFactory, clienteKafkaConsumer, contenedor);
+    }
+
+    private ClienteDirectorioBootstrap nuevoBootstrap(boolean autoStartup) {
+        return new ClienteDirectorioBootstrap(consumerFactory, clienteKafkaConsumer, listenerRegistry,
+                new SimpleMeterRegistry(), autoStartup, true, 1, Duration.ofMillis(50));
+    }
+
+    private MockConsumer<Object, Object> consumidor() {
+        MockConsumer<Object, Object> consumidor = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumidor.updatePartitions(ClienteDirectorioBootstrap.TOPIC, List.of(
+                new PartitionInfo(ClienteDirectorioBootstrap.TOPIC, 0, null, null, null),
+                new PartitionInfo(ClienteDirectorioBootstrap.TOPIC, 1, null, null, null)));
+        consumidor.updateBeginningOffsets(Map.of(PARTICION_0, 0L, PARTICION_1, 0L));
+        consumidor.updateEndOffsets(Map.of(PARTICION_0, 2L, PARTICION_1, 1L));
+        return consumidor;
+    }
+
+    private ConsumerRecord<Object, Object> registro(int particion, long offset, String clave, String valor) {
+        return new ConsumerRecord<>(ClienteDirectorioBootstrap.TOPIC, particion, offset, clave, valor);
+    }
+
+    private void esperarCompleto() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (bootstrap.getEstado() != ClienteDirectorioBootstrap.Estado.COMPLETO
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals(ClienteDirectorioBootstrap.Estado.COMPLETO, bootstrap.getEstado());
+    }
+}
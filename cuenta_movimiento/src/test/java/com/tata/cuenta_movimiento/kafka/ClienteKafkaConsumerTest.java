@@ -0,0 +1,96 @@
+package com.tata.cuenta_movimiento.kafka;
+
+import com.tata.cuenta_movimiento.directorio.ClienteDirectorio;
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del listener en lotes del directorio de clientes.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@ExtendWith(MockitoExtension.class)
+class ClienteKafkaConsumerTest {
+
+    private static final TopicPartition PARTICION = new TopicPartition("clientes-topic", 0);
+
+    @Mock
+    private ClienteDirectorio clienteDirectorio;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @InjectMocks
+    private ClienteKafkaConsumer consumer;
+
+    @Test
+    void testConsolidarConservaElUltimoEventoPorCliente() {
+        Map<Integer, ClienteKafkaDTO> eventos = ClienteKafkaConsumer.consolidar(List.of(
+                registro(0, "1", "{\"id\":1,\"nombre\":\"Ana\",\"identificacion\":\"111\"}"),
+                registro(1, "2", "{\"id\":2,\"nombre\":\"Luis\",\"identificacion\":\"222\",\"campoNuevo\":true}"),
+                registro(2, "1", "{\"id\":1,\"nombre\":\"Ana B\",\"identificacion\":\"111\"}"),
+                registro(3, "2", null),
+                registro(4, "3", "no es json")));
+
+        assertEquals(List.of(1, 2), new ArrayList<>(eventos.keySet()));
+        assertEquals("Ana B", eventos.get(1).getNombre());
+        assertNull(eventos.get(2));
+    }
+
+    @Test
+    void testLoteSeAplicaAlDirectorioYLuegoSeConfirma() {
+        consumer.registrarCargaInicial(Map.of(PARTICION, 1L));
+
+        consumer.escucharClientes(List.of(
+                registro(0, "1", "{\"id\":1,\"nombre\":\"Ana\",\"identificacion\":\"111\"}"),
+                registro(1, "2", "{\"id\":2,\"nombre\":\"Luis\",\"identificacion\":\"222\"}")), acknowledgment);
+
+        var orden = inOrder(clienteDirectorio, acknowledgment);
+        orden.verify(clienteDirectorio).aplicarEventos(Map.of(2, new ClienteKafkaDTO(2, "Luis", "222")));
+        orden.verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testFalloDelDirectorioNoConfirmaElOffset() {
+        doThrow(new IllegalStateException("directorio no disponible")).when(clienteDirectorio).aplicarEventos(anyMap());
+
+        assertThrows(IllegalStateException.class, () -> consumer.escucharClientes(List.of(
+                registro(0, "5", "{\"id\":5,\"nombre\":\"Eva\",\"identificacion\":\"555\"}")), acknowledgment));
+
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void testAlAsignarParticionesSaltaLoYaCargadoSinRetroceder() {
+        TopicPartition adelantada = new TopicPartition("clientes-topic", 1);
+        consumer.registrarCargaInicial(Map.of(PARTICION, 40L, adelantada, 10L));
+        ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+
+        consumer.onPartitionsAssigned(Map.of(PARTICION, 0L, adelantada, 25L), callback);
+
+        verify(callback).seek("clientes-topic", 0, 40L);
+        verifyNoMoreInteractions(callback);
+    }
+
+    private static ConsumerRecord<String, String> registro(long offset, String clave, String valor) {
+        return new ConsumerRecord<>("clientes-topic", 0, offset, clave, valor);
+    }
+}
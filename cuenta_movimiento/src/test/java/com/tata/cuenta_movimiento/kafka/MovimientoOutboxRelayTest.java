@@ -0,0 +1,170 @@
+package com.tata.cuenta_movimiento.kafka;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.dto.TransferenciaDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.exception.InsufficientFundsException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.service.MovimientoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del outbox de movimientos y de su relay hacia Kafka.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;MODE=MySQL",
+    "movimientos.motor.habilitado=false",
+    "movimientos.outbox.intervalo=1h",
+    "movimientos.outbox.relay.habilitado=true"
+})
+class MovimientoOutboxRelayTest {
+
+    @MockitoBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private MovimientoOutboxRelay relay;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void limpiarOutbox() {
+        jdbcTemplate.update("DELETE FROM outbox_movimientos");
+    }
+
+    @Test
+    void testMovimientosConfirmadosSePublicanEnOrdenPorCuenta() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        Cuenta a = cuentaRepository.save(new Cuenta("OUT-001", "AHORROS", new BigDecimal("100.00"), 1, true));
+        Cuenta b = cuentaRepository.save(new Cuenta("OUT-002", "AHORROS", new BigDecimal("0.00"), 1, true));
+
+        movimientoService.createMovimiento(new MovimientoDTO(null, "RETIRO", new BigDecimal("10.00"), null, a.getId()));
+        movimientoService.transferir(new TransferenciaDTO(a.getId(), b.getId(), new BigDecimal("20.00"), null));
+        assertThrows(InsufficientFundsException.class, () -> movimientoService.createMovimiento(
+                new MovimientoDTO(null, "RETIRO", new BigDecimal("500.00"), null, b.getId())));
+        assertEquals(3, pendientes(), "Solo los movimientos confirmados deben llegar al outbox");
+
+        double publicadosAntes = meterRegistry.counter("movimientos.outbox.publicados").count();
+        relay.publicarPendientes();
+
+        ArgumentCaptor<String> claves = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate, times(3)).send(eq(MovimientoOutboxRelay.TOPIC), claves.capture(), payloads.capture());
+        assertEquals(List.of(a.getId().toString(), a.getId().toString(), b.getId().toString()), claves.getAllValues());
+        assertTrue(payloads.getAllValues().get(0).contains("\"tipoMovimiento\":\"RETIRO\""));
+        assertTrue(payloads.getAllValues().get(1).contains("\"tipoMovimiento\":\"TRANSFERENCIA\""));
+        assertEquals(0, pendientes());
+        assertEquals(3, meterRegistry.counter("movimientos.outbox.publicados").count() - publicadosAntes);
+        assertEquals(0, meterRegistry.get("movimientos.outbox.lag").timeGauge().value());
+    }
+
+    @Test
+    void testEventoNoConfirmadoSeConservaParaReintento() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("OUT-003", "AHORROS", new BigDecimal("100.00"), 1, true));
+        for (int i = 0; i < 3; i++) {
+            movimientoService.createMovimiento(new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, cuenta.getId()));
+        }
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker no disponible")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.publicarPendientes();
+
+        assertEquals(2, pendientes(), "El evento fallido y los siguientes deben reintentarse");
+        assertTrue(meterRegistry.get("movimientos.outbox.lag").timeGauge().value() >= 0);
+
+        reset(kafkaTemplate);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        relay.publicarPendientes();
+        assertEquals(0, pendientes());
+    }
+
+    @Test
+    void testFalloDeUnaCuentaNoDetieneALasDemas() {
+        Cuenta a = cuentaRepository.save(new Cuenta("OUT-004", "AHORROS", new BigDecimal("100.00"), 1, true));
+        Cuenta b = cuentaRepository.save(new Cuenta("OUT-005", "AHORROS", new BigDecimal("100.00"), 1, true));
+        for (int i = 0; i < 2; i++) {
+            movimientoService.createMovimiento(new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, a.getId()));
+            movimientoService.createMovimiento(new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, b.getId()));
+        }
+        when(kafkaTemplate.send(anyString(), eq(a.getId().toString()), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker no disponible")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(anyString(), eq(b.getId().toString()), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.publicarPendientes();
+
+        // El segundo evento de la cuenta A se confirmó, pero no debe adelantarse al primero
+        assertEquals(2, pendientes("cuenta_id = " + a.getId()));
+        assertEquals(0, pendientes("cuenta_id = " + b.getId()));
+        assertEquals(0, pendientes("reclamado_hasta IS NOT NULL"), "Los eventos no publicados deben liberarse");
+    }
+
+    @Test
+    void testEventosReclamadosPorOtroRelayBloqueanSuCuenta() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        Cuenta a = cuentaRepository.save(new Cuenta("OUT-006", "AHORROS", new BigDecimal("100.00"), 1, true));
+        Cuenta b = cuentaRepository.save(new Cuenta("OUT-007", "AHORROS", new BigDecimal("100.00"), 1, true));
+        movimientoService.createMovimiento(new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, a.getId()));
+        movimientoService.createMovimiento(new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, a.getId()));
+        movimientoService.createMovimiento(new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, b.getId()));
+        // Otra instancia está publicando el primer evento de la cuenta A
+        jdbcTemplate.update("UPDATE outbox_movimientos SET reclamado_hasta = TIMESTAMPADD(MINUTE, 5, CURRENT_TIMESTAMP) "
+                + "WHERE id = (SELECT MIN(id) FROM outbox_movimientos WHERE cuenta_id = ?)", a.getId());
+
+        relay.publicarPendientes();
+
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), anyString());
+        assertEquals(2, pendientes("cuenta_id = " + a.getId()));
+        assertEquals(0, pendientes("cuenta_id = " + b.getId()));
+    }
+
+    private int pendientes(String condicion) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_movimientos WHERE " + condicion, Integer.class);
+    }
+
+    private int pendientes() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_movimientos", Integer.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.tata.cuenta_movimiento.mapper;
+
+import com.tata.cuenta_movimiento.dto.CuentaDTO;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que los mappers generados producen lo mismo que la copia con
+ * {@link BeanUtils} que reemplazan.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class DtoMapperTest {
+
+    private final CuentaMapper cuentaMapper = new CuentaMapperImpl();
+    private final MovimientoMapper movimientoMapper = new MovimientoMapperImpl();
+
+    @Test
+    void testCuentaADtoIgualQueBeanUtils() {
+        Cuenta cuenta = cuenta();
+
+        for (String nombre : new String[] {"José Lema", null}) {
+            CuentaDTO esperado = new CuentaDTO();
+            BeanUtils.copyProperties(cuenta, esperado);
+            esperado.setCliente(nombre != null ? nombre : "Cliente no encontrado");
+
+            assertEquals(esperado, cuentaMapper.toDTO(cuenta, nombre));
+        }
+    }
+
+    @Test
+    void testDtoACuentaIgualQueBeanUtils() {
+        CuentaDTO dto = new CuentaDTO();
+        BeanUtils.copyProperties(cuenta(), dto);
+        dto.setCliente("José Lema");
+        Cuenta esperada = new Cuenta();
+        BeanUtils.copyProperties(dto, esperada);
+        esperada.setClienteId(null);
+
+        Cuenta cuenta = cuentaMapper.toEntity(dto);
+
+        assertEquals(esperada, cuenta);
+        assertNull(cuenta.getClienteId());
+        assertNull(cuenta.getMovimientos());
+    }
+
+    @Test
+    void testMovimientoADtoIgualQueBeanUtils() {
+        Movimiento movimiento = movimiento();
+        MovimientoDTO esperado = new MovimientoDTO();
+        BeanUtils.copyProperties(movimiento, esperado);
+        esperado.setCuentaId(movimiento.getCuenta().getId());
+
+        assertEquals(esperado, movimientoMapper.toDTO(movimiento));
+
+        movimiento.setCuenta(null);
+        esperado.setCuentaId(null);
+        assertEquals(esperado, movimientoMapper.toDTO(movimiento));
+    }
+
+    @Test
+    void testDtoAMovimientoIgualQueBeanUtils() {
+        MovimientoDTO dto = movimientoMapper.toDTO(movimiento());
+        Movimiento esperado = new Movimiento();
+        BeanUtils.copyProperties(dto, esperado);
+
+        Movimiento movimiento = movimientoMapper.toEntity(dto);
+
+        assertEquals(esperado, movimiento);
+        assertNull(movimiento.getCuenta());
+    }
+
+    private Cuenta cuenta() {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setId(7L);
+        cuenta.setNumeroCuenta("478758");
+        cuenta.setTipoCuenta("AHORROS");
+        cuenta.setSaldo(new BigDecimal("2000.50"));
+        cuenta.setClienteId(3);
+        cuenta.setEstado(true);
+        cuenta.setFechaCreacion(LocalDateTime.of(2025, 6, 1, 8, 30));
+        cuenta.setFechaActualizacion(LocalDateTime.of(2025, 6, 2, 9, 15));
+        return cuenta;
+    }
+
+    private Movimiento movimiento() {
+        Movimiento movimiento = new Movimiento();
+        movimiento.setId(11L);
+        movimiento.setFecha(LocalDateTime.of(2025, 6, 3, 10, 0));
+        movimiento.setTipoMovimiento("RETIRO");
+        movimiento.setValor(new BigDecimal("575.00"));
+        movimiento.setSaldo(new BigDecimal("1425.50"));
+        movimiento.setCuenta(cuenta());
+        movimiento.setDescripcion("Retiro en cajero");
+        return movimiento;
+    }
+}
@@ -0,0 +1,90 @@
+package com.tata.cuenta_movimiento.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que el esquema creado por las migraciones valida contra las entidades y
+ * que las consultas de los repositorios usan los índices previstos.
+ *
+ * <p>Los planes se obtienen con {@code EXPLAIN} en la base embebida; si se elimina
+ * o cambia un índice, la prueba falla.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:esquema;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class EsquemaIndicesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void cargarDatos() {
+        for (int c = 1; c <= 20; c++) {
+            jdbcTemplate.update("INSERT INTO cuentas (numero_cuenta, tipo_cuenta, saldo, cliente_id, estado) "
+                    + "VALUES (?, ?, 0, ?, TRUE)", "IDX-" + c, c % 2 == 0 ? "AHORROS" : "CORRIENTE", c % 5);
+        }
+        for (int m = 0; m < 400; m++) {
+            jdbcTemplate.update("INSERT INTO movimientos (fecha, tipo_movimiento, valor, saldo, cuenta_id) "
+                    + "VALUES (DATEADD('MINUTE', ?, TIMESTAMP '2025-01-01 00:00:00'), ?, 1, 1, ?)",
+                    m, m % 3 == 0 ? "RETIRO" : "DEPOSITO", (m % 20) + 1);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testMovimientosPorCuentaYFechaUsanIndice() {
+        assertUsaIndice("IDX_MOVIMIENTOS_CUENTA_FECHA",
+                "SELECT * FROM movimientos WHERE cuenta_id = 3 "
+                + "AND fecha BETWEEN TIMESTAMP '2025-01-01 01:00:00' AND TIMESTAMP '2025-01-01 02:00:00'");
+    }
+
+    @Test
+    void testMovimientosPorCuentaYTipoUsanIndice() {
+        assertUsaIndice("IDX_MOVIMIENTOS_CUENTA_TIPO",
+                "SELECT * FROM movimientos WHERE cuenta_id = 3 AND tipo_movimiento = 'RETIRO'");
+    }
+
+    @Test
+    void testMovimientosPorTipoYFechaUsanIndice() {
+        assertUsaIndice("IDX_MOVIMIENTOS_TIPO_FECHA",
+                "SELECT * FROM movimientos WHERE tipo_movimiento = 'RETIRO' "
+                + "AND fecha BETWEEN TIMESTAMP '2025-01-01 01:00:00' AND TIMESTAMP '2025-01-01 02:00:00'");
+    }
+
+    @Test
+    void testPaginacionDeMovimientosUsaIndice() {
+        assertUsaIndice("IDX_MOVIMIENTOS_FECHA",
+                "SELECT * FROM movimientos WHERE fecha < TIMESTAMP '2025-01-01 01:00:00' "
+                + "ORDER BY fecha DESC, id DESC LIMIT 50");
+    }
+
+    @Test
+    void testCuentasPorClienteUsanIndice() {
+        assertUsaIndice("IDX_CUENTAS_CLIENTE", "SELECT * FROM cuentas WHERE cliente_id = 2");
+    }
+
+    @Test
+    void testCuentasPorTipoUsanIndice() {
+        assertUsaIndice("IDX_CUENTAS_TIPO", "SELECT * FROM cuentas WHERE tipo_cuenta = 'AHORROS'");
+    }
+
+    private void assertUsaIndice(String indice, String consulta) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + consulta, String.class);
+        assertTrue(plan != null && plan.toUpperCase().contains(indice),
+                () -> "Se esperaba el índice " + indice + " en el plan:\n" + plan);
+    }
+}
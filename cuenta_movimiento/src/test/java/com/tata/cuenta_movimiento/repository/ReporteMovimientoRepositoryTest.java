@@ -0,0 +1,108 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.dto.ReporteMovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import com.tata.cuenta_movimiento.service.MovimientoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la consulta del reporte de movimientos.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:reporte;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class ReporteMovimientoRepositoryTest {
+
+    @Autowired
+    private ReporteMovimientoRepository reporteMovimientoRepository;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReporteCalculaSignosYSaldosPorCuenta() {
+        Cuenta ahorros = cuentaRepository.save(new Cuenta("REP-001", "AHORROS", new BigDecimal("100.00"), 77, true));
+        Cuenta corriente = cuentaRepository.save(new Cuenta("REP-002", "CORRIENTE", new BigDecimal("50.00"), 77, false));
+        Cuenta otroCliente = cuentaRepository.save(new Cuenta("REP-003", "AHORROS", new BigDecimal("10.00"), 78, true));
+
+        registrar(ahorros, "DEPOSITO", "25.00");
+        registrar(ahorros, "RETIRO", "10.00");
+        registrar(ahorros, "PAGO", "5.00");
+        registrar(corriente, "TRANSFERENCIA", "20.00");
+        registrar(otroCliente, "DEPOSITO", "1.00");
+        Movimiento antiguo = new Movimiento(LocalDateTime.now().minusYears(1), "DEPOSITO", BigDecimal.ONE,
+                new BigDecimal("1.00"), ahorros);
+        movimientoRepository.save(antiguo);
+
+        List<ReporteMovimientoDTO> reporte = reporteMovimientoRepository.obtenerReporte(
+                77, LocalDate.now().minusDays(1), LocalDate.now(), "Jose Lema");
+
+        assertEquals(4, reporte.size());
+        assertTrue(reporte.stream().allMatch(r -> "Jose Lema".equals(r.getCliente())));
+        verificar(reporte.get(0), "REP-001", "100.00", "25.00", "125.00");
+        verificar(reporte.get(1), "REP-001", "125.00", "-10.00", "115.00");
+        verificar(reporte.get(2), "REP-001", "115.00", "-5.00", "110.00");
+        verificar(reporte.get(3), "REP-002", "50.00", "-20.00", "30.00");
+        assertEquals("CORRIENTE", reporte.get(3).getTipo());
+        assertFalse(reporte.get(3).getEstado());
+    }
+
+    @Test
+    void testSaldoInicialSaleDelMovimientoAunqueElSaldoDiarioDifiera() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("REP-004", "AHORROS", new BigDecimal("100.00"), 79, true));
+        registrar(cuenta, "DEPOSITO", "25.00");
+        assertEquals(1, jdbcTemplate.update(
+                "UPDATE saldos_diarios SET saldo_apertura = 999.00 WHERE cuenta_id = ?", cuenta.getId()));
+
+        List<ReporteMovimientoDTO> reporte = reporteMovimientoRepository.obtenerReporte(
+                79, LocalDate.now().minusDays(1), LocalDate.now(), "Jose Lema");
+
+        assertEquals(1, reporte.size());
+        verificar(reporte.get(0), "REP-004", "100.00", "25.00", "125.00");
+    }
+
+    @Test
+    void testReporteSinMovimientosEnRango() {
+        assertTrue(reporteMovimientoRepository.obtenerReporte(
+                999, LocalDate.now(), LocalDate.now(), "Nadie").isEmpty());
+    }
+
+    private void registrar(Cuenta cuenta, String tipo, String valor) {
+        movimientoService.createMovimiento(new MovimientoDTO(null, tipo, new BigDecimal(valor), null, cuenta.getId()));
+    }
+
+    private void verificar(ReporteMovimientoDTO fila, String numeroCuenta, String saldoInicial,
+                           String movimiento, String saldoDisponible) {
+        assertEquals(numeroCuenta, fila.getNumeroCuenta());
+        assertEquals(0, fila.getSaldoInicial().compareTo(new BigDecimal(saldoInicial)));
+        assertEquals(0, fila.getMovimiento().compareTo(new BigDecimal(movimiento)));
+        assertEquals(0, fila.getSaldoDisponible().compareTo(new BigDecimal(saldoDisponible)));
+    }
+}
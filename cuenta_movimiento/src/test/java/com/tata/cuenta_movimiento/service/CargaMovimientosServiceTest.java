@@ -0,0 +1,110 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.ResultadoCargaDTO;
+import com.tata.cuenta_movimiento.dto.ResultadoFilaCargaDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la carga masiva de movimientos en formato CSV y NDJSON.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;MODE=MySQL",
+    "movimientos.carga.tamano-bloque=3",
+    "logging.level.com.tata.cuenta_movimiento=INFO",
+    "logging.level.org.springframework.web=INFO"
+})
+class CargaMovimientosServiceTest {
+
+    @Autowired
+    private CargaMovimientosService cargaMovimientosService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testCargaCsvAplicaSaldosEnOrdenYReportaErroresPorFila() throws Exception {
+        Long a = cuentaRepository.save(new Cuenta("CARGA-A", "AHORROS", new BigDecimal("10.00"), 1, true)).getId();
+        Long b = cuentaRepository.save(new Cuenta("CARGA-B", "AHORROS", new BigDecimal("0.00"), 1, true)).getId();
+        String csv = "cuentaId,tipoMovimiento,valor,descripcion\n"
+                + a + ",DEPOSITO,5.00,Nómina, junio\n"
+                + b + ",RETIRO,1.00\n"
+                + a + ",RETIRO,15.00\n"
+                + "\n"
+                + a + ",RETIRO,0.01\n"
+                + b + ",DEPOSITO,-3\n"
+                + "x,DEPOSITO,1\n"
+                + "-1,DEPOSITO,1.00\n"
+                + b + ",deposito,2.50\n";
+
+        ResultadoCargaDTO resultado = cargaMovimientosService.cargar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CargaMovimientosService.Formato.CSV);
+
+        assertEquals(8, resultado.getTotalFilas());
+        assertEquals(3, resultado.getAceptadas());
+        assertEquals(5, resultado.getRechazadas());
+        ResultadoFilaCargaDTO primera = resultado.getFilas().get(0);
+        assertEquals(2, primera.getFila());
+        assertTrue(primera.isExito());
+        assertNotNull(primera.getMovimientoId());
+        assertEquals(0, primera.getSaldo().compareTo(new BigDecimal("15.00")));
+        assertEquals("Nómina, junio", movimientoRepository.findById(primera.getMovimientoId()).orElseThrow().getDescripcion());
+        assertFalse(resultado.getFilas().get(1).isExito());
+        assertTrue(resultado.getFilas().get(2).isExito());
+        assertFalse(resultado.getFilas().get(3).isExito());
+        assertEquals(6, resultado.getFilas().get(3).getFila());
+        assertEquals(0, cuentaRepository.findSaldoById(a).orElseThrow().compareTo(BigDecimal.ZERO));
+        assertEquals(0, cuentaRepository.findSaldoById(b).orElseThrow().compareTo(new BigDecimal("2.50")));
+    }
+
+    @Test
+    void testCargaNdjsonPorEndpoint() throws Exception {
+        Long id = cuentaRepository.save(new Cuenta("CARGA-C", "CORRIENTE", new BigDecimal("100.00"), 1, true)).getId();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            ndjson.append("{\"cuentaId\":").append(id).append(",\"tipoMovimiento\":\"DEPOSITO\",\"valor\":1.00}\n");
+        }
+        ndjson.append("{no es json}\n");
+
+        mockMvc.perform(post("/movimientos/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalFilas").value(121))
+                .andExpect(jsonPath("$.data.aceptadas").value(120))
+                .andExpect(jsonPath("$.data.rechazadas").value(1))
+                .andExpect(jsonPath("$.data.filas[120].error").value("Fila con formato inválido"));
+
+        assertEquals(0, cuentaRepository.findSaldoById(id).orElseThrow().compareTo(new BigDecimal("220.00")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.tata.cuenta_movimiento.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de conversión exacta y desbordamiento de {@link Dinero}.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class DineroTest {
+
+    @Test
+    void testConversionExactaEnAmbosSentidos() {
+        assertEquals(57500, Dinero.de(new BigDecimal("575")).centavos());
+        assertEquals(10, Dinero.de(new BigDecimal("0.1")).centavos());
+        assertEquals(-125050, Dinero.de(new BigDecimal("-1250.50")).centavos());
+        assertEquals(new BigDecimal("1425.00"), new Dinero(142500).aBigDecimal());
+        assertEquals("1425.00", new Dinero(142500).toString());
+        assertEquals("0.05", new Dinero(5).toString());
+        assertEquals("-0.05", new Dinero(-5).toString());
+
+        Random random = new Random(7L);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal valor = BigDecimal.valueOf(random.nextLong(), Dinero.ESCALA);
+            assertEquals(valor, Dinero.de(valor).aBigDecimal());
+        }
+    }
+
+    @Test
+    void testImportesNoRepresentablesSeRechazan() {
+        assertThrows(IllegalArgumentException.class, () -> Dinero.de(null));
+        assertThrows(IllegalArgumentException.class, () -> Dinero.de(new BigDecimal("0.001")));
+        assertThrows(IllegalArgumentException.class, () -> Dinero.de(new BigDecimal("92233720368547758.08")));
+        assertEquals(Long.MAX_VALUE, Dinero.de(new BigDecimal("92233720368547758.07")).centavos());
+    }
+
+    @Test
+    void testDesbordamientoLanzaExcepcion() {
+        Dinero maximo = new Dinero(Long.MAX_VALUE);
+        Dinero minimo = new Dinero(Long.MIN_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> maximo.sumar(new Dinero(1)));
+        assertThrows(ArithmeticException.class, () -> minimo.restar(new Dinero(1)));
+        assertThrows(ArithmeticException.class, minimo::negar);
+        assertEquals(new Dinero(Long.MAX_VALUE - 1), maximo.restar(new Dinero(1)));
+    }
+
+    @Test
+    void testAritmeticaYComparacion() {
+        Dinero saldo = Dinero.de(new BigDecimal("2000.00"));
+        Dinero retiro = Dinero.de(new BigDecimal("575"));
+
+        assertEquals(Dinero.de(new BigDecimal("1425")), saldo.restar(retiro));
+        assertEquals(Dinero.de(new BigDecimal("2575")), saldo.sumar(retiro));
+        assertTrue(retiro.restar(saldo).esNegativo());
+        assertEquals(new Dinero(-57500), retiro.negar());
+        assertTrue(saldo.compareTo(retiro) > 0);
+        assertEquals(0, Dinero.CERO.compareTo(new Dinero(0)));
+    }
+}
@@ -0,0 +1,150 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.exception.DuplicateResourceException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la contabilización idempotente de movimientos.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:idempotencia;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class IdempotenciaServiceTest {
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReintentosConcurrentesCreanUnSoloMovimiento() throws Exception {
+        Cuenta cuenta = cuentaRepository.save(
+                new Cuenta("IDEM-001", "AHORROS", new BigDecimal("100.00"), 1, true));
+        long movimientosIniciales = movimientoRepository.count();
+        int reintentos = 32;
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(reintentos);
+        List<Future<MovimientoDTO>> tareas = new ArrayList<>();
+        for (int i = 0; i < reintentos; i++) {
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                return idempotenciaService.contabilizar("clave-concurrente",
+                        new MovimientoDTO(null, "RETIRO", new BigDecimal("10.00"), null, cuenta.getId()));
+            }));
+        }
+        salida.countDown();
+        Set<Long> ids = new HashSet<>();
+        for (Future<MovimientoDTO> tarea : tareas) {
+            ids.add(tarea.get().getId());
+        }
+        executor.shutdown();
+
+        assertEquals(1, ids.size(), "Todos los reintentos deben devolver el mismo movimiento");
+        assertEquals(movimientosIniciales + 1, movimientoRepository.count());
+        assertEquals(0, new BigDecimal("90.00").compareTo(
+                cuentaRepository.findById(cuenta.getId()).orElseThrow().getSaldo()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM claves_idempotencia WHERE clave = 'clave-concurrente'", Integer.class));
+    }
+
+    @Test
+    void testClaveRegistradaSeResuelveDesdeLaBaseDeDatos() {
+        Cuenta cuenta = cuentaRepository.save(
+                new Cuenta("IDEM-002", "AHORROS", new BigDecimal("50.00"), 1, true));
+        MovimientoDTO deposito = new MovimientoDTO(null, "DEPOSITO", new BigDecimal("5.00"), null, cuenta.getId());
+        MovimientoDTO original = idempotenciaService.contabilizar("clave-persistida", deposito);
+
+        // Un lote que no pasa por la memoria del servicio (p. ej. en otra instancia)
+        ComandoMovimiento reintento = new ComandoMovimiento(deposito, "clave-persistida",
+                IdempotenciaService.huella(deposito));
+        movimientoService.contabilizarLote(List.of(reintento));
+
+        assertNull(reintento.getError());
+        assertEquals(original.getId(), reintento.getRespuesta().getId());
+        assertEquals(0, original.getSaldo().compareTo(reintento.getRespuesta().getSaldo()));
+        assertEquals(0, new BigDecimal("55.00").compareTo(
+                cuentaRepository.findById(cuenta.getId()).orElseThrow().getSaldo()));
+    }
+
+    @Test
+    void testClaveReutilizadaConOtroCuerpoSeRechaza() {
+        Cuenta cuenta = cuentaRepository.save(
+                new Cuenta("IDEM-003", "AHORROS", new BigDecimal("50.00"), 1, true));
+        idempotenciaService.contabilizar("clave-reutilizada",
+                new MovimientoDTO(null, "DEPOSITO", new BigDecimal("5.00"), null, cuenta.getId()));
+
+        assertThrows(DuplicateResourceException.class, () -> idempotenciaService.contabilizar("clave-reutilizada",
+                new MovimientoDTO(null, "DEPOSITO", new BigDecimal("7.00"), null, cuenta.getId())));
+    }
+
+    @Test
+    void testPurgaEliminaLasClavesVencidas() {
+        jdbcTemplate.update("INSERT INTO claves_idempotencia (clave, huella, movimiento_id, respuesta, "
+                + "fecha_creacion, fecha_expiracion) VALUES ('clave-vencida', 'x', 1, '{}', "
+                + "TIMESTAMPADD(DAY, -2, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, -1, CURRENT_TIMESTAMP))");
+
+        idempotenciaService.purgarVencidas();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM claves_idempotencia WHERE clave = 'clave-vencida'", Integer.class));
+    }
+
+    @Test
+    void testClaveVencidaSinPurgarSePuedeReutilizar() {
+        Cuenta cuenta = cuentaRepository.save(
+                new Cuenta("IDEM-004", "AHORROS", new BigDecimal("20.00"), 1, true));
+        MovimientoDTO deposito = new MovimientoDTO(null, "DEPOSITO", new BigDecimal("5.00"), null, cuenta.getId());
+        MovimientoDTO original = idempotenciaService.contabilizar("clave-reutilizable", deposito);
+        // Vence, pero la purga todavía no la eliminó
+        jdbcTemplate.update("UPDATE claves_idempotencia SET fecha_expiracion = TIMESTAMPADD(DAY, -1, CURRENT_TIMESTAMP) "
+                + "WHERE clave = 'clave-reutilizable'");
+
+        // Un lote que no pasa por la memoria del servicio
+        ComandoMovimiento reutilizada = new ComandoMovimiento(deposito, "clave-reutilizable",
+                IdempotenciaService.huella(deposito));
+        movimientoService.contabilizarLote(List.of(reutilizada));
+
+        assertNull(reutilizada.getError());
+        assertNotEquals(original.getId(), reutilizada.getRespuesta().getId());
+        assertEquals(0, new BigDecimal("30.00").compareTo(
+                cuentaRepository.findById(cuenta.getId()).orElseThrow().getSaldo()));
+        assertEquals(reutilizada.getRespuesta().getId(), jdbcTemplate.queryForObject(
+                "SELECT movimiento_id FROM claves_idempotencia WHERE clave = 'clave-reutilizable' "
+                + "AND fecha_expiracion > CURRENT_TIMESTAMP", Long.class));
+    }
+}
@@ -0,0 +1,157 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.exception.InsufficientFundsException;
+import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pruebas del motor de contabilización por lotes.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:motor;DB_CLOSE_DELAY=-1;MODE=MySQL",
+    "logging.level.com.tata.cuenta_movimiento=INFO",
+    "logging.level.org.springframework.web=INFO"
+})
+class MotorMovimientosTest {
+
+    private static final int HILOS = 32;
+    private static final int CUENTAS_CALIENTES = 4;
+    private static final int MOVIMIENTOS_POR_HILO = 100;
+
+    @Autowired
+    private MotorMovimientos motorMovimientos;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Test
+    void testLoteRespetaFondosYOrden() throws Exception {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("MOTOR-001", "AHORROS", new BigDecimal("10.00"), 1, true));
+
+        CompletableFuture<MovimientoDTO> deposito = motorMovimientos.enviar(
+                new MovimientoDTO(null, "DEPOSITO", new BigDecimal("5.00"), null, cuenta.getId()));
+        CompletableFuture<MovimientoDTO> retiroValido = motorMovimientos.enviar(
+                new MovimientoDTO(null, "RETIRO", new BigDecimal("15.00"), null, cuenta.getId()));
+        CompletableFuture<MovimientoDTO> retiroInvalido = motorMovimientos.enviar(
+                new MovimientoDTO(null, "RETIRO", new BigDecimal("0.01"), null, cuenta.getId()));
+        CompletableFuture<MovimientoDTO> cuentaInexistente = motorMovimientos.enviar(
+                new MovimientoDTO(null, "DEPOSITO", new BigDecimal("1.00"), null, -1L));
+
+        assertEquals(0, deposito.get().getSaldo().compareTo(new BigDecimal("15.00")));
+        assertEquals(0, retiroValido.get().getSaldo().compareTo(BigDecimal.ZERO));
+        ExecutionException sinFondos = assertThrows(ExecutionException.class, retiroInvalido::get);
+        assertInstanceOf(InsufficientFundsException.class, sinFondos.getCause());
+        ExecutionException noEncontrada = assertThrows(ExecutionException.class, cuentaInexistente::get);
+        assertInstanceOf(ResourceNotFoundException.class, noEncontrada.getCause());
+        assertEquals(0, cuentaRepository.findSaldoById(cuenta.getId()).orElseThrow().compareTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTiempoDeEsperaAgotadoCancelaElMovimiento() throws Exception {
+        MovimientoService servicio = mock(MovimientoService.class);
+        CountDownLatch bloqueado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<ComandoMovimiento> contabilizados = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> {
+            List<ComandoMovimiento> lote = inv.getArgument(0);
+            contabilizados.addAll(lote);
+            bloqueado.countDown();
+            liberar.await();
+            lote.forEach(c -> c.registrarRespuesta(c.getDatos()));
+            return null;
+        }).when(servicio).contabilizarLote(anyList());
+        MotorMovimientos motor = new MotorMovimientos(servicio, new SimpleMeterRegistry(), true, 1, 64, 10,
+                Duration.ofMillis(200));
+        motor.iniciar();
+        try {
+            MovimientoDTO primero = new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, 1L);
+            CompletableFuture<MovimientoDTO> enCurso = motor.enviar(primero);
+            assertTrue(bloqueado.await(5, TimeUnit.SECONDS));
+
+            // El trabajador está ocupado: la segunda solicitud vence en la cola
+            MovimientoDTO vencido = new MovimientoDTO(null, "RETIRO", BigDecimal.TEN, null, 1L);
+            assertThrows(RejectedExecutionException.class, () -> motor.contabilizar(vencido));
+
+            liberar.countDown();
+            assertSame(primero, enCurso.get(5, TimeUnit.SECONDS));
+            MovimientoDTO siguiente = new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, 1L);
+            assertSame(siguiente, motor.contabilizar(siguiente));
+            assertEquals(List.of(primero, siguiente),
+                    contabilizados.stream().map(ComandoMovimiento::getDatos).toList(),
+                    "El movimiento cancelado no debe contabilizarse");
+        } finally {
+            liberar.countDown();
+            motor.detener();
+        }
+    }
+
+    @Test
+    void testContabilizacionConcurrenteSobreCuentasCalientes() throws Exception {
+        List<Long> cuentas = crearCuentas("MOTOR");
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            int hilo = h;
+            tareas.add(executor.submit(() -> {
+                for (int i = 0; i < MOVIMIENTOS_POR_HILO; i++) {
+                    Long cuentaId = cuentas.get((hilo + i) % cuentas.size());
+                    motorMovimientos.contabilizar(new MovimientoDTO(null, "DEPOSITO", BigDecimal.ONE, null, cuentaId));
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        BigDecimal esperado = BigDecimal.valueOf((long) HILOS * MOVIMIENTOS_POR_HILO / CUENTAS_CALIENTES)
+                .add(new BigDecimal("1000.00"));
+        for (Long id : cuentas) {
+            assertEquals(0, cuentaRepository.findSaldoById(id).orElseThrow().compareTo(esperado));
+        }
+    }
+
+    private List<Long> crearCuentas(String prefijo) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CUENTAS_CALIENTES; i++) {
+            ids.add(cuentaRepository.save(
+                    new Cuenta(prefijo + "-" + i, "CORRIENTE", new BigDecimal("1000.00"), 1, true)).getId());
+        }
+        return ids;
+    }
+}
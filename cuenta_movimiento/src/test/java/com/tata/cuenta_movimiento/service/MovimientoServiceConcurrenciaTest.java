@@ -0,0 +1,97 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.exception.InsufficientFundsException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia para la contabilización de movimientos.
+ *
+ * <p>Valida que los retiros concurrentes sobre una misma cuenta nunca dejen el
+ * saldo en negativo y que el saldo final coincida con los movimientos aceptados.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:movimientos;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class MovimientoServiceConcurrenciaTest {
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Test
+    void testRetirosConcurrentesNoSobregiranLaCuenta() throws Exception {
+        Cuenta cuenta = cuentaRepository.save(
+                new Cuenta("CONC-001", "AHORROS", new BigDecimal("100.00"), 1, true));
+        int retiros = 200;
+        AtomicInteger aceptados = new AtomicInteger();
+        AtomicInteger rechazados = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < retiros; i++) {
+            tareas.add(executor.submit(() -> {
+                MovimientoDTO retiro = new MovimientoDTO(null, "RETIRO", new BigDecimal("1.00"), null, cuenta.getId());
+                try {
+                    movimientoService.createMovimiento(retiro);
+                    aceptados.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    rechazados.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        BigDecimal saldoFinal = cuentaRepository.findSaldoById(cuenta.getId()).orElseThrow();
+        assertEquals(100, aceptados.get());
+        assertEquals(100, rechazados.get());
+        assertEquals(0, saldoFinal.compareTo(BigDecimal.ZERO));
+        assertEquals(100, movimientoRepository.findByCuentaId(cuenta.getId()).size());
+    }
+
+    @Test
+    void testSaldoDelMovimientoReflejaElResultado() {
+        Cuenta cuenta = cuentaRepository.save(
+                new Cuenta("CONC-002", "CORRIENTE", new BigDecimal("50.00"), 1, true));
+
+        MovimientoDTO deposito = movimientoService.createMovimiento(
+                new MovimientoDTO(null, "DEPOSITO", new BigDecimal("25.50"), null, cuenta.getId()));
+        MovimientoDTO retiro = movimientoService.createMovimiento(
+                new MovimientoDTO(null, "RETIRO", new BigDecimal("70.00"), null, cuenta.getId()));
+
+        assertEquals(0, deposito.getSaldo().compareTo(new BigDecimal("75.50")));
+        assertEquals(0, retiro.getSaldo().compareTo(new BigDecimal("5.50")));
+        assertEquals(cuenta.getId(), retiro.getCuentaId());
+        assertThrows(InsufficientFundsException.class, () -> movimientoService.createMovimiento(
+                new MovimientoDTO(null, "PAGO", new BigDecimal("5.51"), null, cuenta.getId())));
+    }
+}
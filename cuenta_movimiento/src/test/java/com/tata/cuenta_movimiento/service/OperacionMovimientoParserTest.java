@@ -0,0 +1,130 @@
+package com.tata.cuenta_movimiento.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del analizador de operaciones, con casos fijos y textos aleatorios
+ * generados con semilla fija.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class OperacionMovimientoParserTest {
+
+    private static final int ITERACIONES = 20_000;
+
+    @Test
+    void testCasosConocidos() {
+        verificar("Retiro de 575", "RETIRO", "575");
+        verificar("Deposito de 600", "DEPOSITO", "600");
+        verificar("depósito de 0.1", "DEPOSITO", "0.1");
+        verificar("Deposito de 1,250.50", "DEPOSITO", "1250.50");
+        verificar("DEPOSITO DE 1.250,50", "DEPOSITO", "1250.50");
+        verificar("Retiro de 1,000,000", "RETIRO", "1000000");
+        verificar("Retiro de 575,5", "RETIRO", "575.5");
+        verificar("Retiro de 1,250", "RETIRO", "1250");
+        verificar("Retiro de 575. Gracias", "RETIRO", "575");
+        // RETIRO tiene prioridad, como en la implementación anterior
+        verificar("Deposito anulado por retiro de 40", "RETIRO", "40");
+    }
+
+    @Test
+    void testErrores() {
+        for (String texto : new String[] {null, "", "Pago de 100", "Retiro", "Deposito de -",
+                "Retiro de 1,2,3", "Retiro de 12,34.5", "Retiro de 1.000,000.5", "Retiro de 1234,567",
+                "Retiro de 99999999999999999999"}) {
+            assertThrows(IllegalArgumentException.class, () -> OperacionMovimientoParser.analizar(texto),
+                    String.valueOf(texto));
+        }
+    }
+
+    @Test
+    void testFuzzValoresBienFormados() {
+        Random random = new Random(20250625L);
+        for (int n = 0; n < ITERACIONES; n++) {
+            long sinEscala = random.nextInt(4) == 0 ? random.nextLong(1_000_000_000_000L) : random.nextInt(100_000);
+            int escala = random.nextInt(3);
+            BigDecimal esperado = BigDecimal.valueOf(sinEscala, escala);
+            boolean retiro = random.nextBoolean();
+            String tipo = cambiarMayusculas(random, retiro ? "retiro" : random.nextBoolean() ? "deposito" : "depósito");
+            String texto = relleno(random) + tipo + " de " + formatear(random, esperado) + relleno(random);
+
+            OperacionMovimientoParser.Operacion operacion = OperacionMovimientoParser.analizar(texto);
+
+            assertEquals(retiro ? "RETIRO" : "DEPOSITO", operacion.tipoMovimiento(), texto);
+            assertEquals(esperado, operacion.valor(), texto);
+        }
+    }
+
+    @Test
+    void testFuzzTextoArbitrarioSoloLanzaIllegalArgument() {
+        Random random = new Random(42L);
+        String alfabeto = "0123456789.,- RrEeTtIiOoDdPpSsÓó$\t";
+        for (int n = 0; n < ITERACIONES; n++) {
+            StringBuilder texto = new StringBuilder();
+            int longitud = random.nextInt(40);
+            for (int i = 0; i < longitud; i++) {
+                texto.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+            }
+            if (random.nextBoolean()) {
+                texto.insert(random.nextInt(texto.length() + 1), random.nextBoolean() ? "retiro" : "DEPOSITO");
+            }
+            try {
+                OperacionMovimientoParser.Operacion operacion = OperacionMovimientoParser.analizar(texto.toString());
+                assertNotNull(operacion.valor());
+                assertTrue(operacion.valor().signum() >= 0, texto::toString);
+            } catch (IllegalArgumentException esperado) {
+                // Texto no válido: rechazo controlado
+            }
+        }
+    }
+
+    private void verificar(String texto, String tipo, String valor) {
+        OperacionMovimientoParser.Operacion operacion = OperacionMovimientoParser.analizar(texto);
+        assertEquals(tipo, operacion.tipoMovimiento(), texto);
+        assertEquals(new BigDecimal(valor), operacion.valor(), texto);
+    }
+
+    /**
+     * Escribe el valor con uno de los estilos aceptados. El punto de miles sin parte
+     * decimal se evita porque un único punto se interpreta como decimal.
+     */
+    private String formatear(Random random, BigDecimal valor) {
+        String entero = valor.toBigInteger().toString();
+        String decimales = valor.scale() > 0 ? valor.toPlainString().substring(entero.length() + 1) : "";
+        int estilo = random.nextInt(decimales.isEmpty() ? 2 : 3);
+        String miles = estilo == 0 ? "" : estilo == 1 ? "," : ".";
+        String decimal = estilo == 2 || (estilo == 0 && random.nextBoolean()) ? "," : ".";
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < entero.length(); i++) {
+            if (i > 0 && (entero.length() - i) % 3 == 0) {
+                texto.append(miles);
+            }
+            texto.append(entero.charAt(i));
+        }
+        if (!decimales.isEmpty()) {
+            texto.append(decimal).append(decimales);
+        }
+        return texto.toString();
+    }
+
+    private String relleno(Random random) {
+        String[] opciones = {"", " ", "  USD", " en cajero", ". Ok"};
+        return opciones[random.nextInt(opciones.length)];
+    }
+
+    private String cambiarMayusculas(Random random, String texto) {
+        StringBuilder resultado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            resultado.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return resultado.toString();
+    }
+}
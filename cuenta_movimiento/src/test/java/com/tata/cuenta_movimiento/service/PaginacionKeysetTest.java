@@ -0,0 +1,120 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.CuentaDTO;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.dto.PaginaDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import com.tata.cuenta_movimiento.kafka.ClienteKafkaConsumer;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la paginación por cursor de movimientos y cuentas.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:paginacion;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class PaginacionKeysetTest {
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @MockitoBean
+    private ClienteKafkaConsumer clienteKafkaConsumer;
+
+    @Test
+    void testMovimientosSeRecorrenSinRepetirNiOmitir() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("PAG-001", "AHORROS", BigDecimal.ZERO, 1, true));
+        Cuenta otra = cuentaRepository.save(new Cuenta("PAG-002", "AHORROS", BigDecimal.ZERO, 1, true));
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 10, 0);
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            // Varios movimientos comparten fecha para ejercitar el desempate por id
+            movimientos.add(new Movimiento(base.plusMinutes(i / 3), i % 2 == 0 ? "DEPOSITO" : "RETIRO",
+                    BigDecimal.ONE, BigDecimal.ONE, cuenta));
+        }
+        movimientos.add(new Movimiento(base, "DEPOSITO", BigDecimal.ONE, BigDecimal.ONE, otra));
+        movimientoRepository.saveAll(movimientos);
+
+        Set<Long> vistos = new HashSet<>();
+        List<MovimientoDTO> recorridos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaDTO<MovimientoDTO> pagina = movimientoService.getMovimientosPaginados(
+                    cuenta.getId(), null, null, null, cursor, 5);
+            assertTrue(pagina.getTamano() <= 5);
+            pagina.getElementos().forEach(m -> assertTrue(vistos.add(m.getId())));
+            recorridos.addAll(pagina.getElementos());
+            cursor = pagina.getSiguienteCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(23, recorridos.size());
+        assertEquals(5, paginas);
+        for (int i = 1; i < recorridos.size(); i++) {
+            MovimientoDTO anterior = recorridos.get(i - 1);
+            MovimientoDTO actual = recorridos.get(i);
+            assertTrue(anterior.getFecha().isAfter(actual.getFecha())
+                    || (anterior.getFecha().equals(actual.getFecha()) && anterior.getId() > actual.getId()));
+        }
+
+        PaginaDTO<MovimientoDTO> retiros = movimientoService.getMovimientosPaginados(
+                cuenta.getId(), "RETIRO", base, base.plusMinutes(2), null, 50);
+        assertEquals(4, retiros.getTamano());
+        assertNull(retiros.getSiguienteCursor());
+        assertTrue(retiros.getElementos().stream().allMatch(m -> "RETIRO".equals(m.getTipoMovimiento())));
+    }
+
+    @Test
+    void testCuentasPaginadasConFiltro() {
+        for (int i = 0; i < 7; i++) {
+            cuentaRepository.save(new Cuenta("PAGC-" + i, i < 4 ? "CORRIENTE" : "PLAZO_FIJO", BigDecimal.ZERO, 9, true));
+        }
+
+        PaginaDTO<CuentaDTO> primera = cuentaService.getCuentasPaginadas("CORRIENTE", 9, null, 3);
+        assertEquals(3, primera.getTamano());
+        assertTrue(primera.isHayMas());
+        PaginaDTO<CuentaDTO> segunda = cuentaService.getCuentasPaginadas("CORRIENTE", 9, primera.getSiguienteCursor(), 3);
+        assertEquals(1, segunda.getTamano());
+        assertFalse(segunda.isHayMas());
+        assertEquals("PAGC-3", segunda.getElementos().get(0).getNumeroCuenta());
+    }
+
+    @Test
+    void testCursorInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> movimientoService.getMovimientosPaginados(null, null, null, null, "no-es-un-cursor", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> cuentaService.getCuentasPaginadas(null, null, "%%%", 10));
+    }
+}
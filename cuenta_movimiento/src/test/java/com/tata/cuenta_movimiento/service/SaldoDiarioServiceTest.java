@@ -0,0 +1,153 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.dto.ReconstruccionSaldosDTO;
+import com.tata.cuenta_movimiento.dto.SaldoDiarioDTO;
+import com.tata.cuenta_movimiento.dto.TransferenciaDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import com.tata.cuenta_movimiento.repository.SaldoDiarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del mantenimiento incremental y la reconstrucción de los saldos diarios.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:saldosdiarios;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class SaldoDiarioServiceTest {
+
+    @Autowired
+    private SaldoDiarioService saldoDiarioService;
+
+    @Autowired
+    private SaldoDiarioRepository saldoDiarioRepository;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Test
+    void testContabilizacionActualizaElDia() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("SD-001", "AHORROS", new BigDecimal("100.00"), 90, true));
+        Cuenta destino = cuentaRepository.save(new Cuenta("SD-002", "AHORROS", new BigDecimal("0.00"), 90, true));
+
+        registrar(cuenta, "DEPOSITO", "50.00");
+        registrar(cuenta, "RETIRO", "30.00");
+        movimientoService.transferir(new TransferenciaDTO(cuenta.getId(), destino.getId(), new BigDecimal("20.00"), null));
+        ComandoMovimiento comando = new ComandoMovimiento(
+                new MovimientoDTO(null, "PAGO", new BigDecimal("5.00"), null, cuenta.getId()));
+        movimientoService.contabilizarLote(List.of(comando));
+
+        SaldoDiarioDTO hoy = saldoDiarioService.obtenerSaldo(cuenta.getId(), LocalDate.now());
+        verificar(hoy, "100.00", "95.00", "55.00", "50.00", 4);
+        verificar(saldoDiarioService.obtenerSaldo(destino.getId(), LocalDate.now()), "0.00", "20.00", "0.00", "20.00", 1);
+    }
+
+    @Test
+    void testSaldoEnDiasSinMovimientos() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("SD-010", "AHORROS", new BigDecimal("100.00"), 91, true));
+        LocalDate hoy = LocalDate.now();
+
+        // Sin movimientos: el saldo actual de la cuenta
+        verificar(saldoDiarioService.obtenerSaldo(cuenta.getId(), hoy), "100.00", "100.00", "0", "0", 0);
+
+        registrar(cuenta, "DEPOSITO", "40.00");
+        // Antes del primer movimiento: la apertura del primer día con movimientos
+        verificar(saldoDiarioService.obtenerSaldo(cuenta.getId(), hoy.minusDays(3)), "100.00", "100.00", "0", "0", 0);
+        // Después del último movimiento: el cierre del último día
+        verificar(saldoDiarioService.obtenerSaldo(cuenta.getId(), hoy.plusDays(3)), "140.00", "140.00", "0", "0", 0);
+        assertThrows(ResourceNotFoundException.class, () -> saldoDiarioService.obtenerSaldo(-1L, hoy));
+    }
+
+    @Test
+    void testReconstruccionCoincideConMantenimientoIncremental() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("SD-020", "CORRIENTE", new BigDecimal("500.00"), 92, true));
+        registrar(cuenta, "DEPOSITO", "25.00");
+        registrar(cuenta, "RETIRO", "100.00");
+        registrar(cuenta, "PAGO", "0.50");
+        SaldoDiarioDTO incremental = saldoDiarioService.obtenerSaldo(cuenta.getId(), LocalDate.now());
+
+        // Movimiento de días anteriores insertado por fuera de la contabilización
+        LocalDateTime ayer = LocalDateTime.now().minusDays(1);
+        movimientoRepository.save(new Movimiento(ayer, "DEPOSITO", new BigDecimal("300.00"),
+                new BigDecimal("500.00"), cuenta));
+        assertTrue(saldoDiarioRepository.buscarRango(cuenta.getId(), ayer.toLocalDate(), ayer.toLocalDate()).isEmpty());
+
+        assertTrue(saldoDiarioService.reconstruir() >= 1);
+
+        assertEquals(incremental, saldoDiarioService.obtenerSaldo(cuenta.getId(), LocalDate.now()));
+        List<SaldoDiarioDTO> dias = saldoDiarioRepository.buscarRango(cuenta.getId(), ayer.toLocalDate(), LocalDate.now());
+        assertEquals(2, dias.size());
+        verificar(dias.get(0), "200.00", "500.00", "0", "300.00", 1);
+    }
+
+    @Test
+    void testReconstruccionEnSegundoPlano() throws Exception {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("SD-040", "AHORROS", new BigDecimal("10.00"), 94, true));
+        registrar(cuenta, "DEPOSITO", "1.00");
+
+        ReconstruccionSaldosDTO inicial = saldoDiarioService.iniciarReconstruccion();
+        assertNotNull(inicial.getFechaInicio());
+
+        ReconstruccionSaldosDTO estado = saldoDiarioService.obtenerReconstruccion();
+        long limite = System.currentTimeMillis() + 10_000;
+        while (estado.getEstado().equals("EN_PROCESO") && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            estado = saldoDiarioService.obtenerReconstruccion();
+        }
+        assertEquals("COMPLETADO", estado.getEstado(), estado::toString);
+        assertTrue(estado.getCuentasTotales() >= 1);
+        assertEquals(estado.getCuentasTotales(), estado.getCuentasProcesadas());
+        assertNotNull(estado.getFechaFinalizacion());
+        assertNull(estado.getError());
+    }
+
+    @Test
+    void testEliminarMovimientoRecalculaElDia() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("SD-030", "AHORROS", new BigDecimal("10.00"), 93, true));
+        registrar(cuenta, "DEPOSITO", "5.00");
+        MovimientoDTO retiro = registrar(cuenta, "RETIRO", "3.00");
+
+        movimientoService.deleteMovimiento(retiro.getId());
+
+        verificar(saldoDiarioService.obtenerSaldo(cuenta.getId(), LocalDate.now()), "10.00", "15.00", "0", "5.00", 1);
+    }
+
+    private MovimientoDTO registrar(Cuenta cuenta, String tipo, String valor) {
+        return movimientoService.createMovimiento(
+                new MovimientoDTO(null, tipo, new BigDecimal(valor), null, cuenta.getId()));
+    }
+
+    private void verificar(SaldoDiarioDTO saldo, String apertura, String cierre, String debitos,
+                           String creditos, int cantidad) {
+        assertEquals(0, saldo.getSaldoApertura().compareTo(new BigDecimal(apertura)), saldo::toString);
+        assertEquals(0, saldo.getSaldoCierre().compareTo(new BigDecimal(cierre)), saldo::toString);
+        assertEquals(0, saldo.getTotalDebitos().compareTo(new BigDecimal(debitos)), saldo::toString);
+        assertEquals(0, saldo.getTotalCreditos().compareTo(new BigDecimal(creditos)), saldo::toString);
+        assertEquals(cantidad, saldo.getCantidadMovimientos(), saldo::toString);
+    }
+}
@@ -0,0 +1,127 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.SaldoHistoricoDTO;
+import com.tata.cuenta_movimiento.dto.SaldoHistoricoLoteDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import com.tata.cuenta_movimiento.exception.ResourceNotFoundException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la consulta de saldos en instantes arbitrarios.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:saldohistorico;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class SaldoHistoricoServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 10, 0);
+
+    @Autowired
+    private SaldoHistoricoService saldoHistoricoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Test
+    void testSaldoEnInstante() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("SH-001", "AHORROS", new BigDecimal("80.00"), 95, true));
+        Movimiento deposito = registrar(cuenta, BASE, "DEPOSITO", "50.00", "150.00");
+        Movimiento retiro = registrar(cuenta, BASE.plusDays(1), "RETIRO", "40.00", "110.00");
+        // Mismo instante que el retiro: gana el de mayor id
+        Movimiento pago = registrar(cuenta, BASE.plusDays(1), "PAGO", "30.00", "80.00");
+
+        verificar(saldoHistoricoService.obtenerSaldo(cuenta.getId(), BASE.minusSeconds(1)), "100.00", null);
+        verificar(saldoHistoricoService.obtenerSaldo(cuenta.getId(), BASE), "150.00", deposito.getId());
+        verificar(saldoHistoricoService.obtenerSaldo(cuenta.getId(), BASE.plusHours(5)), "150.00", deposito.getId());
+        verificar(saldoHistoricoService.obtenerSaldo(cuenta.getId(), BASE.plusDays(1)), "80.00", pago.getId());
+        verificar(saldoHistoricoService.obtenerSaldo(cuenta.getId(), BASE.plusYears(1)), "80.00", pago.getId());
+        assertNotEquals(retiro.getId(), pago.getId());
+        assertEquals(BASE.plusDays(1),
+                saldoHistoricoService.obtenerSaldo(cuenta.getId(), BASE.plusDays(2)).getFechaMovimiento());
+    }
+
+    @Test
+    void testCuentaSinMovimientosEInexistente() {
+        Cuenta cuenta = cuentaRepository.save(new Cuenta("SH-010", "AHORROS", new BigDecimal("12.34"), 96, true));
+
+        verificar(saldoHistoricoService.obtenerSaldo(cuenta.getId(), BASE), "12.34", null);
+        assertThrows(ResourceNotFoundException.class, () -> saldoHistoricoService.obtenerSaldo(-5L, BASE));
+        assertThrows(IllegalArgumentException.class, () -> saldoHistoricoService.obtenerSaldo(cuenta.getId(), null));
+
+        List<SaldoHistoricoDTO> lote = saldoHistoricoService.obtenerSaldos(
+                new SaldoHistoricoLoteDTO(List.of(-5L, cuenta.getId(), cuenta.getId()), List.of(BASE)));
+        assertNull(lote.get(0).getSaldo());
+        verificar(lote.get(1), "12.34", null);
+        verificar(lote.get(2), "12.34", null);
+    }
+
+    @Test
+    void testLoteCoincideConConsultasIndividuales() {
+        List<Long> cuentaIds = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            Cuenta cuenta = cuentaRepository.save(new Cuenta("SH-1" + c, "CORRIENTE", BigDecimal.ZERO, 97, true));
+            cuentaIds.add(cuenta.getId());
+            BigDecimal saldo = BigDecimal.ZERO;
+            for (int d = 0; d < 20; d++) {
+                saldo = saldo.add(BigDecimal.valueOf(c + d + 1));
+                registrar(cuenta, BASE.plusDays(d), "DEPOSITO", String.valueOf(c + d + 1), saldo.toPlainString());
+            }
+        }
+        List<LocalDateTime> instantes = new ArrayList<>();
+        for (int h = -24; h < 24 * 22; h++) {
+            instantes.add(BASE.plusHours(h).plusMinutes(h % 7));
+        }
+        Collections.shuffle(instantes, new Random(3L));
+
+        // 552 instantes: varias sentencias SQL
+        List<SaldoHistoricoDTO> lote = saldoHistoricoService.obtenerSaldos(
+                new SaldoHistoricoLoteDTO(cuentaIds, instantes));
+
+        assertEquals(cuentaIds.size() * instantes.size(), lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Long cuentaId = cuentaIds.get(i / instantes.size());
+            LocalDateTime instante = instantes.get(i % instantes.size());
+            assertEquals(saldoHistoricoService.obtenerSaldo(cuentaId, instante), lote.get(i));
+        }
+    }
+
+    @Test
+    void testLoteDemasiadoGrandeSeRechaza() {
+        List<Long> cuentaIds = Collections.nCopies(1000, 1L);
+        List<LocalDateTime> instantes = Collections.nCopies(101, BASE);
+        assertThrows(IllegalArgumentException.class,
+                () -> saldoHistoricoService.obtenerSaldos(new SaldoHistoricoLoteDTO(cuentaIds, instantes)));
+    }
+
+    private Movimiento registrar(Cuenta cuenta, LocalDateTime fecha, String tipo, String valor, String saldo) {
+        return movimientoRepository.save(new Movimiento(fecha, tipo, new BigDecimal(valor), new BigDecimal(saldo), cuenta));
+    }
+
+    private void verificar(SaldoHistoricoDTO saldo, String esperado, Long movimientoId) {
+        assertEquals(0, saldo.getSaldo().compareTo(new BigDecimal(esperado)), saldo::toString);
+        assertEquals(movimientoId, saldo.getMovimientoId(), saldo::toString);
+    }
+}
@@ -0,0 +1,114 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.TransferenciaDTO;
+import com.tata.cuenta_movimiento.dto.TransferenciaResultadoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.exception.InsufficientFundsException;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import com.tata.cuenta_movimiento.repository.MovimientoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia para las transferencias entre cuentas.
+ *
+ * <p>Lanza transferencias cruzadas (A→B y B→A a la vez) desde 64 hilos entre un
+ * grupo pequeño de cuentas y valida que ninguna termine en interbloqueo, que el
+ * dinero total se conserve y que cada transferencia deje exactamente dos
+ * movimientos.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:transferencias;DB_CLOSE_DELAY=-1;MODE=MySQL;LOCK_TIMEOUT=10000")
+class TransferenciaConcurrenciaTest {
+
+    private static final int HILOS = 64;
+    private static final int TRANSFERENCIAS = 4000;
+    private static final int CUENTAS = 4;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Test
+    void testTransferenciasCruzadasConservanElDinero() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CUENTAS; i++) {
+            ids.add(cuentaRepository.save(
+                    new Cuenta("TRF-00" + i, "AHORROS", new BigDecimal("500.00"), 1, true)).getId());
+        }
+        BigDecimal totalInicial = totalSaldos(ids);
+        long movimientosIniciales = movimientoRepository.count();
+        AtomicInteger aceptadas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < TRANSFERENCIAS; i++) {
+            tareas.add(executor.submit(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                int origen = aleatorio.nextInt(CUENTAS);
+                int destino = (origen + 1 + aleatorio.nextInt(CUENTAS - 1)) % CUENTAS;
+                BigDecimal valor = BigDecimal.valueOf(aleatorio.nextInt(1, 5000), 2);
+                try {
+                    TransferenciaResultadoDTO resultado = movimientoService.transferir(
+                            new TransferenciaDTO(ids.get(origen), ids.get(destino), valor, null));
+                    assertEquals(valor, resultado.getDebito().getValor());
+                    assertEquals(valor, resultado.getCredito().getValor());
+                    aceptadas.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    rechazadas.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(TRANSFERENCIAS, aceptadas.get() + rechazadas.get());
+        assertEquals(0, totalInicial.compareTo(totalSaldos(ids)), "El dinero total debe conservarse");
+        for (Long id : ids) {
+            assertTrue(cuentaRepository.findById(id).orElseThrow().getSaldo().signum() >= 0);
+        }
+        assertEquals(movimientosIniciales + 2L * aceptadas.get(), movimientoRepository.count());
+    }
+
+    @Test
+    void testTransferenciaALaMismaCuentaSeRechaza() {
+        Long id = cuentaRepository.save(
+                new Cuenta("TRF-MISMA", "AHORROS", new BigDecimal("10.00"), 1, true)).getId();
+        assertThrows(IllegalArgumentException.class, () -> movimientoService.transferir(
+                new TransferenciaDTO(id, id, new BigDecimal("1.00"), null)));
+    }
+
+    private BigDecimal totalSaldos(List<Long> ids) {
+        return cuentaRepository.findAllById(ids).stream()
+                .map(Cuenta::getSaldo)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,141 @@
+package com.tata.cuenta_movimiento.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara un resultado JSON de JMH con una línea base guardada y señala las
+ * regresiones.
+ *
+ * <p>Un benchmark se considera en regresión si empeora más que el umbral relativo
+ * (10 % por defecto) y además la diferencia supera la suma de los márgenes de
+ * error de ambas mediciones, para no reportar ruido. "Empeorar" depende del modo:
+ * más tiempo por operación en {@code avgt}/{@code sample}/{@code ss}, menos
+ * operaciones por segundo en {@code thrpt}. Si los resultados incluyen
+ * {@code gc.alloc.rate.norm} (perfilador {@code -prof gc}), también se compara la
+ * memoria asignada por operación.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public final class ComparadorResultados {
+
+    static final double UMBRAL_POR_DEFECTO = 0.10;
+    private static final String ASIGNACION = "gc.alloc.rate.norm";
+
+    private ComparadorResultados() {
+    }
+
+    /**
+     * @param args {@code <base.json> <actual.json> [umbral]}
+     * @return 0 sin regresiones, 1 con regresiones, 2 si los argumentos son inválidos
+     */
+    static int ejecutar(String[] args, PrintStream salida) throws IOException {
+        if (args.length < 2) {
+            salida.println("Uso: comparar <base.json> <actual.json> [umbral, p. ej. 0.10]");
+            return 2;
+        }
+        double umbral = args.length > 2 ? Double.parseDouble(args[2]) : UMBRAL_POR_DEFECTO;
+        ObjectMapper mapper = new ObjectMapper();
+        List<Comparacion> comparaciones = comparar(mapper.readTree(new File(args[0])),
+                mapper.readTree(new File(args[1])), umbral);
+        int regresiones = 0;
+        for (Comparacion comparacion : comparaciones) {
+            salida.printf("%-12s %-70s %14.3f -> %14.3f %-10s %+7.1f%%%n",
+                    comparacion.regresion() ? "REGRESIÓN" : "ok", comparacion.nombre(), comparacion.base(),
+                    comparacion.actual(), comparacion.unidad(), comparacion.cambio() * 100);
+            if (comparacion.regresion()) {
+                regresiones++;
+            }
+        }
+        salida.printf("%d benchmarks comparados, %d regresiones (umbral %.0f%%)%n",
+                comparaciones.size(), regresiones, umbral * 100);
+        return regresiones > 0 ? 1 : 0;
+    }
+
+    /**
+     * Compara los benchmarks presentes en ambos resultados.
+     *
+     * @param base Arreglo JSON de la línea base
+     * @param actual Arreglo JSON de la ejecución actual
+     * @param umbral Empeoramiento relativo tolerado
+     * @return Una comparación por benchmark (y por métrica de asignación, si existe)
+     */
+    static List<Comparacion> comparar(JsonNode base, JsonNode actual, double umbral) {
+        Map<String, JsonNode> porNombre = indexar(base);
+        List<Comparacion> comparaciones = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entrada : indexar(actual).entrySet()) {
+            JsonNode anterior = porNombre.get(entrada.getKey());
+            if (anterior == null) {
+                continue;
+            }
+            JsonNode nuevo = entrada.getValue();
+            boolean masEsMejor = "thrpt".equals(nuevo.path("mode").asText());
+            comparaciones.add(comparar(entrada.getKey(), anterior.path("primaryMetric"),
+                    nuevo.path("primaryMetric"), masEsMejor, umbral));
+            JsonNode asignacionAnterior = metricaSecundaria(anterior, ASIGNACION);
+            JsonNode asignacionNueva = metricaSecundaria(nuevo, ASIGNACION);
+            if (asignacionAnterior != null && asignacionNueva != null) {
+                comparaciones.add(comparar(entrada.getKey() + " [" + ASIGNACION + "]",
+                        asignacionAnterior, asignacionNueva, false, umbral));
+            }
+        }
+        return comparaciones;
+    }
+
+    private static Comparacion comparar(String nombre, JsonNode anterior, JsonNode nuevo,
+                                        boolean masEsMejor, double umbral) {
+        double base = anterior.path("score").asDouble();
+        double actual = nuevo.path("score").asDouble();
+        double error = margen(anterior) + margen(nuevo);
+        double cambio = base == 0 ? 0 : (actual - base) / base;
+        double empeoramiento = masEsMejor ? -cambio : cambio;
+        boolean regresion = empeoramiento > umbral && Math.abs(actual - base) > error;
+        return new Comparacion(nombre, base, actual, nuevo.path("scoreUnit").asText(), cambio, regresion);
+    }
+
+    private static double margen(JsonNode metrica) {
+        double error = metrica.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static JsonNode metricaSecundaria(JsonNode resultado, String sufijo) {
+        Iterator<Map.Entry<String, JsonNode>> metricas = resultado.path("secondaryMetrics").fields();
+        while (metricas.hasNext()) {
+            Map.Entry<String, JsonNode> metrica = metricas.next();
+            if (metrica.getKey().endsWith(sufijo)) {
+                return metrica.getValue();
+            }
+        }
+        return null;
+    }
+
+    /** Clave: nombre del benchmark más sus parámetros, si los tiene. */
+    private static Map<String, JsonNode> indexar(JsonNode resultados) {
+        Map<String, JsonNode> porNombre = new LinkedHashMap<>();
+        for (JsonNode resultado : resultados) {
+            StringBuilder nombre = new StringBuilder(resultado.path("benchmark").asText());
+            Map<String, String> parametros = new TreeMap<>();
+            resultado.path("params").fields().forEachRemaining(p -> parametros.put(p.getKey(), p.getValue().asText()));
+            if (!parametros.isEmpty()) {
+                nombre.append(parametros);
+            }
+            porNombre.put(nombre.toString(), resultado);
+        }
+        return porNombre;
+    }
+
+    record Comparacion(String nombre, double base, double actual, String unidad, double cambio, boolean regresion) {
+    }
+}
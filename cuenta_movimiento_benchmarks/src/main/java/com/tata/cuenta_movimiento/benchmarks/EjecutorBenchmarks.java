@@ -0,0 +1,43 @@
+package com.tata.cuenta_movimiento.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Punto de entrada de {@code benchmarks.jar}.
+ *
+ * <ul>
+ *   <li>{@code java -jar benchmarks.jar [opciones JMH]}: ejecuta los benchmarks y,
+ *   salvo que se indique otro {@code -rf}/{@code -rff}, escribe los resultados en
+ *   JSON en {@value #RESULTADOS_POR_DEFECTO}.</li>
+ *   <li>{@code java -jar benchmarks.jar comparar <base.json> <actual.json> [umbral]}:
+ *   compara dos resultados con {@link ComparadorResultados} y termina con código 1
+ *   si hay regresiones.</li>
+ * </ul>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+public final class EjecutorBenchmarks {
+
+    static final String RESULTADOS_POR_DEFECTO = "jmh-resultados.json";
+
+    private EjecutorBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("comparar")) {
+            System.exit(ComparadorResultados.ejecutar(Arrays.copyOfRange(args, 1, args.length), System.out));
+        }
+        List<String> opciones = new ArrayList<>(Arrays.asList(args));
+        if (!opciones.contains("-rf")) {
+            opciones.addAll(List.of("-rf", "json"));
+        }
+        if (!opciones.contains("-rff")) {
+            opciones.addAll(List.of("-rff", RESULTADOS_POR_DEFECTO));
+        }
+        org.openjdk.jmh.Main.main(opciones.toArray(String[]::new));
+    }
+}
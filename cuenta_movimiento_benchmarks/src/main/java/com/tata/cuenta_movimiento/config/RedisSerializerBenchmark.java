@@ -0,0 +1,73 @@
+package com.tata.cuenta_movimiento.config;
+
+import com.tata.cuenta_movimiento.dto.ClienteKafkaDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del serializador de valores de {@link RedisConfig} para los clientes
+ * del directorio, en formato JSON (anterior) y binario.
+ *
+ * <p>{@link #serializar} informa además, como métrica secundaria
+ * {@code bytesPorEntrada}, el tamaño de la entrada que se guarda en Redis.</p>
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "binario"})
+    public String formato;
+
+    private RedisSerializer<Object> serializer;
+    private ClienteKafkaDTO cliente;
+    private byte[] serializado;
+
+    @Setup
+    public void preparar() {
+        serializer = new ClienteBinarioRedisSerializer(RedisConfig.serializadorJson(), "binario".equals(formato));
+        cliente = new ClienteKafkaDTO(100_123, "Marianela Montalvo", "1712345678");
+        serializado = serializer.serialize(cliente);
+    }
+
+    /**
+     * Tamaño de la última entrada serializada, reportado por JMH junto al tiempo.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tamano {
+        public long bytesPorEntrada;
+    }
+
+    @Benchmark
+    public byte[] serializar(Tamano tamano) {
+        byte[] bytes = serializer.serialize(cliente);
+        tamano.bytesPorEntrada = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserializar() {
+        return serializer.deserialize(serializado);
+    }
+}
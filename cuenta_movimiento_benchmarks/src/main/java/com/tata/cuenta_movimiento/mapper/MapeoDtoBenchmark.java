@@ -0,0 +1,120 @@
+package com.tata.cuenta_movimiento.mapper;
+
+import com.tata.cuenta_movimiento.dto.CuentaDTO;
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparación de la conversión entidad ↔ DTO con {@link BeanUtils} (implementación
+ * anterior de los servicios) y con los mappers generados por MapStruct.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeoDtoBenchmark {
+
+    private final CuentaMapper cuentaMapper = new CuentaMapperImpl();
+    private final MovimientoMapper movimientoMapper = new MovimientoMapperImpl();
+    private Cuenta cuenta;
+    private CuentaDTO cuentaDTO;
+    private Movimiento movimiento;
+    private MovimientoDTO movimientoDTO;
+
+    @Setup
+    public void preparar() {
+        cuenta = new Cuenta();
+        cuenta.setId(1L);
+        cuenta.setNumeroCuenta("478758");
+        cuenta.setTipoCuenta("AHORRO");
+        cuenta.setSaldo(new BigDecimal("2000.00"));
+        cuenta.setClienteId(1);
+        cuenta.setEstado(true);
+        cuenta.setFechaCreacion(LocalDateTime.of(2025, 6, 25, 10, 30));
+        cuenta.setFechaActualizacion(LocalDateTime.of(2025, 6, 25, 10, 30));
+        cuentaDTO = cuentaMapper.toDTO(cuenta, "Jose Lema");
+
+        movimiento = new Movimiento();
+        movimiento.setId(10L);
+        movimiento.setFecha(LocalDateTime.of(2025, 6, 25, 10, 30));
+        movimiento.setTipoMovimiento("RETIRO");
+        movimiento.setValor(new BigDecimal("575.00"));
+        movimiento.setSaldo(new BigDecimal("1425.00"));
+        movimiento.setCuenta(cuenta);
+        movimiento.setDescripcion("Retiro de 575");
+        movimientoDTO = movimientoMapper.toDTO(movimiento);
+    }
+
+    @Benchmark
+    public CuentaDTO cuentaADtoBeanUtils() {
+        CuentaDTO dto = new CuentaDTO();
+        BeanUtils.copyProperties(cuenta, dto);
+        dto.setCliente("Jose Lema");
+        return dto;
+    }
+
+    @Benchmark
+    public CuentaDTO cuentaADtoMapStruct() {
+        return cuentaMapper.toDTO(cuenta, "Jose Lema");
+    }
+
+    @Benchmark
+    public Cuenta dtoACuentaBeanUtils() {
+        Cuenta entidad = new Cuenta();
+        BeanUtils.copyProperties(cuentaDTO, entidad);
+        entidad.setClienteId(null);
+        return entidad;
+    }
+
+    @Benchmark
+    public Cuenta dtoACuentaMapStruct() {
+        return cuentaMapper.toEntity(cuentaDTO);
+    }
+
+    @Benchmark
+    public MovimientoDTO movimientoADtoBeanUtils() {
+        MovimientoDTO dto = new MovimientoDTO();
+        BeanUtils.copyProperties(movimiento, dto);
+        dto.setCuentaId(movimiento.getCuenta().getId());
+        return dto;
+    }
+
+    @Benchmark
+    public MovimientoDTO movimientoADtoMapStruct() {
+        return movimientoMapper.toDTO(movimiento);
+    }
+
+    @Benchmark
+    public Movimiento dtoAMovimientoBeanUtils() {
+        Movimiento entidad = new Movimiento();
+        BeanUtils.copyProperties(movimientoDTO, entidad);
+        return entidad;
+    }
+
+    @Benchmark
+    public Movimiento dtoAMovimientoMapStruct() {
+        return movimientoMapper.toEntity(movimientoDTO);
+    }
+}
@@ -0,0 +1,84 @@
+package com.tata.cuenta_movimiento.repository;
+
+import com.tata.cuenta_movimiento.dto.ReporteMovimientoDTO;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del armado de filas {@link ReporteMovimientoDTO} a partir del
+ * resultado de la consulta del reporte, sin el coste de la base de datos.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReporteMovimientoBenchmark {
+
+    private static final int FILAS = 1000;
+
+    private RowMapper<ReporteMovimientoDTO> mapeador;
+    private SimpleResultSet resultado;
+
+    @Setup
+    public void preparar() {
+        ReporteMovimientoRepository repositorio = new ReporteMovimientoRepository(
+                new NamedParameterJdbcTemplate(new JdbcTemplate(new SimpleDriverDataSource())));
+        mapeador = repositorio.mapeador("Jose Lema");
+        resultado = new SimpleResultSet();
+        resultado.setAutoClose(false);
+        resultado.addColumn("fecha", Types.TIMESTAMP, 0, 0);
+        resultado.addColumn("numero_cuenta", Types.VARCHAR, 20, 0);
+        resultado.addColumn("tipo_cuenta", Types.VARCHAR, 20, 0);
+        resultado.addColumn("estado", Types.BOOLEAN, 0, 0);
+        resultado.addColumn("movimiento", Types.DECIMAL, 15, 2);
+        resultado.addColumn("saldo", Types.DECIMAL, 15, 2);
+        resultado.addColumn("saldo_inicial", Types.DECIMAL, 15, 2);
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 1, 9, 0);
+        BigDecimal saldo = new BigDecimal("2000.00");
+        for (int i = 0; i < FILAS; i++) {
+            BigDecimal movimiento = i % 3 == 0 ? new BigDecimal("-75.50") : new BigDecimal("120.25");
+            resultado.addRow(Timestamp.valueOf(fecha.plusMinutes(i)), "478758", "AHORRO", true,
+                    movimiento, saldo.add(movimiento), saldo);
+            saldo = saldo.add(movimiento);
+        }
+    }
+
+    /** Tiempo por fila del reporte. */
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public void armarFilas(Blackhole blackhole) throws SQLException {
+        resultado.beforeFirst();
+        int fila = 0;
+        while (resultado.next()) {
+            blackhole.consume(mapeador.mapRow(resultado, fila++));
+        }
+    }
+}
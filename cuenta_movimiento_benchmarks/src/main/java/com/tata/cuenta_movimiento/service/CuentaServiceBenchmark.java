@@ -0,0 +1,64 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.CuentaDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.mapper.CuentaMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la conversión entidad ↔ DTO de cuentas en {@link CuentaService}.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CuentaServiceBenchmark {
+
+    private CuentaService cuentaService;
+    private Cuenta cuenta;
+    private CuentaDTO cuentaDTO;
+
+    @Setup
+    public void preparar() {
+        cuentaService = new CuentaService(null, new CuentaMapperImpl());
+        cuenta = new Cuenta();
+        cuenta.setId(1L);
+        cuenta.setNumeroCuenta("478758");
+        cuenta.setTipoCuenta("AHORRO");
+        cuenta.setSaldo(new BigDecimal("2000.00"));
+        cuenta.setClienteId(1);
+        cuenta.setEstado(true);
+        cuenta.setFechaCreacion(LocalDateTime.of(2025, 6, 25, 10, 30));
+        cuenta.setFechaActualizacion(LocalDateTime.of(2025, 6, 25, 10, 30));
+        cuentaDTO = cuentaService.convertToDTO(cuenta, "Jose Lema");
+    }
+
+    @Benchmark
+    public CuentaDTO convertToDTO() {
+        return cuentaService.convertToDTO(cuenta, "Jose Lema");
+    }
+
+    @Benchmark
+    public Cuenta convertToEntity() {
+        return cuentaService.convertToEntity(cuentaDTO);
+    }
+}
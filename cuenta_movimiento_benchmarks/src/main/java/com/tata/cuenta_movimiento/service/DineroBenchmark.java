@@ -0,0 +1,84 @@
+package com.tata.cuenta_movimiento.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplicación de un bloque de movimientos sobre un saldo, como en
+ * {@link MovimientoService#contabilizarLote}: validación de fondos y saldo
+ * acumulado con {@link BigDecimal} (implementación anterior) frente a
+ * {@link Dinero}.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DineroBenchmark {
+
+    private static final int MOVIMIENTOS = 100;
+
+    private final MovimientoService movimientoService = new MovimientoService(null, null, null, null, null, null, null, null);
+    private String[] tipos;
+    private BigDecimal[] valoresDecimales;
+    private long[] valores;
+    private BigDecimal saldoInicialDecimal;
+    private long saldoInicial;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(1L);
+        tipos = new String[MOVIMIENTOS];
+        valoresDecimales = new BigDecimal[MOVIMIENTOS];
+        valores = new long[MOVIMIENTOS];
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            tipos[i] = random.nextBoolean() ? "DEPOSITO" : "RETIRO";
+            valoresDecimales[i] = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+            valores[i] = Dinero.de(valoresDecimales[i]).centavos();
+        }
+        saldoInicialDecimal = new BigDecimal("2000.00");
+        saldoInicial = Dinero.de(saldoInicialDecimal).centavos();
+    }
+
+    @Benchmark
+    public BigDecimal bloqueBigDecimal() {
+        BigDecimal saldo = saldoInicialDecimal;
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            BigDecimal nuevoSaldo = "DEPOSITO".equals(tipos[i])
+                    ? saldo.add(valoresDecimales[i]) : saldo.subtract(valoresDecimales[i]);
+            if (nuevoSaldo.signum() >= 0) {
+                saldo = nuevoSaldo;
+            }
+        }
+        return saldo;
+    }
+
+    @Benchmark
+    public long bloqueDinero() {
+        long saldo = saldoInicial;
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            long nuevoSaldo = movimientoService.calcularNuevoSaldo(saldo, tipos[i], valores[i]);
+            if (nuevoSaldo >= 0) {
+                saldo = nuevoSaldo;
+            }
+        }
+        return saldo;
+    }
+}
@@ -0,0 +1,122 @@
+package com.tata.cuenta_movimiento.service;
+
+import com.tata.cuenta_movimiento.dto.MovimientoDTO;
+import com.tata.cuenta_movimiento.dto.MovimientoOperacionDTO;
+import com.tata.cuenta_movimiento.entity.Cuenta;
+import com.tata.cuenta_movimiento.entity.Movimiento;
+import com.tata.cuenta_movimiento.mapper.MovimientoMapperImpl;
+import com.tata.cuenta_movimiento.repository.CuentaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la contabilización y conversión de movimientos en
+ * {@link MovimientoService}.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovimientoServiceBenchmark {
+
+    private MovimientoService movimientoService;
+    private long saldo;
+    private long valor;
+    private MovimientoOperacionDTO operacion;
+    private Movimiento movimiento;
+    private MovimientoDTO movimientoDTO;
+
+    @Setup
+    public void preparar() {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setId(1L);
+        cuenta.setNumeroCuenta("478758");
+        cuenta.setTipoCuenta("AHORRO");
+        cuenta.setSaldo(new BigDecimal("2000.00"));
+        cuenta.setClienteId(1);
+        cuenta.setEstado(true);
+        movimientoService = new MovimientoService(null, repositorioCuentas(cuenta), null, null, null, null, null,
+                new MovimientoMapperImpl());
+
+        saldo = Dinero.de(new BigDecimal("2000.00")).centavos();
+        valor = Dinero.de(new BigDecimal("575.00")).centavos();
+
+        operacion = new MovimientoOperacionDTO();
+        operacion.setNumeroCuenta("478758");
+        operacion.setTipo("Ahorro");
+        operacion.setSaldoInicial(new BigDecimal("2000.00"));
+        operacion.setEstado(true);
+        operacion.setMovimiento("Retiro de 575");
+
+        movimiento = new Movimiento();
+        movimiento.setId(10L);
+        movimiento.setFecha(LocalDateTime.of(2025, 6, 25, 10, 30));
+        movimiento.setTipoMovimiento("RETIRO");
+        movimiento.setValor(Dinero.aBigDecimal(valor));
+        movimiento.setSaldo(new BigDecimal("1425.00"));
+        movimiento.setCuenta(cuenta);
+        movimiento.setDescripcion("Retiro de 575");
+
+        movimientoDTO = movimientoService.convertToDTO(movimiento);
+    }
+
+    @Benchmark
+    public long calcularNuevoSaldoDeposito() {
+        return movimientoService.calcularNuevoSaldo(saldo, "DEPOSITO", valor);
+    }
+
+    @Benchmark
+    public long calcularNuevoSaldoRetiro() {
+        return movimientoService.calcularNuevoSaldo(saldo, "RETIRO", valor);
+    }
+
+    @Benchmark
+    public MovimientoDTO convertirOperacionAMovimiento() {
+        return movimientoService.convertirOperacionAMovimiento(operacion);
+    }
+
+    @Benchmark
+    public MovimientoDTO convertToDTO() {
+        return movimientoService.convertToDTO(movimiento);
+    }
+
+    @Benchmark
+    public Movimiento convertToEntity() {
+        return movimientoService.convertToEntity(movimientoDTO);
+    }
+
+    /**
+     * Repositorio mínimo que siempre devuelve la misma cuenta al buscar por número,
+     * para medir la conversión sin base de datos.
+     */
+    static CuentaRepository repositorioCuentas(Cuenta cuenta) {
+        Optional<Cuenta> resultado = Optional.of(cuenta);
+        return (CuentaRepository) Proxy.newProxyInstance(CuentaRepository.class.getClassLoader(),
+                new Class<?>[] {CuentaRepository.class}, (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("findByNumeroCuenta")) {
+                        return resultado;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+}
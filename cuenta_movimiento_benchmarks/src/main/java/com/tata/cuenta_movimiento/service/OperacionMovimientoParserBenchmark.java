@@ -0,0 +1,54 @@
+package com.tata.cuenta_movimiento.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Comparación del análisis del texto de una operación con la implementación
+ * anterior de {@link MovimientoService} (mayúsculas, {@code contains}, expresión
+ * regular compilada en cada llamada y paso por {@code Double}) y con
+ * {@link OperacionMovimientoParser}.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperacionMovimientoParserBenchmark {
+
+    @Param({"Retiro de 575", "Deposito de 1250.50 en cajero"})
+    public String texto;
+
+    @Benchmark
+    public BigDecimal anterior() {
+        String movimiento = texto.toUpperCase();
+        if (!movimiento.contains("RETIRO") && !movimiento.contains("DEPOSITO")) {
+            throw new IllegalArgumentException();
+        }
+        Matcher matcher = Pattern.compile("(\\d+([.,]\\d+)?)").matcher(movimiento);
+        return matcher.find() ? BigDecimal.valueOf(Double.valueOf(matcher.group(1).replace(",", "."))) : null;
+    }
+
+    @Benchmark
+    public BigDecimal parser() {
+        return OperacionMovimientoParser.analizar(texto).valor();
+    }
+}
@@ -0,0 +1,85 @@
+package com.tata.cuenta_movimiento.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la comparación de resultados de JMH contra una línea base.
+ *
+ * @author Stalin Salgado
+ * @version 1.0
+ * @since 2025-06-25
+ */
+class ComparadorResultadosTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testSenalaRegresionesSoloFueraDelUmbralYDelError() throws Exception {
+        JsonNode base = mapper.readTree("[" +
+                resultado("a.Lento", "avgt", 100, 2, "") + "," +
+                resultado("a.Ruidoso", "avgt", 100, 30, "") + "," +
+                resultado("a.Rapido", "thrpt", 1000, 5, "") + "," +
+                resultado("a.Serializar", "avgt", 50, 1, "{\"formato\":\"json\"}") + "]");
+        JsonNode actual = mapper.readTree("[" +
+                resultado("a.Lento", "avgt", 130, 2, "") + "," +
+                resultado("a.Ruidoso", "avgt", 125, 30, "") + "," +
+                resultado("a.Rapido", "thrpt", 700, 5, "") + "," +
+                resultado("a.Serializar", "avgt", 40, 1, "{\"formato\":\"json\"}") + "," +
+                resultado("a.Nuevo", "avgt", 10, 1, "") + "]");
+
+        List<ComparadorResultados.Comparacion> comparaciones = ComparadorResultados.comparar(base, actual, 0.10);
+
+        assertEquals(4, comparaciones.size());
+        assertTrue(comparaciones.get(0).regresion());
+        assertFalse(comparaciones.get(1).regresion(), "La diferencia está dentro del margen de error");
+        assertTrue(comparaciones.get(2).regresion(), "Menos operaciones por segundo es peor");
+        assertFalse(comparaciones.get(3).regresion());
+        assertEquals("a.Serializar{formato=json}", comparaciones.get(3).nombre());
+    }
+
+    @Test
+    void testComparaLaAsignacionPorOperacionYDevuelveCodigoDeSalida(@TempDir Path directorio) throws Exception {
+        Path base = directorio.resolve("base.json");
+        Path actual = directorio.resolve("actual.json");
+        Files.writeString(base, "[" + resultadoConAsignacion(100, 48) + "]");
+        Files.writeString(actual, "[" + resultadoConAsignacion(101, 96) + "]");
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        int codigo = ComparadorResultados.ejecutar(new String[] {base.toString(), actual.toString()},
+                new PrintStream(salida, true, StandardCharsets.UTF_8));
+
+        assertEquals(1, codigo);
+        String informe = salida.toString(StandardCharsets.UTF_8);
+        assertTrue(informe.lines().anyMatch(linea ->
+                linea.startsWith("REGRESIÓN") && linea.contains("a.Asigna [gc.alloc.rate.norm]")));
+        assertTrue(informe.contains("2 benchmarks comparados, 1 regresiones"));
+        assertEquals(0, ComparadorResultados.ejecutar(new String[] {base.toString(), base.toString()},
+                new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8)));
+    }
+
+    private static String resultado(String nombre, String modo, double score, double error, String parametros) {
+        return "{\"benchmark\":\"" + nombre + "\",\"mode\":\"" + modo + "\""
+                + (parametros.isEmpty() ? "" : ",\"params\":" + parametros)
+                + ",\"primaryMetric\":{\"score\":" + score + ",\"scoreError\":" + error
+                + ",\"scoreUnit\":\"" + ("thrpt".equals(modo) ? "ops/s" : "ns/op") + "\"}}";
+    }
+
+    private static String resultadoConAsignacion(double score, double bytes) {
+        return "{\"benchmark\":\"a.Asigna\",\"mode\":\"avgt\","
+                + "\"primaryMetric\":{\"score\":" + score + ",\"scoreError\":1,\"scoreUnit\":\"ns/op\"},"
+                + "\"secondaryMetrics\":{\"·gc.alloc.rate.norm\":{\"score\":" + bytes
+                + ",\"scoreError\":0,\"scoreUnit\":\"B/op\"}}}";
+    }
+}